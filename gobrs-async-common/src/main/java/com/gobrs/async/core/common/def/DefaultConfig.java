@@ -40,10 +40,55 @@ public interface DefaultConfig {
      */
     String RULE_EXCLUSIVE = "exclusive";
 
+    /**
+     * The constant RULE_BEST_EFFORT.
+     */
+    String RULE_BEST_EFFORT = "bestEffort";
+
     /**
      * The constant retryCount.
      */
     int RETRY_COUNT = 0;
+
+    /**
+     * The constant RETRY_DELAY. 重试间隔 默认立即重试
+     */
+    long RETRY_DELAY = 0L;
+
+    /**
+     * The constant RETRY_MAX_ELAPSED. 最大重试时长 默认不限制
+     */
+    long RETRY_MAX_ELAPSED = 0L;
+
+    /**
+     * The constant HEDGE_DELAY. 对冲延迟 默认取任务历史耗时的 p95
+     */
+    long HEDGE_DELAY = 0L;
+
+    /**
+     * The constant HEDGE_MIN_SAMPLES. 历史耗时样本不足时不对冲
+     */
+    int HEDGE_MIN_SAMPLES = 20;
+
+    /**
+     * The constant CACHE_TTL. 任务结果缓存时间 单位 ms 0 不过期
+     */
+    long CACHE_TTL = 60000L;
+
+    /**
+     * The constant CACHE_SIZE. 每个任务最多缓存的结果数
+     */
+    int CACHE_SIZE = 1024;
+
+    /**
+     * The constant BATCH_SIZE. 批量任务一次调用最多合并的参数个数
+     */
+    int BATCH_SIZE = 64;
+
+    /**
+     * The constant BATCH_WINDOW. 批量任务攒批的最长等待时间 单位 ms
+     */
+    long BATCH_WINDOW = 5L;
     /**
      * Whether to execute a subtask if it fails
      */
@@ -59,6 +104,37 @@ public interface DefaultConfig {
      */
     int TASK_TIME_OUT = 0;
 
+    /**
+     * The constant ROLLBACK_TIMEOUT, no timeout for a single compensating call
+     */
+    long ROLLBACK_TIMEOUT = 0L;
+
+    /**
+     * The constant INLINE_THRESHOLD, cheap tasks are not executed inline
+     */
+    long INLINE_THRESHOLD = 0L;
+
+    /**
+     * The constant SYNCHRONOUS_MAX_TASKS, rules with more tasks are never chosen for synchronous execution
+     */
+    int SYNCHRONOUS_MAX_TASKS = 4;
+
+    /**
+     * The constant SYNCHRONOUS_BLOCK_THRESHOLD, in microseconds
+     * a synchronous flow falls back to parallel execution after a task runs longer
+     */
+    long SYNCHRONOUS_BLOCK_THRESHOLD = 1000L;
+
+    /**
+     * The constant PRIORITY_REFRESH, critical path priorities are re-estimated off the request path every PRIORITY_REFRESH milliseconds
+     */
+    long PRIORITY_REFRESH = 100L;
+
+    /**
+     * The constant PURGE_TOMBSTONES, the executor queue is purged once at least this many tasks are cancelled
+     */
+    int PURGE_TOMBSTONES = 16;
+
     /**
      * The constant ERR_LOGABLED.
      */
@@ -6,6 +6,7 @@ import lombok.Data;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The type Async result.
@@ -37,4 +38,9 @@ public class AsyncResult implements Serializable {
      * value 执行结果 （单任务）
      */
     private Map<String, TaskResult> resultMap = new HashMap();
+
+    /**
+     * 事务补偿结果 可等待或监听 没有发生补偿时为 null
+     */
+    private transient CompletableFuture<RollbackResult> rollback;
 }
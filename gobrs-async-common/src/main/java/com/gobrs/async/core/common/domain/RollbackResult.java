@@ -0,0 +1,67 @@
+package com.gobrs.async.core.common.domain;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The type Rollback result.
+ * 事务补偿结果 按补偿顺序(逆拓扑序)记录每个任务的补偿情况
+ *
+ * @program: gobrs -async
+ * @ClassName RollbackResult
+ * @description: Result of the transaction compensation of a flow
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@Data
+public class RollbackResult {
+
+    /**
+     * 补偿成功的任务 及补偿耗时 ms
+     */
+    private Map<String, Long> rolledBack = new LinkedHashMap<>();
+
+    /**
+     * 补偿异常的任务
+     */
+    private Map<String, Exception> failures = new LinkedHashMap<>();
+
+    /**
+     * 补偿超时的任务 及超时时间 ms
+     */
+    private Map<String, Long> timeouts = new LinkedHashMap<>();
+
+    /**
+     * 整个补偿过程耗时 ms
+     */
+    private long cost;
+
+    /**
+     * Whether every task is compensated.
+     *
+     * @return the boolean
+     */
+    public boolean isSuccess() {
+        return failures.isEmpty() && timeouts.isEmpty();
+    }
+
+    /**
+     * Merge another rollback result of the same flow.
+     *
+     * @param other the other
+     * @return the rollback result
+     */
+    public RollbackResult merge(RollbackResult other) {
+        RollbackResult merged = new RollbackResult();
+        merged.rolledBack.putAll(rolledBack);
+        merged.rolledBack.putAll(other.rolledBack);
+        merged.failures.putAll(failures);
+        merged.failures.putAll(other.failures);
+        merged.timeouts.putAll(timeouts);
+        merged.timeouts.putAll(other.timeouts);
+        merged.cost = Math.max(cost, other.cost);
+        return merged;
+    }
+}
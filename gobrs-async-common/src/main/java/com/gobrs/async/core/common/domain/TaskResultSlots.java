@@ -0,0 +1,204 @@
+package com.gobrs.async.core.common.domain;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The type Task result slots.
+ * 任务结果槽位 以规则编译时分配的节点编号为下标
+ * <p>
+ * 任务名 -> 节点编号 的映射由执行计划持有, 所有请求共享; 每个请求只分配一个结果数组。
+ * 引擎内部按节点编号读写, 对外以 Map 视图的形式暴露, 兼容按任务名取结果的用法。
+ *
+ * @program: gobrs -async
+ * @ClassName TaskResultSlots
+ * @description: Node indexed task results with a map view by task name
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+public class TaskResultSlots extends AbstractMap<String, TaskResult> implements Serializable {
+
+    /**
+     * node id -> task name, shared by every flow of the rule
+     */
+    private final String[] names;
+
+    /**
+     * task name -> node id, shared by every flow of the rule
+     */
+    private final Map<String, Integer> nodes;
+
+    private final AtomicReferenceArray<TaskResult> slots;
+
+    private transient Set<Entry<String, TaskResult>> entrySet;
+
+    /**
+     * Instantiates new task result slots.
+     *
+     * @param names node id -> task name, null if the node has no result
+     * @param nodes task name -> node id
+     */
+    public TaskResultSlots(String[] names, Map<String, Integer> nodes) {
+        this.names = names;
+        this.nodes = nodes;
+        this.slots = new AtomicReferenceArray<>(names.length);
+    }
+
+    /**
+     * Empty slots.
+     *
+     * @return the task result slots
+     */
+    public static TaskResultSlots empty() {
+        return new TaskResultSlots(new String[0], Collections.emptyMap());
+    }
+
+    /**
+     * Number of nodes.
+     *
+     * @return the int
+     */
+    public int length() {
+        return slots.length();
+    }
+
+    /**
+     * Result of a node.
+     *
+     * @param node the node id
+     * @return the task result, null if the node has no result yet
+     */
+    public TaskResult get(int node) {
+        return slots.get(node);
+    }
+
+    /**
+     * Sets the result of a node.
+     *
+     * @param node   the node id
+     * @param result the result
+     */
+    public void set(int node, TaskResult result) {
+        slots.set(node, result);
+    }
+
+    /**
+     * Task name of a node.
+     *
+     * @param node the node id
+     * @return the task name, null if the node has no result
+     */
+    public String name(int node) {
+        return names[node];
+    }
+
+    /**
+     * Node id of a task.
+     *
+     * @param taskName the task name
+     * @return the node id, -1 if the task is not in the rule
+     */
+    public int node(Object taskName) {
+        Integer node = nodes.get(taskName);
+        return node == null ? -1 : node;
+    }
+
+    @Override
+    public TaskResult get(Object key) {
+        int node = node(key);
+        return node < 0 ? null : slots.get(node);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public TaskResult put(String key, TaskResult value) {
+        int node = node(key);
+        if (node < 0) {
+            throw new UnsupportedOperationException(String.format("task %s is not in the rule", key));
+        }
+        return slots.getAndSet(node, value);
+    }
+
+    @Override
+    public TaskResult remove(Object key) {
+        int node = node(key);
+        return node < 0 ? null : slots.getAndSet(node, null);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (names[i] != null && slots.get(i) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, TaskResult>> entrySet() {
+        Set<Entry<String, TaskResult>> es = entrySet;
+        return es != null ? es : (entrySet = new EntrySet());
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, TaskResult>> {
+
+        @Override
+        public Iterator<Entry<String, TaskResult>> iterator() {
+            return new Iterator<Entry<String, TaskResult>>() {
+
+                private int cursor = advance(0);
+
+                private int last = -1;
+
+                private int advance(int from) {
+                    while (from < slots.length() && (names[from] == null || slots.get(from) == null)) {
+                        from++;
+                    }
+                    return from;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return cursor < slots.length();
+                }
+
+                @Override
+                public Entry<String, TaskResult> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    last = cursor;
+                    cursor = advance(cursor + 1);
+                    return new SimpleImmutableEntry<>(names[last], slots.get(last));
+                }
+
+                @Override
+                public void remove() {
+                    if (last < 0) {
+                        throw new IllegalStateException();
+                    }
+                    slots.set(last, null);
+                    last = -1;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return TaskResultSlots.this.size();
+        }
+    }
+}
@@ -1,25 +1,35 @@
 package com.gobrs.async.core.common.domain;
 
 import java.util.concurrent.atomic.AtomicInteger;
-
-import static com.gobrs.async.core.common.def.DefaultConfig.TASK_INITIALIZE;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
  * task运行时状态
+ * <p>
+ * 状态保存在流程中以节点编号为下标的数组里, 本类只是单个节点的视图;
+ * {@link #compareAndSet(int, int)} 与开始时间的读写直接作用于数组, {@link #getStatus()} 和 {@link #getRetryCounts()} 返回当前值的快照
  *
  * @author yuzd
+ * @deprecated use the node-indexed accessors of TaskSupport (getStatus(int), compareAndSetStatus, getRetryCounts(int))
  */
+@Deprecated
 public class TaskStatus {
     /**
-     * the status of currentTask (TASK_INITIALIZE,TASK_FINISH,TASK_TIMEOUT)
+     * the status of every node (TASK_INITIALIZE,TASK_FINISH,TASK_TIMEOUT)
      */
-    private final AtomicInteger status = new AtomicInteger(TASK_INITIALIZE);
+    private final AtomicIntegerArray statuses;
 
     /**
-     * the retryCounts of currentTask
+     * the retryCounts of every node
+     */
+    private final AtomicIntegerArray retryCounts;
+
+    /**
+     * the start time (System.nanoTime) of the first execution of every node
      */
-    private final AtomicInteger retryCounts = new AtomicInteger(0);
+    private final long[] startTimes;
 
+    private final int node;
 
     /**
      * the class type of currentTask
@@ -28,30 +38,65 @@ public class TaskStatus {
 
 
     /**
-     * Instantiates a new Task status.
+     * Instantiates a new Task status not attached to any flow.
      *
      * @param taskName the task name
      */
     public TaskStatus(String taskName) {
+        this(taskName, new AtomicIntegerArray(1), new AtomicIntegerArray(1), new long[1], 0);
+    }
+
+    /**
+     * Instantiates a view of the status of a node.
+     *
+     * @param taskName    the task name
+     * @param statuses    the statuses of the flow, indexed by node id
+     * @param retryCounts the retry counts of the flow, indexed by node id
+     * @param startTimes  the start times of the flow, indexed by node id
+     * @param node        the node id
+     */
+    public TaskStatus(String taskName, AtomicIntegerArray statuses, AtomicIntegerArray retryCounts, long[] startTimes, int node) {
         this.taskName = taskName;
+        this.statuses = statuses;
+        this.retryCounts = retryCounts;
+        this.startTimes = startTimes;
+        this.node = node;
     }
 
     /**
      * the status of currentTask (TASK_INITIALIZE,TASK_FINISH,TASK_TIMEOUT)
      *
-     * @return the status
+     * @return a snapshot of the status, changes go through {@link #compareAndSet(int, int)}
      */
     public AtomicInteger getStatus() {
-        return status;
+        return new AtomicInteger(statuses.get(node));
     }
 
     /**
      * the retryCounts of currentTask
      *
-     * @return the retry counts
+     * @return a snapshot of the retry counts
      */
     public AtomicInteger getRetryCounts() {
-        return retryCounts;
+        return new AtomicInteger(retryCounts.get(node));
+    }
+
+    /**
+     * the start time (System.nanoTime) of the first execution
+     *
+     * @return the start time
+     */
+    public long getStartTime() {
+        return startTimes[node];
+    }
+
+    /**
+     * Sets start time.
+     *
+     * @param startTime the start time
+     */
+    public void setStartTime(long startTime) {
+        startTimes[node] = startTime;
     }
 
     /**
@@ -62,11 +107,11 @@ public class TaskStatus {
      * @return the boolean
      */
     public boolean compareAndSet(int expect, int update) {
-        return getStatus().compareAndSet(expect, update);
+        return statuses.compareAndSet(node, expect, update);
     }
 
     @Override
     public String toString() {
-        return taskName + "{" + "status=" + status + ", retryCounts=" + retryCounts + '}';
+        return taskName + "{" + "status=" + statuses.get(node) + ", retryCounts=" + retryCounts.get(node) + '}';
     }
 }
@@ -0,0 +1,50 @@
+package com.gobrs.async.core.common.enums;
+
+/**
+ * The enum Cache eviction.
+ * 任务结果缓存的淘汰策略 每种策略对应一个 GCache 类型, 可以注册同类型的 GCache 替换默认实现
+ *
+ * @program: gobrs -async
+ * @ClassName CacheEviction
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+public enum CacheEviction {
+    /**
+     * 窗口 LRU + 分段 LRU 主区 进入主区时按访问频率准入 适合热点集中、偶有扫描式访问的查询
+     */
+    TINY_LFU(GCacheEnum.RESULT_TINY_LFU, "W-TinyLFU"),
+
+    /**
+     * 试用区 + 保护区 命中两次的结果进入保护区
+     */
+    SLRU(GCacheEnum.RESULT_SLRU, "分段 LRU");
+
+    private GCacheEnum cache;
+
+    private String desc;
+
+    CacheEviction(GCacheEnum cache, String desc) {
+        this.cache = cache;
+        this.desc = desc;
+    }
+
+    /**
+     * Gets the type of the GCache implementing the eviction.
+     *
+     * @return the type
+     */
+    public Integer getType() {
+        return cache.getType();
+    }
+
+    /**
+     * Gets desc.
+     *
+     * @return the desc
+     */
+    public String getDesc() {
+        return desc;
+    }
+}
@@ -18,7 +18,8 @@ public enum ExpState {
     SUCCESS(100, "Success Default"),
     ERROR(200, "When there are abnormal tasks in the process"),
     STOP_ASYNC(300, "Call stopAsync manually"),
-    TASK_INTERRUPT(400, "Automatic interrupt configuration taskInterrupt");
+    TASK_INTERRUPT(400, "Automatic interrupt configuration taskInterrupt"),
+    TIMEOUT(500, "Flow timeout, the result only holds the tasks completed in time (partialOnTimeout)");
 
 
     private Integer code;
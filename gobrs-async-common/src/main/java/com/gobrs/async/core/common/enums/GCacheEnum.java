@@ -13,7 +13,17 @@ public enum GCacheEnum {
     /**
      * Method task g cache enum.
      */
-    METHOD_TASK(1, "方法任务缓存");;
+    METHOD_TASK(1, "方法任务缓存"),
+
+    /**
+     * Task result cache with W-TinyLFU eviction.
+     */
+    RESULT_TINY_LFU(4, "任务结果缓存 W-TinyLFU"),
+
+    /**
+     * Task result cache with segmented LRU eviction.
+     */
+    RESULT_SLRU(5, "任务结果缓存 分段 LRU");
 
     private Integer type;
 
@@ -0,0 +1,43 @@
+package com.gobrs.async.core.common.enums;
+
+/**
+ * The enum Retry backoff.
+ * 任务重试间隔策略
+ *
+ * @program: gobrs -async
+ * @ClassName RetryBackoff
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+public enum RetryBackoff {
+    /**
+     * 每次重试间隔 retryDelay
+     */
+    FIXED("固定间隔"),
+
+    /**
+     * 第 n 次重试间隔 retryDelay * 2^(n-1)
+     */
+    EXPONENTIAL("指数退避"),
+
+    /**
+     * 第 n 次重试间隔为 [0, retryDelay * 2^(n-1)] 内的随机值 避免大量请求同时重试
+     */
+    JITTER("随机指数退避");
+
+    private String desc;
+
+    RetryBackoff(String desc) {
+        this.desc = desc;
+    }
+
+    /**
+     * Gets desc.
+     *
+     * @return the desc
+     */
+    public String getDesc() {
+        return desc;
+    }
+}
@@ -0,0 +1,235 @@
+package com.gobrs.async.core;
+
+import com.gobrs.async.core.common.domain.RollbackResult;
+import com.gobrs.async.core.config.RuleProfile;
+import com.gobrs.async.core.log.TraceUtil;
+import com.gobrs.async.core.task.AsyncTask;
+import com.gobrs.async.core.timer.GobrsTimer;
+import com.gobrs.async.core.timer.TaskWatchdog;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.ref.Reference;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * The type Compensation.
+ * 事务补偿计划
+ * <p>
+ * 任务失败后回滚它的所有祖先任务, 每个祖先只回滚一次(同一流程中多次失败也不会重复回滚)。
+ * 回滚按逆拓扑序进行: 一个任务在它所有参与补偿的子任务回滚完成后才回滚, 互不依赖的分支并行回滚。
+ * 单个任务的补偿可以配置超时时间, 超时后不再等待该任务, 继续回滚其父任务。
+ * 补偿结果通过 {@link CompletableFuture} 对外暴露, 调用方可以等待或监听。
+ *
+ * @program: gobrs -async
+ * @ClassName Compensation
+ * @description: Deduplicated, parallel compensation of the ancestors of a failed task
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@Slf4j
+final class Compensation {
+
+    private static final int ROLLED_BACK = 1;
+
+    private static final int FAILED = 2;
+
+    private static final int TIMED_OUT = 3;
+
+    private final TaskPlan plan;
+
+    private final ExecutorService executor;
+
+    private final GobrsTimer timer;
+
+    private final long timeout;
+
+    private final boolean errLogabled;
+
+    private final boolean costLogabled;
+
+    private final Object param;
+
+    /**
+     * ancestors compensated by this plan, in reverse topological order
+     */
+    private final int[] order;
+
+    private final boolean[] members;
+
+    /**
+     * children of every member that are still waiting for compensation
+     */
+    private final AtomicIntegerArray waiting;
+
+    private final int[] outcomes;
+
+    private final long[] costs;
+
+    private final Exception[] failures;
+
+    private final AtomicInteger remaining;
+
+    private final CompletableFuture<RollbackResult> future = new CompletableFuture<>();
+
+    private final Object traceId;
+
+    private long start;
+
+    /**
+     * Plan the compensation of a failed node.
+     *
+     * @param plan    the plan
+     * @param node    the failed node
+     * @param claims  nodes already claimed by the compensations of the flow
+     * @param support the support
+     */
+    Compensation(TaskPlan plan, int node, AtomicIntegerArray claims, TaskSupport support) {
+        RuleProfile profile = support.getProfile();
+        this.plan = plan;
+        this.executor = support.getExecutorService();
+        this.timer = profile.getTimer();
+        this.timeout = profile.getRollbackTimeout();
+        this.errLogabled = profile.isErrLogabled();
+        this.costLogabled = profile.isCostLogabled();
+        this.param = support.getParam().get();
+        this.traceId = TraceUtil.get();
+
+        int size = plan.size();
+        this.members = new boolean[size];
+        int[] stack = new int[size];
+        int top = 0;
+        int count = 0;
+        int current = node;
+        for (; ; ) {
+            for (int i = plan.parentFrom(current); i < plan.parentTo(current); i++) {
+                int parent = plan.parent(i);
+                /**
+                 * 已被本流程其他补偿认领的任务 它的祖先也已被认领
+                 */
+                if (!members[parent] && claims.compareAndSet(parent, 0, 1)) {
+                    members[parent] = true;
+                    stack[top++] = parent;
+                    count++;
+                }
+            }
+            if (top == 0) {
+                break;
+            }
+            current = stack[--top];
+        }
+
+        this.order = new int[count];
+        this.waiting = new AtomicIntegerArray(size);
+        int cursor = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            if (!members[i]) {
+                continue;
+            }
+            order[cursor++] = i;
+            int children = 0;
+            for (int c = plan.childFrom(i); c < plan.childTo(i); c++) {
+                if (members[plan.child(c)]) {
+                    children++;
+                }
+            }
+            waiting.set(i, children);
+        }
+        this.outcomes = new int[size];
+        this.costs = new long[size];
+        this.failures = new Exception[size];
+        this.remaining = new AtomicInteger(count);
+    }
+
+    /**
+     * Start the compensation.
+     *
+     * @return the rollback result
+     */
+    CompletableFuture<RollbackResult> start() {
+        start = System.nanoTime();
+        if (order.length == 0) {
+            complete();
+            return future;
+        }
+        for (int node : order) {
+            if (waiting.get(node) == 0) {
+                executor.execute(() -> run(node));
+            }
+        }
+        return future;
+    }
+
+    private void run(int node) {
+        AsyncTask task = plan.actuator(node).task;
+        TaskWatchdog watchdog = null;
+        Reference<GobrsTimer.TimerListener> listener = null;
+        if (timeout > 0) {
+            watchdog = new TaskWatchdog((int) timeout, false, () -> done(node, TIMED_OUT, timeout, null));
+            listener = timer.addTimerListener(watchdog);
+        }
+        long begin = System.nanoTime();
+        Exception failure = null;
+        try {
+            task.rollback(param);
+        } catch (Exception ex) {
+            failure = ex;
+        } finally {
+            if (listener != null) {
+                listener.clear();
+            }
+        }
+        if (watchdog != null && !watchdog.finish()) {
+            /**
+             * 超时 看门狗已经代替该任务继续补偿
+             */
+            return;
+        }
+        done(node, failure == null ? ROLLED_BACK : FAILED, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin), failure);
+    }
+
+    private void done(int node, int outcome, long cost, Exception failure) {
+        outcomes[node] = outcome;
+        costs[node] = cost;
+        failures[node] = failure;
+        if (outcome != ROLLED_BACK && errLogabled && log.isErrorEnabled()) {
+            log.error("<{}> [{}] rollback {}", traceId, plan.actuator(node).task.getName(),
+                    outcome == TIMED_OUT ? "timeout " + cost + "ms" : "error", failure);
+        }
+        for (int i = plan.parentFrom(node); i < plan.parentTo(node); i++) {
+            int parent = plan.parent(i);
+            if (members[parent] && waiting.decrementAndGet(parent) == 0) {
+                executor.execute(() -> run(parent));
+            }
+        }
+        if (remaining.decrementAndGet() == 0) {
+            complete();
+        }
+    }
+
+    private void complete() {
+        RollbackResult result = new RollbackResult();
+        for (int node : order) {
+            String name = plan.actuator(node).task.getName();
+            switch (outcomes[node]) {
+                case ROLLED_BACK:
+                    result.getRolledBack().put(name, costs[node]);
+                    break;
+                case FAILED:
+                    result.getFailures().put(name, failures[node]);
+                    break;
+                default:
+                    result.getTimeouts().put(name, costs[node]);
+            }
+        }
+        result.setCost(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        if (costLogabled && order.length > 0 && log.isInfoEnabled()) {
+            log.info("<{}> rollback {} tasks, failed {}, timeout {}, cost {}ms", traceId, order.length,
+                    result.getFailures().size(), result.getTimeouts().size(), result.getCost());
+        }
+        future.complete(result);
+    }
+}
@@ -3,10 +3,15 @@ package com.gobrs.async.core;
 import com.gobrs.async.core.common.domain.AsyncParam;
 import com.gobrs.async.core.common.domain.AsyncResult;
 import com.gobrs.async.core.task.AsyncTask;
+import com.gobrs.async.core.common.exception.GobrsAsyncException;
 import com.gobrs.async.core.common.exception.NotFoundGobrsRuleException;
 import lombok.SneakyThrows;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 /**
  * The type Gobrs async. 任务触发器
@@ -28,7 +33,12 @@ public class GobrsAsync {
     /**
      * Task trigger wrapper
      */
-    private Map<String, TaskTrigger> trigger;
+    private volatile Map<String, TaskTrigger> trigger;
+
+    /**
+     * Coalescing of the rules that opted in
+     */
+    private final Map<String, SingleFlight> flights = new ConcurrentHashMap<>();
 
 
     /**
@@ -113,6 +123,15 @@ public class GobrsAsync {
     public AsyncResult go(String ruleName, AsyncParam param, Set<String> optionalTasks, long timeout) {
         if (check(ruleName).isPresent()) {
             TaskTrigger taskTrigger = this.trigger.get(ruleName);
+            SingleFlight singleFlight = optionalTasks == null ? flights.get(ruleName) : null;
+            if (singleFlight != null) {
+                Object value = param.get();
+                Object key = singleFlight.key(value);
+                if (key != null) {
+                    return await(singleFlight.join(taskTrigger, key, value, timeout));
+                }
+                param = () -> value;
+            }
             TaskLoader taskLoader = taskTrigger.trigger(param, timeout, optionalTasks);
             AsyncResult result = taskLoader.load();
             clear(taskLoader);
@@ -121,6 +140,130 @@ public class GobrsAsync {
         throw new NotFoundGobrsRuleException("Gobrs Rule Name Is Error!!!");
     }
 
+    /**
+     * Start the flow without blocking the caller, the returned future is completed by the thread that runs the terminal task
+     * 非阻塞执行 不占用调用线程等待 流程超时由定时器处理 超时后 future 以 AsyncTaskTimeoutException 异常完成
+     *
+     * @param ruleName      the rule name
+     * @param param         the param
+     * @param optionalTasks the optional tasks
+     * @param timeout       the timeout
+     * @return the completable future
+     */
+    public CompletableFuture<AsyncResult> goAsync(String ruleName, AsyncParam param, Set<String> optionalTasks, long timeout) {
+        if (check(ruleName).isPresent()) {
+            TaskTrigger taskTrigger = this.trigger.get(ruleName);
+            SingleFlight singleFlight = optionalTasks == null ? flights.get(ruleName) : null;
+            if (singleFlight != null) {
+                Object value = param.get();
+                Object key = singleFlight.key(value);
+                if (key != null) {
+                    return singleFlight.join(taskTrigger, key, value, timeout);
+                }
+                param = () -> value;
+            }
+            TaskLoader taskLoader = taskTrigger.trigger(param, timeout, optionalTasks);
+            return taskLoader.loadAsync();
+        }
+        throw new NotFoundGobrsRuleException("Gobrs Rule Name Is Error!!!");
+    }
+
+    /**
+     * Go async completable future.
+     *
+     * @param ruleName the rule name
+     * @param param    the param
+     * @param timeout  the timeout
+     * @return the completable future
+     */
+    public CompletableFuture<AsyncResult> goAsync(String ruleName, AsyncParam param, long timeout) {
+        return goAsync(ruleName, param, null, timeout);
+    }
+
+    /**
+     * Start the flow and deliver every task result to the listener as soon as it is recorded.
+     * 流式获取任务结果 例如页面渲染在首个任务完成时即可输出 流程结束时监听器收到携带执行码的完成通知
+     * 带监听器的请求不参与合并执行
+     *
+     * @param ruleName the rule name
+     * @param param    the param
+     * @param timeout  the timeout
+     * @param listener the listener
+     * @return the async result
+     */
+    @SneakyThrows
+    public AsyncResult go(String ruleName, AsyncParam param, long timeout, ResultListener listener) {
+        if (check(ruleName).isPresent()) {
+            TaskLoader taskLoader = this.trigger.get(ruleName).trigger(param, timeout, null);
+            ResultStream stream = taskLoader.listen(listener);
+            try {
+                AsyncResult result = taskLoader.load();
+                stream.complete(result, null);
+                return result;
+            } catch (Exception exception) {
+                stream.complete(null, exception);
+                throw exception;
+            } finally {
+                clear(taskLoader);
+            }
+        }
+        throw new NotFoundGobrsRuleException("Gobrs Rule Name Is Error!!!");
+    }
+
+    /**
+     * Start the flow without blocking the caller and deliver every task result to the listener.
+     *
+     * @param ruleName the rule name
+     * @param param    the param
+     * @param timeout  the timeout
+     * @param listener the listener
+     * @return the completable future
+     */
+    public CompletableFuture<AsyncResult> goAsync(String ruleName, AsyncParam param, long timeout, ResultListener listener) {
+        if (check(ruleName).isPresent()) {
+            TaskLoader taskLoader = this.trigger.get(ruleName).trigger(param, timeout, null);
+            ResultStream stream = taskLoader.listen(listener);
+            CompletableFuture<AsyncResult> future = taskLoader.loadAsync();
+            return future.whenComplete(stream::complete);
+        }
+        throw new NotFoundGobrsRuleException("Gobrs Rule Name Is Error!!!");
+    }
+
+    /**
+     * Coalesce concurrent flows of a rule.
+     * 开启合并执行 参数 key 相同的并发请求共享一次流程执行并得到同一个结果, 每个调用方的超时、取消互不影响
+     * 共享的流程参数由先到的请求提供 key 函数需要保证 key 相同的参数执行结果相同; key 为 null 的请求单独执行
+     * 指定了可选任务的请求不参与合并
+     *
+     * @param ruleName    the rule name
+     * @param keyFunction the key function of the flow parameter, null to turn coalescing off
+     */
+    public void coalesce(String ruleName, Function<Object, Object> keyFunction) {
+        if (keyFunction == null) {
+            flights.remove(ruleName);
+            return;
+        }
+        flights.put(ruleName, new SingleFlight(ruleName, keyFunction));
+    }
+
+    /**
+     * 同步等待合并执行的结果 中断时退出等待
+     *
+     * @param future
+     * @return
+     * @throws Throwable
+     */
+    private AsyncResult await(CompletableFuture<AsyncResult> future) throws Throwable {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw new GobrsAsyncException(e);
+        }
+    }
+
     /**
      * clear for GC
      *
@@ -143,6 +286,17 @@ public class GobrsAsync {
         return go(taskName, param, 0L);
     }
 
+    /**
+     * Gets metrics of a rule.
+     * 流程结束后浪费或被丢弃的任务统计
+     *
+     * @param ruleName the rule name
+     * @return the rule metrics
+     */
+    public RuleMetrics getMetrics(String ruleName) {
+        return RuleMetrics.of(ruleName);
+    }
+
 
     /**
      * Ready to.
@@ -205,7 +359,7 @@ public class GobrsAsync {
      * @param ruleName
      */
     private void initialize(String ruleName) {
-        trigger = new HashMap<>();
+        trigger = new ConcurrentHashMap<>();
         TaskTrigger tr = new TaskTrigger(ruleName, taskFlow.get(ruleName));
         trigger.put(ruleName, tr);
     }
@@ -0,0 +1,189 @@
+package com.gobrs.async.core;
+
+import com.gobrs.async.core.common.exception.GobrsAsyncException;
+import com.gobrs.async.core.task.AsyncTask;
+import com.gobrs.async.core.timer.HashedWheelTimer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Hedged call.
+ * 对冲执行一个任务
+ * <p>
+ * 首次执行就在当前线程上进行, 延迟之后仍未完成则向线程池提交一次执行; 先成功的一次结果生效, 另一次被取消(中断)。
+ * 执行失败不算结果: 只有已发起的执行全部失败时才以首个异常失败, 首次执行在延迟之前失败则不再对冲。
+ * 首次执行失败而对冲仍在线程池队列中时 由当前线程直接执行对冲, 不等待线程池。
+ * 一次对冲最多占用两个线程, 线程池饱和时也不会因等待排队的执行而饿死。
+ * 任务结果仍由当前线程写入 TaskSupport 一次, 超时看门狗照常看守当前线程。
+ *
+ * @param <Param>  the type parameter
+ * @param <Result> the type parameter
+ * @program: gobrs -async
+ * @ClassName HedgedCall
+ * @description: Speculative second attempt of a slow task, the first result wins
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+final class HedgedCall<Param, Result> {
+
+    private static final int RUNNING = 0;
+
+    private static final int DONE = 1;
+
+    private static final int CANCELLING = 2;
+
+    private static final int CANCELLED = 3;
+
+    private final AsyncTask<Param, Result> task;
+
+    private final LatencyHistogram latencies;
+
+    private final Param parameter;
+
+    private final TaskSupport support;
+
+    private final CompletableFuture<Result> winner = new CompletableFuture<>();
+
+    /**
+     * attempts started and not failed yet, 0 once every attempt has failed
+     */
+    private final AtomicInteger running = new AtomicInteger(1);
+
+    /**
+     * state of the first attempt running on the current thread
+     */
+    private final AtomicInteger primary = new AtomicInteger(RUNNING);
+
+    private final Thread runner = Thread.currentThread();
+
+    private volatile Throwable failure;
+
+    private volatile FutureTask<Void> backup;
+
+    /**
+     * Instantiates a new Hedged call.
+     *
+     * @param task      the task
+     * @param latencies the latencies of the task, every finished attempt is recorded
+     * @param parameter the parameter
+     * @param support   the support
+     */
+    HedgedCall(AsyncTask<Param, Result> task, LatencyHistogram latencies, Param parameter, TaskSupport support) {
+        this.task = task;
+        this.latencies = latencies;
+        this.parameter = parameter;
+        this.support = support;
+    }
+
+    /**
+     * Run the task, hedged after the delay.
+     *
+     * @param delay the hedge delay in milliseconds
+     * @return the result of the first successful attempt
+     * @throws Exception the exception of the first failed attempt if every attempt fails
+     */
+    Result call(long delay) throws Exception {
+        HashedWheelTimer.Timeout timeout = support.getProfile().getTimer().delay(this::hedge, delay);
+        try {
+            primary();
+            FutureTask<Void> hedged = backup;
+            if (!winner.isDone() && hedged != null) {
+                /**
+                 * 首次执行失败 对冲还没有开始执行时直接在当前线程上执行
+                 */
+                hedged.run();
+            }
+            return winner.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new GobrsAsyncException(cause);
+        } finally {
+            timeout.cancel();
+            FutureTask<Void> hedged = backup;
+            if (hedged != null) {
+                hedged.cancel(true);
+            }
+        }
+    }
+
+    private void primary() {
+        try {
+            attempt();
+        } finally {
+            if (!primary.compareAndSet(RUNNING, DONE)) {
+                while (primary.get() == CANCELLING) {
+                    Thread.yield();
+                }
+                /**
+                 * clear the interrupt sent by the winning backup
+                 */
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private void hedge() {
+        /**
+         * 先发布对冲 再计入执行数 首次执行失败时能看到仍在进行的对冲
+         */
+        FutureTask<Void> hedged = new FutureTask<>(this::attempt, null);
+        backup = hedged;
+        int n;
+        do {
+            n = running.get();
+            if (n == 0 || winner.isDone()) {
+                return;
+            }
+        } while (!running.compareAndSet(n, n + 1));
+        support.getExecutorService().execute(hedged);
+        /**
+         * 提交期间已经产生结果
+         */
+        if (winner.isDone()) {
+            hedged.cancel(true);
+        }
+    }
+
+    private void attempt() {
+        if (winner.isDone()) {
+            return;
+        }
+        long begin = System.nanoTime();
+        try {
+            Result result = task.taskAdapter(parameter, support);
+            latencies.record(System.nanoTime() - begin);
+            if (winner.complete(result) && Thread.currentThread() != runner) {
+                cancelPrimary();
+            }
+        } catch (Throwable e) {
+            if (failure == null) {
+                failure = e;
+            }
+            if (running.decrementAndGet() == 0) {
+                winner.completeExceptionally(failure);
+            }
+        }
+    }
+
+    /**
+     * 对冲先完成 中断仍在当前线程上进行的首次执行
+     */
+    private void cancelPrimary() {
+        if (primary.compareAndSet(RUNNING, CANCELLING)) {
+            try {
+                runner.interrupt();
+            } finally {
+                primary.set(CANCELLED);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.gobrs.async.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The type Latency histogram.
+ * 任务耗时直方图 对数分桶(每个 2 的幂区间再分 8 个子桶, 相对误差不超过 12.5%), 无锁记录
+ * <p>
+ * 样本数每达到 WINDOW 时所有桶减半, 分位数跟随近期的耗时分布变化。
+ *
+ * @program: gobrs -async
+ * @ClassName LatencyHistogram
+ * @description: Lock free log-linear latency histogram of a task
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private static final int WINDOW = 1024;
+
+    /**
+     * counts of every bucket, latencies in microseconds
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final AtomicInteger samples = new AtomicInteger();
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    void record(long nanos) {
+        counts.incrementAndGet(bucket(TimeUnit.NANOSECONDS.toMicros(nanos)));
+        if (samples.incrementAndGet() % WINDOW == 0) {
+            for (int i = 0; i < BUCKETS; i++) {
+                long count = counts.get(i);
+                counts.addAndGet(i, -(count >> 1));
+            }
+        }
+    }
+
+    /**
+     * Number of recorded samples.
+     *
+     * @return the int
+     */
+    int samples() {
+        return samples.get();
+    }
+
+    /**
+     * Percentile of the recorded latencies.
+     *
+     * @param percentile the percentile, e.g. 0.95
+     * @return the upper bound of the percentile in milliseconds (at least 1), 0 if nothing is recorded
+     */
+    long percentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.max(1, TimeUnit.MICROSECONDS.toMillis(upper(i) + 999));
+            }
+        }
+        return Math.max(1, TimeUnit.MICROSECONDS.toMillis(upper(BUCKETS - 1) + 999));
+    }
+
+    /**
+     * 小于 8 微秒的值各占一个桶; 其余按最高位所在的 2 的幂区间 取其后 3 位分为 8 个子桶
+     */
+    static int bucket(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) Math.max(micros, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return Math.min((exponent - SUB_BITS + 1) * SUB_BUCKETS + sub, BUCKETS - 1);
+    }
+
+    /**
+     * Exclusive upper bound of a bucket in microseconds.
+     */
+    static long upper(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket + 1;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub + 1) << (exponent - SUB_BITS);
+    }
+}
@@ -26,12 +26,12 @@ public class Optimal {
      *
      * @param optionalTasks the optional tasks
      * @param taskLoader    the com.gobrs.async.com.gobrs.async.test.task loader
-     * @param process       the process
+     * @param support       the support
      * @return the boolean
      */
-    public static boolean ifContinue(Set<AsyncTask<?, ?>> optionalTasks, TaskLoader<?,?> taskLoader, TaskActuator<?,?> process) throws Exception {
+    public static boolean ifContinue(Set<AsyncTask<?, ?>> optionalTasks, TaskLoader<?,?> taskLoader, TaskSupport support) throws Exception {
         if (optionalTasks != null && taskLoader.oplCount.get() == taskLoader.getOptionalTasks().size()) {
-            ((taskLoader.processMap.get(taskLoader.assistantTask))).call();
+            taskLoader.plan.actuator(taskLoader.plan.terminal()).call(support);
             return false;
         }
         return true;
@@ -52,11 +52,10 @@ public class Optimal {
      * ifOptimal
      *
      * @param optionalTasks the optional tasks
-     * @param processMap    the process map
-     * @param assistantTask the assistant com.gobrs.async.com.gobrs.async.test.task
+     * @param taskLoader    the com.gobrs.async.com.gobrs.async.test.task loader
      */
-    public static void ifOptimal(Set<AsyncTask<?, ?>> optionalTasks, Map<AsyncTask<?, ?>, TaskActuator<?,?>> processMap, TaskTrigger.AssistantTask assistantTask) {
-        processMap.get(assistantTask).setUpstreamDepdends(optionalTasks.size());
+    public static void ifOptimal(Set<AsyncTask<?, ?>> optionalTasks, TaskLoader<?, ?> taskLoader) {
+        taskLoader.setDependencies(taskLoader.plan.terminal(), optionalTasks.size());
     }
 
 
@@ -65,9 +64,9 @@ public class Optimal {
      *
      * @param optionalTasks       the optional tasks
      * @param loader              the loader
-     * @param upwardTasksMapSpace the upward tasks map space
+     * @param plan                the compiled plan
      */
-    public static void doOptimal(Set<String> optionalTasks, TaskLoader loader, Map<AsyncTask<?, ?>, List<AsyncTask<?, ?>>> upwardTasksMapSpace) {
+    static void doOptimal(Set<String> optionalTasks, TaskLoader loader, TaskPlan plan) {
 
         Set<AsyncTask<?, ?>> asyncTaskSet = new HashSet<>();
 
@@ -88,7 +87,11 @@ public class Optimal {
 
             AsyncTask<?, ?> task = (AsyncTask<?, ?>) bean;
 
-            recursionUpward(upwardTasksMapSpace, task, asyncTaskSet);
+            TaskActuator<?, ?> actuator = plan.actuator(task);
+
+            if (Objects.nonNull(actuator)) {
+                recursionUpward(plan, actuator.id, asyncTaskSet);
+            }
 
             if (Objects.isNull(asyncTaskSet)) {
                 throw new GobrsAsyncException(String.format("com.gobrs.async.com.gobrs.async.test.task %s in  springboot yaml or properties must exist", task.getClass().getSimpleName()));
@@ -99,20 +102,17 @@ public class Optimal {
         loader.setOptionalTasks(asyncTaskSet);
     }
 
-    private static void recursionUpward(Map<AsyncTask<?, ?>, List<AsyncTask<?, ?>>> upwardTasksMapSpace, AsyncTask<?, ?> task, Set<AsyncTask<?, ?>> allTask) {
+    private static void recursionUpward(TaskPlan plan, int node, Set<AsyncTask<?, ?>> allTask) {
 
-        List<AsyncTask<?, ?>> asyncTasks = upwardTasksMapSpace.get(task);
+        for (int i = plan.parentFrom(node); i < plan.parentTo(node); i++) {
 
-        if (CollectionUtils.isEmpty(asyncTasks)) {
-            return;
-        }
+            int parent = plan.parent(i);
 
-        allTask.addAll(asyncTasks);
+            allTask.add(plan.actuator(parent).getTask());
 
-        for (AsyncTask<?, ?> asyncTask : asyncTasks) {
-            recursionUpward(upwardTasksMapSpace, asyncTask, allTask);
+            recursionUpward(plan, parent, allTask);
         }
     }
 
 
-}
\ No newline at end of file
+}
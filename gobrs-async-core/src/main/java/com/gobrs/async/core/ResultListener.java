@@ -0,0 +1,45 @@
+package com.gobrs.async.core;
+
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.core.common.domain.TaskResult;
+
+/**
+ * The interface Result listener.
+ * 流程执行期间逐个接收任务结果 不必等待整个流程结束
+ * <p>
+ * 回调在规则线程池上按结果产生的顺序串行执行, 不阻塞任务执行; 同一流程的回调不会并发。
+ * 流程结束时回调一次 {@link #onComplete(int, AsyncResult)} 或 {@link #onError(Throwable)}, 之后不再有任何回调。
+ *
+ * @program: gobrs -async
+ * @ClassName ResultListener
+ * @description: Receives the result of every task while the flow is running
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+public interface ResultListener {
+
+    /**
+     * A task recorded its result.
+     *
+     * @param taskName the task name
+     * @param result   the result
+     */
+    void onResult(String taskName, TaskResult result);
+
+    /**
+     * The flow finished.
+     *
+     * @param code   the execute code, see {@link com.gobrs.async.core.common.enums.ExpState}
+     * @param result the result of the flow
+     */
+    default void onComplete(int code, AsyncResult result) {
+    }
+
+    /**
+     * The flow ended without a result, timeout or error.
+     *
+     * @param ex the ex
+     */
+    default void onError(Throwable ex) {
+    }
+}
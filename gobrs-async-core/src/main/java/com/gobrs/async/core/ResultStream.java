@@ -0,0 +1,113 @@
+package com.gobrs.async.core;
+
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.core.common.domain.TaskResult;
+import com.gobrs.async.core.common.enums.ExpState;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Result stream.
+ * 一个流程的结果推送 任务线程只负责入队, 由一个线程池线程串行地把结果交给监听器
+ * 监听器处理慢时结果在队列中缓冲, 每个任务最多产生一个结果, 缓冲不会超过规则中的任务数
+ *
+ * @program: gobrs -async
+ * @ClassName ResultStream
+ * @description: Ordered, non-blocking delivery of task results to a listener
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@Slf4j
+final class ResultStream {
+
+    private final ResultListener listener;
+
+    private final Executor executor;
+
+    private final Queue<Runnable> events = new ConcurrentLinkedQueue<>();
+
+    /**
+     * events not drained yet, the thread moving it from 0 starts the drain
+     */
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile boolean closed;
+
+    /**
+     * Instantiates a new Result stream.
+     *
+     * @param listener the listener
+     * @param executor the executor running the listener
+     */
+    ResultStream(ResultListener listener, Executor executor) {
+        this.listener = listener;
+        this.executor = executor;
+    }
+
+    /**
+     * A task recorded its result.
+     *
+     * @param taskName the task name
+     * @param result   the result
+     */
+    synchronized void result(String taskName, TaskResult result) {
+        if (!closed) {
+            emit(() -> listener.onResult(taskName, result));
+        }
+    }
+
+    /**
+     * The flow finished, results recorded afterwards are not delivered.
+     *
+     * @param result the result
+     * @param ex     the exception, null if the flow has a result
+     */
+    synchronized void complete(AsyncResult result, Throwable ex) {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (ex != null) {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            emit(() -> listener.onError(cause));
+        } else {
+            int code = result == null ? ExpState.ERROR.getCode() : result.getExecuteCode();
+            emit(() -> listener.onComplete(code, result));
+        }
+    }
+
+    private void emit(Runnable event) {
+        events.offer(event);
+        if (wip.getAndIncrement() == 0) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                drain();
+            }
+        }
+    }
+
+    private void drain() {
+        int missed = 1;
+        for (; ; ) {
+            Runnable event;
+            while ((event = events.poll()) != null) {
+                try {
+                    event.run();
+                } catch (Exception e) {
+                    log.error("result listener error", e);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+}
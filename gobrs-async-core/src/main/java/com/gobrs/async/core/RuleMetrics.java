@@ -0,0 +1,143 @@
+package com.gobrs.async.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The type Rule metrics.
+ * 规则级运行指标 统计流程结束(超时、中断、完成)之后浪费或被丢弃的任务, 以及任务结果缓存的命中、合并执行的情况
+ * <p>
+ * 指标按规则名登记, 规则热更新、线程池替换后继续累计。
+ *
+ * @program: gobrs -async
+ * @ClassName RuleMetrics
+ * @description: Wasted and discarded task counters of a rule
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+public final class RuleMetrics {
+
+    private static final Map<String, RuleMetrics> METRICS = new ConcurrentHashMap<>();
+
+    /**
+     * task executions still running when their flow finished, the results are thrown away
+     */
+    private final LongAdder wasted = new LongAdder();
+
+    /**
+     * tasks dropped by the worker because their flow had finished before they started
+     */
+    private final LongAdder discarded = new LongAdder();
+
+    /**
+     * cancelled tasks removed from the executor queue before a worker polled them
+     */
+    private final LongAdder purged = new LongAdder();
+
+    /**
+     * cacheable tasks answered from the result cache
+     */
+    private final LongAdder cacheHits = new LongAdder();
+
+    /**
+     * cacheable tasks executed because the result cache had no result
+     */
+    private final LongAdder cacheMisses = new LongAdder();
+
+    /**
+     * callers served by a flow started by another caller with the same key
+     */
+    private final LongAdder coalesced = new LongAdder();
+
+    private RuleMetrics() {
+    }
+
+    /**
+     * Metrics of a rule.
+     *
+     * @param ruleName the rule name
+     * @return the rule metrics
+     */
+    public static RuleMetrics of(String ruleName) {
+        return METRICS.computeIfAbsent(ruleName, name -> new RuleMetrics());
+    }
+
+    /**
+     * Gets wasted.
+     *
+     * @return task executions that ran past the end of their flow
+     */
+    public long getWasted() {
+        return wasted.sum();
+    }
+
+    /**
+     * Gets discarded.
+     *
+     * @return tasks that were not started because their flow had finished
+     */
+    public long getDiscarded() {
+        return discarded.sum();
+    }
+
+    /**
+     * Gets purged.
+     *
+     * @return cancelled tasks removed from the executor queue
+     */
+    public long getPurged() {
+        return purged.sum();
+    }
+
+    /**
+     * Gets cache hits.
+     *
+     * @return cacheable tasks answered from the result cache
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * Gets cache misses.
+     *
+     * @return cacheable tasks executed on a cache miss
+     */
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    /**
+     * Gets coalesced.
+     *
+     * @return callers that joined the in-flight flow of another caller
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    void wasted() {
+        wasted.increment();
+    }
+
+    void discarded() {
+        discarded.increment();
+    }
+
+    void purged(long count) {
+        purged.add(count);
+    }
+
+    void cacheHit() {
+        cacheHits.increment();
+    }
+
+    void cacheMiss() {
+        cacheMisses.increment();
+    }
+
+    void coalesced() {
+        coalesced.increment();
+    }
+}
@@ -0,0 +1,204 @@
+package com.gobrs.async.core;
+
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.core.common.exception.AsyncTaskTimeoutException;
+import com.gobrs.async.core.timer.HashedWheelTimer;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The type Single flight.
+ * 合并执行 同一规则下 key 相同的并发请求共享一次流程执行, 所有调用方拿到同一个 AsyncResult
+ * <p>
+ * 共享流程的截止时间取所有加入的调用方中最晚的一个, 任务可以经由 TaskSupport 拿到剩余时间;
+ * 每个调用方按自己的超时时间等待, 超时或取消的调用方退出等待, 最后一个调用方退出时共享流程被取消。
+ * 规则开启 partialOnTimeout 时 超时的调用方与未合并的调用一样拿到部分结果(共享流程此刻的快照)而不是超时异常。
+ * 流程结束后 key 被释放, 之后的请求重新执行。
+ *
+ * @program: gobrs -async
+ * @ClassName SingleFlight
+ * @description: Coalesce concurrent flows of a rule with the same key
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+final class SingleFlight {
+
+    private final String ruleName;
+
+    private final Function<Object, Object> keyFunction;
+
+    private final Map<Object, Flight> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new Single flight.
+     *
+     * @param ruleName    the rule name
+     * @param keyFunction the key function, flows with a null key are not coalesced
+     */
+    SingleFlight(String ruleName, Function<Object, Object> keyFunction) {
+        this.ruleName = ruleName;
+        this.keyFunction = keyFunction;
+    }
+
+    /**
+     * Key of a flow parameter.
+     *
+     * @param param the param
+     * @return the key, null if the flow is not coalesced
+     */
+    Object key(Object param) {
+        return keyFunction.apply(param);
+    }
+
+    /**
+     * Join the in-flight flow of the key, or start it.
+     *
+     * @param trigger the trigger of the rule
+     * @param key     the key
+     * @param param   the param
+     * @param timeout the timeout of the caller
+     * @return the future of the caller, cancelling it leaves the flow
+     */
+    CompletableFuture<AsyncResult> join(TaskTrigger trigger, Object key, Object param, long timeout) {
+        for (; ; ) {
+            Flight flight = flights.get(key);
+            if (flight == null) {
+                Flight created = new Flight(timeout);
+                flight = flights.putIfAbsent(key, created);
+                if (flight == null) {
+                    start(trigger, key, created, param);
+                    return caller(trigger, key, created, timeout);
+                }
+            }
+            /**
+             * 所有调用方都已退出的流程不能再加入
+             */
+            if (flight.enter()) {
+                flight.extend(timeout);
+                RuleMetrics.of(ruleName).coalesced();
+                return caller(trigger, key, flight, timeout);
+            }
+            flights.remove(key, flight);
+        }
+    }
+
+    private void start(TaskTrigger trigger, Object key, Flight flight, Object param) {
+        TaskLoader loader;
+        synchronized (flight) {
+            loader = trigger.trigger(() -> param, flight.timeout, null);
+            flight.loader = loader;
+        }
+        CompletableFuture<AsyncResult> future = loader.loadAsync();
+        future.whenComplete((result, ex) -> {
+            flights.remove(key, flight);
+            if (ex == null) {
+                flight.shared.complete(result);
+            } else {
+                flight.shared.completeExceptionally(ex);
+            }
+        });
+    }
+
+    private CompletableFuture<AsyncResult> caller(TaskTrigger trigger, Object key, Flight flight, long timeout) {
+        CompletableFuture<AsyncResult> caller = new CompletableFuture<>();
+        HashedWheelTimer.Timeout timer = timeout > 0
+                ? trigger.profile().getTimer().delay(() -> expire(trigger, flight, caller), timeout)
+                : null;
+        flight.shared.whenComplete((result, ex) -> {
+            if (timer != null) {
+                timer.cancel();
+            }
+            if (ex == null) {
+                caller.complete(result);
+            } else {
+                caller.completeExceptionally(ex);
+            }
+        });
+        /**
+         * 调用方超时或取消 退出等待
+         */
+        caller.whenComplete((result, ex) -> {
+            if (!flight.shared.isDone()) {
+                leave(key, flight);
+            }
+        });
+        return caller;
+    }
+
+    /**
+     * 调用方超时 partialOnTimeout 的规则返回共享流程的部分结果 共享流程继续为其他调用方执行
+     */
+    private void expire(TaskTrigger trigger, Flight flight, CompletableFuture<AsyncResult> caller) {
+        TaskLoader loader = flight.loader;
+        if (loader != null && trigger.profile().isPartialOnTimeout()) {
+            AsyncResult partial = loader.snapshot();
+            /**
+             * 流程已结束 由共享结果完成调用方
+             */
+            if (partial != null) {
+                caller.complete(partial);
+            }
+            return;
+        }
+        caller.completeExceptionally(new AsyncTaskTimeoutException());
+    }
+
+    private void leave(Object key, Flight flight) {
+        if (flight.waiters.decrementAndGet() == 0 && flight.waiters.compareAndSet(0, -1)) {
+            flights.remove(key, flight);
+            TaskLoader loader = flight.loader;
+            if (loader != null) {
+                loader.abandon();
+            }
+        }
+    }
+
+    private static final class Flight {
+
+        private final CompletableFuture<AsyncResult> shared = new CompletableFuture<>();
+
+        /**
+         * callers waiting for the flow, -1 once every caller has left
+         */
+        private final AtomicInteger waiters = new AtomicInteger(1);
+
+        private volatile TaskLoader loader;
+
+        /**
+         * the longest timeout of the callers joined before the flow starts, 0 if a caller has no timeout
+         */
+        private long timeout;
+
+        private Flight(long timeout) {
+            this.timeout = Math.max(timeout, 0);
+        }
+
+        /**
+         * 加入的调用方推后共享流程的截止时间
+         */
+        private synchronized void extend(long timeout) {
+            TaskLoader loader = this.loader;
+            if (loader != null) {
+                loader.extend(timeout);
+            } else if (this.timeout != 0) {
+                this.timeout = timeout > 0 ? Math.max(this.timeout, timeout) : 0;
+            }
+        }
+
+        private boolean enter() {
+            for (; ; ) {
+                int current = waiters.get();
+                if (current < 0) {
+                    return false;
+                }
+                if (waiters.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
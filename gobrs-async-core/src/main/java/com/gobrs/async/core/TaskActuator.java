@@ -1,142 +1,142 @@
 package com.gobrs.async.core;
 
-import com.gobrs.async.core.anno.Task;
+import com.alibaba.ttl.TtlRunnable;
+import com.alibaba.ttl.threadpool.TtlExecutors;
+import com.gobrs.async.core.cache.ResultCache;
 import com.gobrs.async.core.callback.ErrorCallback;
-import com.gobrs.async.core.common.def.DefaultConfig;
 import com.gobrs.async.core.common.domain.AnyConditionResult;
-import com.gobrs.async.core.common.domain.AsyncParam;
 import com.gobrs.async.core.common.domain.TaskResult;
-import com.gobrs.async.core.common.domain.TaskStatus;
 import com.gobrs.async.core.common.enums.ExpState;
 import com.gobrs.async.core.common.enums.ResultState;
 import com.gobrs.async.core.common.enums.TaskEnum;
+import com.gobrs.async.core.common.exception.GobrsAsyncException;
 import com.gobrs.async.core.common.exception.GobrsForceStopException;
 import com.gobrs.async.core.common.exception.ManualStopException;
-import com.gobrs.async.core.config.ConfigManager;
 import com.gobrs.async.core.log.LogWrapper;
 import com.gobrs.async.core.log.TraceUtil;
 import com.gobrs.async.core.task.AsyncTask;
+import com.gobrs.async.core.task.BatchTask;
 import com.gobrs.async.core.task.TaskUtil;
-import com.gobrs.async.core.timer.GobrsFutureTask;
-import com.gobrs.async.core.timer.GobrsTimer;
+import com.gobrs.async.core.timer.Retry;
+import com.gobrs.async.core.timer.TaskWatchdog;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.CollectionUtils;
 
-import java.lang.ref.Reference;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 import static com.gobrs.async.core.common.def.DefaultConfig.*;
 import static com.gobrs.async.core.common.enums.InterruptEnum.INTERRUPTED;
 import static com.gobrs.async.core.common.enums.InterruptEnum.INTERRUPTTING;
 import static com.gobrs.async.core.task.ReUsing.reusing;
-import static com.gobrs.async.core.timer.GobrsFutureTask.STOP_STAMP;
 
 /**
  * The type Task actuator.
  * 致动（促动，激励，调节）器；传动（装置，机构）；拖动装置；马达；操作机构；执行机构（元件）
+ * <p>
+ * 执行计划中的一个节点, 规则编译时创建一次, 所有请求共享, 不保存任何请求级状态
+ * 请求级状态(依赖计数等)由 {@link TaskLoader} 以节点编号为下标保存
+ *
  * @param <Param>  the type parameter
  * @param <Result> the type parameter
  */
 @Slf4j
-public class TaskActuator<Param, Result> implements Callable, Cloneable {
+public class TaskActuator<Param, Result> {
 
     /**
-     * The Logger.
+     * Tasks to be performed
      */
+    public final AsyncTask<Param, Result> task;
 
     /**
-     * The Support.
+     * node id in the compiled plan
      */
-    public TaskSupport support;
+    final int id;
 
     /**
-     * Tasks to be performed
+     * the compiled plan
      */
-    public final AsyncTask<Param, Result> task;
-
+    final TaskPlan plan;
 
     /**
-     * Upstream dependent quantity
+     * Samples needed before the cost profile is trusted
      */
-    public volatile int upstreamDepdends;
+    private static final int COST_WARM_UP = 8;
 
     /**
-     * depend com.gobrs.async.com.gobrs.async.test.task
+     * Weight of a new sample in the moving average, 1 / 2^COST_SHIFT
      */
-    public final List<AsyncTask<?, ?>> subTasks;
+    private static final int COST_SHIFT = 3;
 
     /**
-     * The Param.
+     * Moving average cost of the task in nanoseconds, shared by every flow of the rule
+     * 任务耗时的指数移动平均 用于判断子任务是否直接在当前线程上执行
      */
-    public AsyncParam<Param> param;
+    private volatile long cost;
 
-    private Lock lock;
+    private volatile int samples;
 
-    private Map<AsyncTask<?, ?>, List<AsyncTask<?, ?>>> upwardTasksMap;
+    /**
+     * Latency histogram of hedged tasks, null if the task is not hedged
+     */
+    private final LatencyHistogram latencies;
 
 
     /**
      * Instantiates a new Task actuator.
      *
      * @param asyncTask the async com.gobrs.async.com.gobrs.async.test.task
-     * @param depends   the depends
-     * @param subTasks  the sub tasks
+     * @param id        the node id
+     * @param plan      the compiled plan
      */
-    TaskActuator(AsyncTask<Param, Result> asyncTask, int depends, List<AsyncTask<?, ?>> subTasks) {
+    TaskActuator(AsyncTask<Param, Result> asyncTask, int id, TaskPlan plan) {
         this.task = asyncTask;
-        this.upstreamDepdends = depends > 1 & task.isAny() ? 1 : depends;
-        this.subTasks = subTasks;
+        this.id = id;
+        this.plan = plan;
+        this.latencies = asyncTask.isHedge() ? new LatencyHistogram() : null;
     }
 
     /**
-     * Instantiates a new Task actuator.
+     * Execute the node for a flow.
      *
-     * @param asyncTask      the async com.gobrs.async.com.gobrs.async.test.task
-     * @param depends        the depends
-     * @param subTasks       the sub tasks
-     * @param upwardTasksMap the upward tasks map
+     * @param support the support of the flow
+     * @return the object
+     * @throws Exception the exception
      */
-    TaskActuator(AsyncTask<Param, Result> asyncTask, int depends, List<AsyncTask<?, ?>> subTasks, Map<AsyncTask<?, ?>, List<AsyncTask<?, ?>>> upwardTasksMap) {
-        this.task = asyncTask;
-        this.upstreamDepdends = depends > 1 & task.isAny() ? 1 : depends;
-        this.subTasks = subTasks;
-        this.upwardTasksMap = upwardTasksMap;
-    }
-
+    Object call(TaskSupport support) throws Exception {
 
-    /**
-     * Initialize the object cloned from prototype.
-     *
-     * @param support the support
-     * @param param   the param
-     */
-    void init(TaskSupport support, AsyncParam param) {
-        this.support = support;
-        this.param = param;
-    }
+        TaskLoader taskLoader = support.getTaskLoader();
 
-    @Override
-    public Object call() throws Exception {
+        /**
+         * 流程已结束或已过截止时间 调用方不再等待结果 任务不再开始执行
+         */
+        if (support.expired() || taskLoader.isFinished()) {
+            support.getProfile().getMetrics().discarded();
+            return null;
+        }
 
-        Param parameter = getParameter(task);
+        Param parameter = getParameter(support);
 
-        preparation();
+        preparation(taskLoader);
 
-        TaskLoader taskLoader = support.getTaskLoader();
+        /**
+         * 超时看门狗 看守当前线程
+         */
+        TaskWatchdog watchdog = taskLoader.watch(this, () -> timeout(parameter, support));
 
         /**
          * If the conditions are not met
          * no execution is performed
          */
         Result result = null;
+        boolean deferred = false;
         try {
 
 
@@ -145,7 +145,7 @@ public class TaskActuator<Param, Result> implements Callable, Cloneable {
              * 1、necessary 返回true
              * 2、如果具备执行结果 则无需执行
              */
-            if (executeNecessary(parameter, task)) {
+            if (executeNecessary(parameter, support)) {
 
                 task.prepare(parameter);
 
@@ -155,65 +155,322 @@ public class TaskActuator<Param, Result> implements Callable, Cloneable {
                  */
                 taskLoader.preInterceptor(parameter, task.getName());
 
+                firstExecution(support);
+
                 /**
                  * Perform a com.gobrs.async.com.gobrs.async.test.task
                  * 执行核心任务处理
                  */
-                result = task.taskAdapter(parameter, support);
+                boolean timing = support.getProfile().isProfiling() || taskLoader.isSynchronous();
+                long begin = timing ? System.nanoTime() : 0;
+
+                if (task instanceof BatchTask) {
+                    CompletableFuture<Result> pending = batched(parameter, support);
+                    /**
+                     * 批量结果未就绪 不占用当前线程 批量调用返回后在流程线程池上继续
+                     */
+                    if (!pending.isDone()) {
+                        deferred = true;
+                        defer(pending, parameter, support, watchdog, begin);
+                        return null;
+                    }
+                    result = done(pending);
+                } else {
+                    result = cached(parameter, support);
+                }
 
                 /**
-                 * Setting Task Results
-                 * 设置任务结果
+                 * 已超时 结果丢弃 后续流程由看门狗继续
                  */
-                if (ConfigManager.getGlobalConfig().isParamContext()) {
-                    result(result);
+                if (!completed(parameter, support, result, begin, watchdog)) {
+                    return result;
                 }
+            } else if (!finish(watchdog)) {
+                return null;
+            }
 
-                stopAsync0(parameter, support);
+            noRepeat(support, result);
 
-                /**
-                 * 状态改变, 更新状态，如果运行成功，则置为 TASK_FINISH
-                 */
-                change();
+        } catch (Exception e) {
+            failed(parameter, support, e, watchdog);
+        } finally {
+            if (!deferred) {
+                taskLoader.unwatch(this, watchdog);
+                stopOrRelease(parameter, support);
+            }
+        }
+        return result;
+    }
 
-                /**
-                 * 数量统计
-                 */
-                statisticsOptimalCount();
+    /**
+     * 任务执行完成 记录结果
+     *
+     * @param parameter
+     * @param support
+     * @param result
+     * @param begin     start of the execution in nanoseconds, 0 if the execution is not timed
+     * @param watchdog
+     * @return false if the task has timed out, the watchdog has taken over the flow
+     * @throws Exception
+     */
+    private boolean completed(Param parameter, TaskSupport support, Result result, long begin, TaskWatchdog watchdog) throws Exception {
 
-                /**
-                 * Post-processing of tasks
-                 * 后置任务
-                 */
-                taskLoader.postInterceptor(result, task.getName());
+        TaskLoader taskLoader = support.getTaskLoader();
 
-                /**
-                 * Success com.gobrs.async.callback
-                 * 执行成功回调
-                 */
-                task.onSuccess(support);
+        /**
+         * 执行期间流程已经结束 结果不会被使用
+         */
+        if (taskLoader.isFinished()) {
+            support.getProfile().getMetrics().wasted();
+        }
+
+        if (begin != 0) {
+            long nanos = System.nanoTime() - begin;
+            if (support.getProfile().isProfiling()) {
+                profile(nanos);
             }
+            /**
+             * 同步流程中的任务耗时超出预期 后续任务退回并行执行
+             */
+            if (taskLoader.isSynchronous() && nanos > support.getProfile().getSynchronousThreshold()) {
+                taskLoader.fallback();
+            }
+        }
 
-            noRepeat(taskLoader, result);
+        /**
+         * 已超时 结果丢弃 后续流程由看门狗继续
+         */
+        if (!finish(watchdog)) {
+            return false;
+        }
 
-        } catch (Exception e) {
+        /**
+         * Setting Task Results
+         * 设置任务结果
+         */
+        if (support.getProfile().isParamContext()) {
+            result(support, result);
+        }
+
+        stopAsync0(parameter, support);
+
+        /**
+         * 状态改变, 更新状态，如果运行成功，则置为 TASK_FINISH
+         */
+        change(support);
+
+        /**
+         * 数量统计
+         */
+        statisticsOptimalCount(taskLoader);
+
+        /**
+         * Post-processing of tasks
+         * 后置任务
+         */
+        taskLoader.postInterceptor(result, task.getName());
+
+        /**
+         * Success com.gobrs.async.callback
+         * 执行成功回调
+         */
+        task.onSuccess(support);
+        return true;
+    }
+
+    /**
+     * 任务执行异常
+     *
+     * @param parameter
+     * @param support
+     * @param e
+     * @param watchdog
+     * @throws Exception
+     */
+    private void failed(Param parameter, TaskSupport support, Exception e, TaskWatchdog watchdog) throws Exception {
+        if (!finish(watchdog)) {
+            return;
+        }
+        try {
+            exceptionProcess(parameter, support, e);
+        } catch (Exception exception) {
+            if (log.isErrorEnabled()) {
+                log.error("<{}> [{}] exceptionProcess error {} ", TraceUtil.get(), task.getName(), e);
+            }
+            support.getTaskLoader().stopSingleTaskLine(id, support);
+        }
+    }
+
+    /**
+     * 批量结果返回后继续执行 看门狗不再看守当前线程 到期时照常接管流程
+     *
+     * @param pending
+     * @param parameter
+     * @param support
+     * @param watchdog
+     * @param begin
+     */
+    private void defer(CompletableFuture<Result> pending, Param parameter, TaskSupport support, TaskWatchdog watchdog, long begin) {
+        if (watchdog != null) {
+            watchdog.detach();
+        }
+        Continuation continuation = new Continuation(pending, parameter, support, watchdog, begin);
+        /**
+         * 在当前线程上捕获上下文(traceId 等) 而不是在完成批量调用的线程上
+         * 已经是 TtlRunnable 所以提交给原始线程池 避免重复包装
+         */
+        Runnable resume = TtlRunnable.get(continuation);
+        pending.whenComplete((result, error) -> {
+            try {
+                TtlExecutors.unwrap(support.getExecutorService()).execute(resume);
+            } catch (RejectedExecutionException e) {
+                continuation.run();
+            }
+        });
+    }
+
+    private Result done(CompletableFuture<Result> pending) throws Exception {
+        try {
+            return pending.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            throw cause instanceof Exception ? (Exception) cause : new GobrsAsyncException(cause);
+        }
+    }
+
+    /**
+     * 批量任务的后半段 记录结果并释放子任务
+     */
+    private final class Continuation implements Runnable {
+
+        private final CompletableFuture<Result> pending;
+
+        private final Param parameter;
+
+        private final TaskSupport support;
+
+        private final TaskWatchdog watchdog;
+
+        private final long begin;
+
+        private Continuation(CompletableFuture<Result> pending, Param parameter, TaskSupport support, TaskWatchdog watchdog, long begin) {
+            this.pending = pending;
+            this.parameter = parameter;
+            this.support = support;
+            this.watchdog = watchdog;
+            this.begin = begin;
+        }
+
+        @Override
+        public void run() {
             try {
-                exceptionProcess(parameter, taskLoader, e);
-            } catch (Exception exception) {
+                resume();
+            } catch (Exception e) {
                 if (log.isErrorEnabled()) {
-                    log.error("<{}> [{}] exceptionProcess error {} ", TraceUtil.get(), task.getName(), e);
+                    log.error("<{}> [{}] batch continuation error {} ", TraceUtil.get(), task.getName(), e);
                 }
-                taskLoader.stopSingleTaskLine(subTasks);
+            } finally {
+                support.getTaskLoader().unwatch(TaskActuator.this, watchdog);
+                stopOrRelease(parameter, support);
             }
-        } finally {
-            clear();
-            stopOrRelease(parameter, taskLoader);
         }
+
+        private void resume() throws Exception {
+            try {
+                Result result = done(pending);
+                if (completed(parameter, support, result, begin, watchdog)) {
+                    noRepeat(support, result);
+                }
+            } catch (Exception e) {
+                failed(parameter, support, e, watchdog);
+            }
+        }
+    }
+
+    /**
+     * 批量任务 结果缓存命中时不加入批次
+     *
+     * @param parameter
+     * @param support
+     * @return
+     */
+    private CompletableFuture<Result> batched(Param parameter, TaskSupport support) {
+        ResultCache<Object, Object> cache = task.getResultCache();
+        Object key = cache == null ? null : task.getCacheKey().key(parameter);
+        BatchTask<Param, Result> batchTask = (BatchTask<Param, Result>) task;
+        if (key == null) {
+            return batchTask.batch(parameter, support);
+        }
+        RuleMetrics metrics = support.getProfile().getMetrics();
+        Result result = (Result) cache.getCache(key);
+        if (result != null) {
+            metrics.cacheHit();
+            return CompletableFuture.completedFuture(result);
+        }
+        metrics.cacheMiss();
+        return batchTask.batch(parameter, support).thenApply(r -> {
+            cache.setCache(key, r);
+            return r;
+        });
+    }
+
+    /**
+     * 结果缓存 命中时不执行任务 结果照常记录并释放子任务; null 结果不缓存
+     *
+     * @param parameter
+     * @param support
+     * @return
+     * @throws Exception
+     */
+    private Result cached(Param parameter, TaskSupport support) throws Exception {
+        ResultCache<Object, Object> cache = task.getResultCache();
+        Object key = cache == null ? null : task.getCacheKey().key(parameter);
+        if (key == null) {
+            return execute(parameter, support);
+        }
+        RuleMetrics metrics = support.getProfile().getMetrics();
+        Result result = (Result) cache.getCache(key);
+        if (result != null) {
+            metrics.cacheHit();
+            return result;
+        }
+        metrics.cacheMiss();
+        result = execute(parameter, support);
+        cache.setCache(key, result);
         return result;
     }
 
-    private void result(Result result) {
-        support.getResultMap().put(task.getName(), buildSuccessResult(result));
+    private Result execute(Param parameter, TaskSupport support) throws Exception {
+        return latencies == null ? task.taskAdapter(parameter, support) : hedged(parameter, support);
+    }
+
+    /**
+     * 对冲执行 延迟取配置值或历史耗时的 p95, 样本不足时直接在当前线程执行并记录耗时
+     *
+     * @param parameter
+     * @param support
+     * @return
+     * @throws Exception
+     */
+    private Result hedged(Param parameter, TaskSupport support) throws Exception {
+        long delay = task.getHedgeDelay();
+        if (delay <= 0 && latencies.samples() >= HEDGE_MIN_SAMPLES) {
+            delay = latencies.percentile(0.95);
+        }
+        if (delay <= 0) {
+            long begin = System.nanoTime();
+            Result result = task.taskAdapter(parameter, support);
+            latencies.record(System.nanoTime() - begin);
+            return result;
+        }
+        return new HedgedCall<>(task, latencies, parameter, support).call(delay);
+    }
+
+    private void result(TaskSupport support, Result result) {
+        support.setTaskResult(id, buildSuccessResult(result));
     }
 
     private void stopAsync0(Object parameter, TaskSupport support) {
@@ -225,7 +482,7 @@ public class TaskActuator<Param, Result> implements Callable, Cloneable {
                 logWrapper.setStopTaskName(task.getName());
             }
             support.taskLoader.setExpCode(new AtomicInteger(ExpState.STOP_ASYNC.getCode()));
-            support.getResultMap().put(task.getName(), buildErrorResult(null, new ManualStopException("Manually executing stopAsync Exception")));
+            support.setTaskResult(id, buildErrorResult(null, new ManualStopException("Manually executing stopAsync Exception")));
             support.getTaskLoader().isRunning().set(false);
             support.getTaskLoader().errorInterrupted(errorCallback);
         }
@@ -235,69 +492,74 @@ public class TaskActuator<Param, Result> implements Callable, Cloneable {
      * 停止任务 或 释放资源
      *
      * @param parameter
-     * @param taskLoader
+     * @param support
      */
-    private void stopOrRelease(Object parameter, TaskLoader<Param, Result> taskLoader) throws Exception {
-        if (task.getTimeoutInMilliseconds() > TASK_TIME_OUT) {
-            futureStopRelease(parameter, taskLoader);
-        }
+    private void stopOrRelease(Object parameter, TaskSupport support) {
         if (task.isExclusive()) {
-            releaseFutureTasks();
+            releaseFutureTasks(support.getTaskLoader());
         }
     }
 
     /**
-     * 根据中断位强制释放资源 针对开发者使用死循环等问题fix
+     * Task finished, returns false if the watchdog has taken over the timed out task
      *
-     * @param taskLoader
+     * @param watchdog
+     * @return
      */
-    private void futureStopRelease(Object parameter, TaskLoader<Param, Result> taskLoader) throws Exception {
-        Future<?> future = taskLoader.getFutureTasksMap().get(task);
-        if (future instanceof GobrsFutureTask) {
-            Integer syncState = ((GobrsFutureTask<?>) future).getSyncState();
-            if (syncState == STOP_STAMP) {
-                releaseFutureTasks();
-                preNextTask(parameter, taskLoader, new GobrsForceStopException(String.format(" task %s force stop error", task.getName())));
-            } else {
-                releaseFutureTasks();
+    private boolean finish(TaskWatchdog watchdog) {
+        return watchdog == null || watchdog.finish();
+    }
+
+    /**
+     * 任务超时 丢弃任务结果 代替任务继续后续流程
+     *
+     * @param parameter
+     * @param support
+     */
+    private void timeout(Param parameter, TaskSupport support) {
+        support.compareAndSetStatus(id, TASK_INITIALIZE, TASK_TIMEOUT);
+        try {
+            Optimal.optimalCount(support.getTaskLoader());
+            /**
+             * 尽力而为的任务 超时不算失败 子任务拿到 null 结果继续执行
+             */
+            if (task.isBestEffort()) {
+                if (support.getProfile().isParamContext()) {
+                    support.setTaskResult(id, new TaskResult<>(null, ResultState.TIMEOUT));
+                }
+                noRepeat(support, null);
+                return;
+            }
+            preNextTask(parameter, support, new GobrsForceStopException(String.format(" task %s force stop error", task.getName())));
+        } catch (Exception exception) {
+            if (log.isErrorEnabled()) {
+                log.error("<{}> [{}] timeout process error {} ", TraceUtil.get(), task.getName(), exception);
             }
         }
     }
 
-    private void change() {
-        support.getStatus(task.getName()).compareAndSet(TASK_INITIALIZE, TASK_FINISH);
+    private void change(TaskSupport support) {
+        support.compareAndSetStatus(id, TASK_INITIALIZE, TASK_FINISH);
     }
 
 
-    private void clear() {
-        Reference<GobrsTimer.TimerListener> listenerReference = getListenerReference();
-        if (Objects.nonNull(listenerReference)) {
-            listenerReference.clear();
-        }
-    }
-
-    private void releaseFutureTasks() {
-        Map<AsyncTask<Param, Result>, Future<?>> futureTasksMap = support.getTaskLoader().getFutureTasksMap();
+    private void releaseFutureTasks(TaskLoader taskLoader) {
+        Map<AsyncTask<Param, Result>, Future<?>> futureTasksMap = taskLoader.getFutureTasksMap();
         futureTasksMap.remove(task);
     }
 
-    private Reference<GobrsTimer.TimerListener> getListenerReference() {
-        Map<Class<?>, Reference<GobrsTimer.TimerListener>> timerListeners = support.getTaskLoader().getTimerListeners();
-        return timerListeners.get(task.getClass());
-    }
-
-    private boolean executeNecessary(Param parameter, AsyncTask<Param, ?> task) {
-        return (TaskEnum.CLASS.getType().equals(task.getType()) && task.necessary(parameter, support) && (Objects.isNull(support.getResultMap().get(task.getClass())))
-                || (TaskEnum.METHOD.getType().equals(task.getType()) && Objects.isNull(support.getResultMap().get(task.getName()))));
+    private boolean executeNecessary(Param parameter, TaskSupport support) {
+        return (TaskEnum.CLASS.getType().equals(task.getType()) && task.necessary(parameter, support) && Objects.isNull(support.getTaskResult(id)))
+                || (TaskEnum.METHOD.getType().equals(task.getType()) && Objects.isNull(support.getTaskResult(id)));
     }
 
     /**
      * Determine whether the process is interrupted
      * 判断当前流程是否执行完成
      */
-    private void noRepeat(TaskLoader<Param, Result> taskLoader, Object result) throws Exception {
-        if (taskLoader.isRunning().get()) {
-            nextTaskByCase(taskLoader, result);
+    private void noRepeat(TaskSupport support, Object result) throws Exception {
+        if (support.getTaskLoader().isRunning().get()) {
+            nextTaskByCase(support, result);
         }
     }
 
@@ -305,23 +567,24 @@ public class TaskActuator<Param, Result> implements Callable, Cloneable {
      * 异常处理
      *
      * @param parameter
-     * @param taskLoader
+     * @param support
      * @param e
      */
-    private void exceptionProcess(Param parameter, TaskLoader<Param, Result> taskLoader, Exception e) throws Exception {
+    private void exceptionProcess(Param parameter, TaskSupport support, Exception e) throws Exception {
 
-        Optimal.optimalCount(support.taskLoader);
-        setExpCode(ExpState.ERROR.getCode());
-        if (!retryTask(parameter, taskLoader)) {
+        TaskLoader<Param, Result> taskLoader = support.getTaskLoader();
+        if (!retryTask(support)) {
 
-            support.getResultMap().put(task.getName(), buildErrorResult(null, e));
+            Optimal.optimalCount(taskLoader);
+            setExpCode(support, ExpState.ERROR.getCode());
+            support.setTaskResult(id, buildErrorResult(null, e));
             /**
              * transaction com.gobrs.async.com.gobrs.async.test.task
              * 事物任务
              */
-            transaction(taskLoader);
+            transaction(support);
 
-            preNextTask(parameter, taskLoader, e);
+            preNextTask(parameter, support, e);
         }
     }
 
@@ -329,21 +592,23 @@ public class TaskActuator<Param, Result> implements Callable, Cloneable {
     /**
      * Sets exp code.
      *
-     * @param code the code
+     * @param support the support
+     * @param code    the code
      */
-    public void setExpCode(Integer code) {
+    public void setExpCode(TaskSupport support, Integer code) {
         support.taskLoader.setExpCode(new AtomicInteger(code));
     }
 
 
-    private void preNextTask(Object parameter, TaskLoader<Param, Result> taskLoader, Exception e) throws Exception {
+    private void preNextTask(Object parameter, TaskSupport support, Exception e) throws Exception {
+        TaskLoader<Param, Result> taskLoader = support.getTaskLoader();
         task.onFailureTrace(support, e);
         /**
          * 配置 taskInterrupt = true 则某一任务异常后结束整个任务流程 默认 false
          */
-        if (ConfigManager.getRule(taskLoader.getRuleName()).isTaskInterrupt()) {
-            setExpCode(ExpState.TASK_INTERRUPT.getCode());
-            support.getTaskLoader().isRunning().set(false);
+        if (support.getProfile().isTaskInterrupt()) {
+            setExpCode(support, ExpState.TASK_INTERRUPT.getCode());
+            taskLoader.isRunning().set(false);
             taskLoader.errorInterrupted(errorCallback(parameter, e, support, task));
         } else {
 
@@ -353,12 +618,12 @@ public class TaskActuator<Param, Result> implements Callable, Cloneable {
              * 当任务失败 是否继续执行子任务
              */
             if (task.isFailSubExec()) {
-                nextTask(taskLoader, TaskUtil.defaultAnyCondition(false));
+                nextTask(support, TaskUtil.defaultAnyCondition(false));
             } else {
-                if (!CollectionUtils.isEmpty(taskLoader.getOptionalTasks()) || TaskUtil.multipleDependencies(upwardTasksMap, subTasks)) {
-                    nextTask(taskLoader, TaskUtil.defaultAnyCondition(false));
+                if (!CollectionUtils.isEmpty(taskLoader.getOptionalTasks()) || plan.multipleDependencies(id)) {
+                    nextTask(support, TaskUtil.defaultAnyCondition(false));
                 } else {
-                    taskLoader.stopSingleTaskLine(subTasks);
+                    taskLoader.stopSingleTaskLine(id, support);
                 }
 
             }
@@ -369,43 +634,42 @@ public class TaskActuator<Param, Result> implements Callable, Cloneable {
      * Execute tasks based on conditions
      * 根据条件执行任务
      *
-     * @param taskLoader
+     * @param support
      * @param result
      */
-    private void nextTaskByCase(TaskLoader<Param, Result> taskLoader, Object result) throws Exception {
+    private void nextTaskByCase(TaskSupport support, Object result) throws Exception {
         if (result instanceof AnyConditionResult) {
-            nextTask(taskLoader, (AnyConditionResult) result);
+            nextTask(support, (AnyConditionResult) result);
             return;
         }
-        nextTask(taskLoader);
+        nextTask(support);
     }
 
 
     /**
      * 数量统计
      */
-    private void statisticsOptimalCount() {
-        Optimal.optimalCount(support.taskLoader);
+    private void statisticsOptimalCount(TaskLoader taskLoader) {
+        Optimal.optimalCount(taskLoader);
     }
 
     /**
      * 执行任务准备阶段
      */
-    private void preparation() {
+    private void preparation(TaskLoader taskLoader) {
 
         if (task.isExclusive()) {
 
-            List<AsyncTask<?, ?>> asyncTaskList = upwardTasksMap.get(task);
+            Map<AsyncTask<?, ?>, Future<?>> futureMaps = taskLoader.getFutureTasksMap();
 
-            Map<AsyncTask<Param, Result>, Future<?>> futureMaps = support.getTaskLoader().getFutureTasksMap();
+            for (int i = plan.parentFrom(id); i < plan.parentTo(id); i++) {
 
-            futureMaps.forEach((x, y) -> {
+                Future<?> future = futureMaps.get(plan.actuator(plan.parent(i)).task);
 
-                if (asyncTaskList.contains(x)) {
-                    y.cancel(false);
+                if (future != null) {
+                    future.cancel(false);
                 }
-
-            });
+            }
 
         }
     }
@@ -415,9 +679,9 @@ public class TaskActuator<Param, Result> implements Callable, Cloneable {
      *
      * @return
      */
-    private Param getParameter(AsyncTask<Param, Result> task) {
+    private Param getParameter(TaskSupport support) {
 
-        Param parameter = param.get();
+        Param parameter = (Param) support.getParam().get();
 
         if (parameter instanceof Map) {
 
@@ -431,76 +695,42 @@ public class TaskActuator<Param, Result> implements Callable, Cloneable {
 
     /**
      * 任务重试 必须注解开启
+     * 重试不在当前线程上立即执行 而是按照退避策略交给定时器调度, 重新走一遍完整的任务执行流程
+     * 超过最大重试时长 或 流程剩余时间不足以等到下一次重试 则放弃重试
      *
-     * @param parameter
-     * @param taskLoader
+     * @param support
      * @return
      */
-    private boolean retryTask(Param parameter, TaskLoader taskLoader) {
-        try {
-            AtomicInteger retryCounts = support.getStatus(task.getName()).getRetryCounts();
-
-            /**
-             * 单任务超时判断
-             */
-            TaskStatus status = getTaskSupport().getStatus(task.getName());
+    private boolean retryTask(TaskSupport support) {
+        int retryCounts = support.getRetryCounts(id);
 
-            if ((status.getStatus().get() == TASK_INITIALIZE) && task.getRetryCount() > RETRY_COUNT && task.getRetryCount() > retryCounts.get()) {
-
-                retryCounts.incrementAndGet();
-
-                doTaskWithRetryConditional(parameter, taskLoader);
-
-                if (task.isFailSubExec()) {
-
-                    nextTask(taskLoader);
-
-                }
-                return true;
-            }
+        /**
+         * 单任务超时判断
+         */
+        if (support.getStatus(id) != TASK_INITIALIZE || task.getRetryCount() <= retryCounts) {
             return false;
+        }
 
-        } catch (Exception exception) {
-            return retryTask(parameter, taskLoader);
+        TaskLoader<Param, Result> taskLoader = support.getTaskLoader();
+        long delay = Retry.backoff(task, retryCounts + 1);
+        if (!Retry.withinElapsed(task, support.getStartTime(id), delay) || delay >= taskLoader.remaining()) {
+            return false;
         }
+        support.incrementRetryCounts(id);
+        taskLoader.retry(this, support, delay);
+        return true;
     }
 
     /**
-     * 根据条件 选择性任务重试
+     * 记录首次执行时间 用于最大重试时长判断
      *
-     * @param parameter
-     * @param taskLoader
+     * @param support
      */
-    private void doTaskWithRetryConditional(Param parameter, TaskLoader<Param, Result> taskLoader) throws Exception {
-
-        /**
-         * Perform a com.gobrs.async.com.gobrs.async.test.task
-         */
-        Result result = task.taskAdapter(parameter, support);
-
-        /**
-         * 状态改变
-         */
-        change();
-
-        try {
-            /**
-             * Post-processing of tasks
-             */
-            taskLoader.postInterceptor(result, task.getName());
-
-            /**
-             * Setting Task Results
-             */
-            if (ConfigManager.getGlobalConfig().isParamContext()) {
-                result(result);
+    private void firstExecution(TaskSupport support) {
+        if (task.getRetryMaxElapsed() > RETRY_MAX_ELAPSED) {
+            if (support.getRetryCounts(id) == 0) {
+                support.setStartTime(id, System.nanoTime());
             }
-            /**
-             * Success com.gobrs.async.callback
-             */
-            task.onSuccess(support);
-        } catch (Exception ex) {
-            // todo com.gobrs.async.log
         }
     }
 
@@ -508,57 +738,116 @@ public class TaskActuator<Param, Result> implements Callable, Cloneable {
     /**
      * Move on to the next com.gobrs.async.com.gobrs.async.test.task
      *
-     * @param taskLoader the com.gobrs.async.com.gobrs.async.test.task loader
+     * @param support the support
      * @throws Exception the exception
      */
-    public void nextTask(TaskLoader<Param, Result> taskLoader) throws Exception {
-        nextTask(taskLoader, TaskUtil.defaultAnyCondition());
+    public void nextTask(TaskSupport support) throws Exception {
+        nextTask(support, TaskUtil.defaultAnyCondition());
     }
 
     /**
      * Next com.gobrs.async.com.gobrs.async.test.task.
      * 执行下一任务 （子任务）
      *
-     * @param taskLoader      the com.gobrs.async.com.gobrs.async.test.task loader
+     * @param support         the support
      * @param conditionResult the com.gobrs.async.com.gobrs.async.test.task conditionResult
      * @throws Exception the exception
      */
-    public void nextTask(TaskLoader<Param, Result> taskLoader, AnyConditionResult<Object> conditionResult) throws Exception {
+    public void nextTask(TaskSupport support, AnyConditionResult<Object> conditionResult) throws Exception {
 
-        if (!CollectionUtils.isEmpty(subTasks)) {
-            for (int i = 0; i < subTasks.size(); i++) {
-                TaskActuator process = taskLoader
-                        .getProcess(subTasks.get(i));
-                Set<AsyncTask<?, ?>> optionalTasks = taskLoader.getOptionalTasks();
+        TaskLoader<Param, Result> taskLoader = support.getTaskLoader();
+        long inlineThreshold = support.getProfile().getInlineThreshold();
+        int from = plan.childFrom(id);
+        int to = plan.childTo(id);
+        /**
+         * 子任务按调度顺序排列 开启关键路径优先时 剩余关键路径最长的子任务排在最后 复用当前线程
+         * 调度顺序取自流程开始时的计划 同一流程内不变
+         */
+        int[] dispatch = taskLoader.plan.dispatch();
+        /**
+         * 耗时低于阈值的子任务 在其余子任务提交线程池之后 直接在当前线程上执行
+         */
+        int[] cheap = null;
+        int cheaps = 0;
+        Set<AsyncTask<?, ?>> optionalTasks = taskLoader.getOptionalTasks();
+        for (int i = from; i < to; i++) {
+            int child = dispatch[i];
+            TaskActuator process = plan.actuator(child);
 
-                boolean continueExec = Optimal.ifContinue(optionalTasks, taskLoader, process);
+            boolean continueExec = Optimal.ifContinue(optionalTasks, taskLoader, support);
 
-                if (!continueExec) {
-                    return;
-                }
-                /**
-                 * Check whether the subtask depends on a com.gobrs.async.com.gobrs.async.test.task that has been executed
-                 * The number of tasks that it depends on to get to this point minus one
-                 */
-                if (process.task.isAnyCondition()) {
-                    if (process.releasingDependency() == 0 || conditionResult.getState()) {
-                        synchronized (process.task) {
-                            Boolean aBoolean = taskLoader.anyConditionProx.get(process);
-                            if (Objects.isNull(aBoolean)) {
-                                taskLoader.anyConditionProx.put(process, true);
-                                doTask(taskLoader, process, optionalTasks, isCycleThread(i, process));
-                            }
-                        }
-                    }
-                } else {
-                    if (process.releasingDependency() == 0) {
-                        doTask(taskLoader, process, optionalTasks, isCycleThread(i, process));
-                    }
+            if (!continueExec) {
+                break;
+            }
+            /**
+             * Check whether the subtask depends on a com.gobrs.async.com.gobrs.async.test.task that has been executed
+             * The number of tasks that it depends on to get to this point minus one
+             */
+            boolean ready;
+            if (process.task.isAnyCondition()) {
+                ready = (taskLoader.releasingDependency(child) == 0 || conditionResult.getState()) && taskLoader.triggerOnce(child);
+            } else {
+                ready = taskLoader.releasingDependency(child) == 0;
+            }
+            if (!ready) {
+                continue;
+            }
+            boolean cycleThread = taskLoader.isSynchronous() || isCycleThread(i, to);
+            if (!cycleThread && process.cheap(inlineThreshold)) {
+                if (cheap == null) {
+                    cheap = new int[to - i];
                 }
+                cheap[cheaps++] = child;
+                continue;
+            }
+            if (cycleThread) {
+                runCheap(support, cheap, cheaps, optionalTasks);
+                cheaps = 0;
             }
+            doTask(support, process, optionalTasks, cycleThread);
+        }
+        runCheap(support, cheap, cheaps, optionalTasks);
+    }
+
+    private void runCheap(TaskSupport support, int[] cheap, int cheaps, Set<AsyncTask<?, ?>> optionalTasks) throws Exception {
+        for (int i = 0; i < cheaps; i++) {
+            doTask(support, (TaskActuator<Param, Result>) plan.actuator(cheap[i]), optionalTasks, true);
+        }
+    }
+
+    /**
+     * Record a cost sample of the task.
+     *
+     * @param nanos the cost in nanoseconds
+     */
+    void profile(long nanos) {
+        int n = samples;
+        long avg = cost;
+        cost = n == 0 ? nanos : avg + ((nanos - avg) >> COST_SHIFT);
+        if (n < COST_WARM_UP) {
+            samples = n + 1;
         }
     }
 
+    /**
+     * Moving average cost of the task.
+     *
+     * @return the cost in nanoseconds, 0 before the first sample
+     */
+    long cost() {
+        return cost;
+    }
+
+    /**
+     * Whether the measured cost of the task is below the threshold.
+     *
+     * @param threshold the threshold in nanoseconds, 0 if inline execution is disabled
+     * @return the boolean
+     */
+    boolean cheap(long threshold) {
+        return threshold > 0 && samples >= COST_WARM_UP && cost <= threshold;
+    }
+
     /**
      * 线程复用
      * 1、最后一个子任务使用父任务的线程
@@ -566,8 +855,8 @@ public class TaskActuator<Param, Result> implements Callable, Cloneable {
      * @param i
      * @return
      */
-    private boolean isCycleThread(int i, TaskActuator<Param, Result> taskActuator) {
-        return i == subTasks.size() - 1;
+    private boolean isCycleThread(int i, int to) {
+        return i == to - 1;
     }
 
     /**
@@ -575,85 +864,43 @@ public class TaskActuator<Param, Result> implements Callable, Cloneable {
      * A->C,D
      * 此时 C会使用A的线程继续执行任务 而不会再开启线程 节省了线程开销和线程上下文切换
      *
-     * @param taskLoader
+     * @param support
      * @param process
      * @param optionalTasks
      */
-    private void doTask(TaskLoader<Param, Result> taskLoader, TaskActuator<Param, Result> process, Set<AsyncTask<?, ?>> optionalTasks, boolean cycleThread) throws Exception {
-        process(taskLoader, process, optionalTasks, cycleThread);
+    private void doTask(TaskSupport support, TaskActuator<Param, Result> process, Set<AsyncTask<?, ?>> optionalTasks, boolean cycleThread) throws Exception {
+        process(support, process, optionalTasks, cycleThread);
     }
 
 
-    private void process(TaskLoader<Param, Result> taskLoader, TaskActuator<Param, Result> process, Set<AsyncTask<?, ?>> optionalTasks, boolean cycleThread) throws Exception {
+    private void process(TaskSupport support, TaskActuator<Param, Result> process, Set<AsyncTask<?, ?>> optionalTasks, boolean cycleThread) throws Exception {
         if (Objects.nonNull(optionalTasks)) {
             if (optionalTasks.contains(process.getTask())) {
-                doProcess(taskLoader, process, cycleThread);
+                doProcess(support, process, cycleThread);
             }
         } else {
-            doProcess(taskLoader, process, cycleThread);
+            doProcess(support, process, cycleThread);
         }
     }
 
     /**
      * 向下执行
      *
-     * @param taskLoader
+     * @param support
      * @param process
      * @param cycleThread
      */
-    private void doProcess(TaskLoader<Param, Result> taskLoader, TaskActuator<Param, Result> process, boolean cycleThread) throws Exception {
+    private void doProcess(TaskSupport support, TaskActuator<Param, Result> process, boolean cycleThread) throws Exception {
         /**
          * retry open thread for task timeout manager
          */
-        if (cycleThread && reusing(this) && reusing(process)) {
+        if (cycleThread && reusing(process, support.getTaskLoader().getCallerThread())) {
             /**
              * Thread reuse saves context switching
              */
-            process.call();
+            process.call(support);
         } else {
-            taskLoader.startProcess(process);
-        }
-    }
-
-    /**
-     * Gets tasks without any dependencies
-     * 是否还有自身所依赖的任务
-     *
-     * @return boolean boolean
-     */
-    boolean hasUnsatisfiedDependcies() {
-        lock.lock();
-        try {
-            return upstreamDepdends != 0;
-        } finally {
-            lock.unlock();
-        }
-    }
-
-    /**
-     * Release the number of dependent tasks
-     * 释放一个依赖任务
-     *
-     * @return int int
-     */
-    public int releasingDependency() {
-        lock.lock();
-        try {
-            return --upstreamDepdends;
-        } finally {
-            lock.unlock();
-        }
-    }
-
-    @Override
-    @SuppressWarnings("unchecked")
-    public Object clone() {
-        try {
-            TaskActuator<Param, Result> cloned = (TaskActuator<Param, Result>) super.clone();
-            cloned.lock = new ReentrantLock();
-            return cloned;
-        } catch (Exception e) {
-            throw new InternalError();
+            support.getTaskLoader().startProcess(process, support);
         }
     }
 
@@ -662,8 +909,8 @@ public class TaskActuator<Param, Result> implements Callable, Cloneable {
      * Data transaction
      * 事务
      */
-    private void transaction(TaskLoader<Param, Result> taskLoader) {
-        if (ConfigManager.getRule(taskLoader.getRuleName()).isTransaction()) {
+    private void transaction(TaskSupport support) {
+        if (support.getProfile().isTransaction()) {
 
             if (!this.task.isCallback()) {
                 return;
@@ -671,39 +918,14 @@ public class TaskActuator<Param, Result> implements Callable, Cloneable {
             /**
              * Get the parent .com.gobrs.async.test.task that the com.gobrs.async.test.task depends on
              */
-            List<AsyncTask<?, ?>> asyncTaskList = upwardTasksMap.get(this.task);
-            if (asyncTaskList == null || asyncTaskList.isEmpty()) {
+            if (plan.parentCount(id) == 0) {
                 return;
             }
 
-            support.getExecutorService().execute(() -> rollback(asyncTaskList, support));
-        }
-    }
-
-
-    /**
-     * 业务回滚
-     *
-     * @param asyncTasks
-     * @param support
-     */
-    private void rollback(List<AsyncTask<?, ?>> asyncTasks, TaskSupport support) {
-        for (AsyncTask asyncTask : asyncTasks) {
-            try {
-                if (support.getParam() instanceof Map) {
-                    asyncTask.rollback(((Map<?, ?>) support.getParam()).get(this.getClass()));
-                } else {
-                    asyncTask.rollback(support.getParam().get());
-                }
-            } catch (Exception ex) {
-                ex.printStackTrace();
-            }
             /**
-             * Tasks that the parent com.gobrs.async.com.gobrs.async.test.task depends on recursively roll back
-             *
+             * 逆拓扑序并行回滚所有祖先任务 每个祖先只回滚一次
              */
-            List<AsyncTask<?, ?>> asyncTaskList = upwardTasksMap.get(asyncTask);
-            rollback(asyncTaskList, support);
+            support.getTaskLoader().compensate(id, support);
         }
     }
 
@@ -718,31 +940,22 @@ public class TaskActuator<Param, Result> implements Callable, Cloneable {
     }
 
     /**
-     * Gets com.gobrs.async.com.gobrs.async.test.task support.
+     * Gets node id.
      *
-     * @return the com.gobrs.async.com.gobrs.async.test.task support
+     * @return the id
      */
-    public TaskSupport getTaskSupport() {
-        return support;
+    public int getId() {
+        return id;
     }
 
     /**
      * Gets task status.
      *
-     * @return the task status
-     */
-    public TaskStatus taskStatus() {
-        return support.getStatus(task.getName());
-    }
-
-
-    /**
-     * Sets com.gobrs.async.com.gobrs.async.test.task support.
-     *
-     * @param taskSupport the com.gobrs.async.com.gobrs.async.test.task support
+     * @param support the support
+     * @return the task status (TASK_INITIALIZE,TASK_FINISH,TASK_TIMEOUT)
      */
-    public void setTaskSupport(TaskSupport taskSupport) {
-        this.support = taskSupport;
+    public int taskStatus(TaskSupport support) {
+        return support.getStatus(id);
     }
 
 
@@ -791,25 +1004,7 @@ public class TaskActuator<Param, Result> implements Callable, Cloneable {
      * @return the error com.gobrs.async.callback
      */
     public ErrorCallback errorCallback(Object result, Exception e, TaskSupport support, AsyncTask<Param, Result> asyncTask) {
-        return new ErrorCallback(param, e, support, asyncTask);
-    }
-
-    /**
-     * Gets upstream depdends.
-     *
-     * @return the upstream depdends
-     */
-    public int getUpstreamDepdends() {
-        return upstreamDepdends;
-    }
-
-    /**
-     * Sets upstream depdends.
-     *
-     * @param upstreamDepdends the upstream depdends
-     */
-    public void setUpstreamDepdends(int upstreamDepdends) {
-        this.upstreamDepdends = upstreamDepdends;
+        return new ErrorCallback(support.getParam(), e, support, asyncTask);
     }
 
 }
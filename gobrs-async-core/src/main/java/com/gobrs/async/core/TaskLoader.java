@@ -6,20 +6,21 @@ import com.gobrs.async.core.callback.ErrorCallback;
 import com.gobrs.async.core.callback.AsyncTaskExceptionInterceptor;
 import com.gobrs.async.core.common.def.DefaultConfig;
 import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.core.common.domain.RollbackResult;
+import com.gobrs.async.core.common.domain.TaskResult;
+import com.gobrs.async.core.common.domain.TaskResultSlots;
 import com.gobrs.async.core.common.enums.ExpState;
 import com.gobrs.async.core.common.enums.ResultState;
-import com.gobrs.async.core.config.ConfigManager;
-import com.gobrs.async.core.config.GobrsAsyncRule;
-import com.gobrs.async.core.holder.BeanHolder;
+import com.gobrs.async.core.config.RuleProfile;
 import com.gobrs.async.core.log.LogCreator;
 import com.gobrs.async.core.log.LogWrapper;
 import com.gobrs.async.core.task.AsyncTask;
 import com.gobrs.async.core.common.exception.GobrsAsyncException;
 import com.gobrs.async.core.common.exception.AsyncTaskTimeoutException;
-import com.gobrs.async.core.timer.GobrsFutureTask;
 import com.gobrs.async.core.timer.GobrsTimer;
+import com.gobrs.async.core.timer.HashedWheelTimer;
+import com.gobrs.async.core.timer.TaskWatchdog;
 import com.gobrs.async.plugin.base.ThreadWapper;
-import com.gobrs.async.spi.ExtensionLoader;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.CollectionUtils;
 
@@ -28,8 +29,9 @@ import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -63,20 +65,46 @@ public class TaskLoader<Param,Result> {
      */
     private AtomicBoolean isRunning = new AtomicBoolean(true);
 
-    private final ExecutorService executorService;
+    private static final int NODE_WAITING = 0;
+
+    private static final int NODE_TRIGGERED = 1;
 
-    private final AsyncTaskExceptionInterceptor asyncExceptionInterceptor = BeanHolder.getBean(AsyncTaskExceptionInterceptor.class);
+    private static final int NODE_SKIPPED = 2;
 
-    private final AsyncTaskPreInterceptor asyncTaskPreInterceptor = BeanHolder.getBean(AsyncTaskPreInterceptor.class);
+    /**
+     * The caller thread is waiting in load() and accepts a ready task
+     */
+    private static final Object CALLER_IDLE = new Object();
 
-    private final AsyncTaskPostInterceptor asyncTaskPostInterceptor = BeanHolder.getBean(AsyncTaskPostInterceptor.class);
+    private final ExecutorService executorService;
+
+    /**
+     * The runtime profile of the rule
+     */
+    private final RuleProfile profile;
 
     private final CountDownLatch completeLatch;
 
     /**
-     * The Process map.
+     * The compiled plan shared by every flow of the rule
+     */
+    final TaskPlan plan;
+
+    /**
+     * Remaining upstream dependencies of every node, indexed by node id
+     * 每个节点剩余的依赖数量 以节点编号为下标 无锁释放
      */
-    public final Map<AsyncTask<?,?>, TaskActuator<?,?>> processMap;
+    private final AtomicIntegerArray pendings;
+
+    /**
+     * Trigger state of every node, indexed by node id
+     */
+    private final AtomicIntegerArray states;
+
+    /**
+     * Skipped parents of every join node, null if the plan has no join node
+     */
+    private final AtomicIntegerArray skips;
 
     /**
      * The Affir count.
@@ -90,12 +118,55 @@ public class TaskLoader<Param,Result> {
 
     private final long processTimeout;
 
+    /**
+     * Flow deadline (System.nanoTime), 0 if the flow has no timeout
+     * 合并执行的流程 加入的调用方可以推后截止时间 见 {@link #extend(long)}
+     */
+    private volatile long deadline;
+
     private volatile Throwable error;
 
-    private static final Lock taskLock = new ReentrantLock();
+    /**
+     * Completed by the terminal node when the flow is loaded by {@link #loadAsync()}
+     */
+    private volatile CompletableFuture<AsyncResult> completeFuture;
+
+    private final AtomicBoolean finished = new AtomicBoolean(false);
+
+    private volatile HashedWheelTimer.Timeout processTimer;
+
+    /**
+     * Caller helps hand-off slot:
+     * null if the caller does not accept tasks, CALLER_IDLE if the caller waits for a task, otherwise the handed-off task
+     */
+    private final AtomicReference<Object> helping = new AtomicReference<>();
 
+    /**
+     * Nodes claimed by the compensations of the flow, created by the first compensation
+     */
+    private AtomicIntegerArray compensated;
+
+    /**
+     * Result of the compensations of the flow, null if nothing is compensated
+     */
+    private volatile CompletableFuture<RollbackResult> rollback;
+
+    /**
+     * 流程取消标记 与 futureTasksMap 一起组成本流程的取消登记表 无锁
+     */
     private volatile boolean canceled = false;
 
+    /**
+     * The thread blocked in {@link #load()}, tasks with timeout never run on it
+     */
+    private volatile Thread callerThread;
+
+    /**
+     * The whole flow runs on the current thread, cleared once a task runs longer than expected
+     * 同步执行: 配置开启 或 规则很小且每个任务都很轻时 整个流程在当前线程上执行
+     */
+    private volatile boolean synchronous;
+
     public TaskSupport taskSupport;
 
     /**
@@ -111,7 +182,12 @@ public class TaskLoader<Param,Result> {
     /**
      * The Timer listeners.
      */
-    public final Map<Class<?>, Reference<GobrsTimer.TimerListener>> timerListeners = new ConcurrentHashMap<>();
+    public final Map<AsyncTask<?,?>, Reference<GobrsTimer.TimerListener>> timerListeners = new ConcurrentHashMap<>();
+
+    /**
+     * Retries waiting on the timer
+     */
+    private final Map<AsyncTask<?,?>, HashedWheelTimer.Timeout> retryTimers = new ConcurrentHashMap<>();
 
     private LogWrapper logWrapper;
 
@@ -127,26 +203,26 @@ public class TaskLoader<Param,Result> {
 
     private String ruleName;
 
-    /**
-     * The Any condition prox.
-     */
-    public Map<TaskActuator<Param,Result>, Boolean> anyConditionProx = new ConcurrentHashMap();
-
     /**
      * Instantiates a new Task loader.
      *
      * @param ruleName        the rule name
-     * @param executorService the executor service
-     * @param processMap      the process map
+     * @param profile         the runtime profile of the rule
+     * @param plan            the compiled plan
      * @param timeout         the timeout
      */
-    TaskLoader(String ruleName, ExecutorService executorService, Map<AsyncTask<?,?>, TaskActuator<?,?>> processMap,
-               long timeout) {
+    TaskLoader(String ruleName, RuleProfile profile, TaskPlan plan, long timeout) {
         this.ruleName = ruleName;
-        this.executorService = executorService;
-        this.processMap = processMap;
+        this.profile = profile;
+        this.executorService = profile.getExecutor();
+        this.plan = plan;
+        this.pendings = new AtomicIntegerArray(plan.newDependencies());
+        this.states = new AtomicIntegerArray(plan.size());
+        this.skips = plan.hasJoin() ? new AtomicIntegerArray(plan.size()) : null;
         completeLatch = new CountDownLatch(1);
         this.processTimeout = timeout;
+        this.deadline = timeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout) : 0;
+        this.synchronous = profile.isSynchronous() || plan.cheap(profile.getInlineThreshold());
     }
 
     /**
@@ -160,30 +236,13 @@ public class TaskLoader<Param,Result> {
          * 获取任务链初始任务
          */
         AsyncResult result;
-        List<TaskActuator<?,?>> begins = getBeginProcess();
+        TaskSupport support = taskSupport;
+        callerThread = Thread.currentThread();
         try {
 
-            /**
-             * 可选任务
-             */
-            begins = preOptimal(begins);
-            /**
-             * 并发开始执行每条任务链
-             */
-            for (TaskActuator<?,?> process : begins) {
-                /**
-                 * Start the thread to perform tasks without any dependencies
-                 * Thread reuse
-                 */
-                if (begins.size() == 1 && reusing(process)) {
-                    process.call();
-                } else {
-                    startProcess(process);
-                }
-            }
+            begin(support, true);
             // wait
-            waitIfNecessary();
-            result = back(begins);
+            result = waitIfNecessary(support);
             return postProcess(result);
         } catch (Exception exception) {
             if (excludeInterceptException(exception)) {
@@ -196,6 +255,183 @@ public class TaskLoader<Param,Result> {
     }
 
 
+    /**
+     * Load the flow without blocking the caller.
+     * 非阻塞加载 由执行终止节点的线程完成 future 流程超时由定时器处理
+     *
+     * @return the completable future
+     */
+    CompletableFuture<AsyncResult> loadAsync() {
+        CompletableFuture<AsyncResult> future = new CompletableFuture<>();
+        this.completeFuture = future;
+        TaskSupport support = taskSupport;
+        if (processTimeout > 0) {
+            processTimer = profile.getTimer()
+                    .delay(this::expire, processTimeout);
+        }
+        try {
+            begin(support, false);
+        } catch (Exception exception) {
+            if (finished.compareAndSet(false, true)) {
+                cancelProcessTimer();
+                release();
+                future.completeExceptionally(exception);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * 启动每条任务链的初始节点
+     *
+     * @param support the support
+     * @param reuse   whether the caller thread can run a single begin task
+     */
+    private void begin(TaskSupport support, boolean reuse) throws Exception {
+        /**
+         * 可选任务
+         */
+        List<TaskActuator<?,?>> begins = preOptimal(plan.dispatchBegins());
+        /**
+         * 并发开始执行每条任务链
+         */
+        for (TaskActuator<?,?> process : begins) {
+            /**
+             * Start the thread to perform tasks without any dependencies
+             * Thread reuse
+             */
+            boolean last = process == begins.get(begins.size() - 1);
+            if (reuse && (begins.size() == 1 || synchronous || profile.isCallerHelps() && last) && reusing(process, callerThread)) {
+                process.call(support);
+            } else {
+                startProcess(process, support);
+            }
+        }
+    }
+
+    /**
+     * Complete the async flow exactly once.
+     */
+    private void asyncCompleted() {
+        CompletableFuture<AsyncResult> future = completeFuture;
+        if (future == null || !finished.compareAndSet(false, true)) {
+            return;
+        }
+        cancelProcessTimer();
+        try {
+            if (error != null && profile.isCatchable()) {
+                future.completeExceptionally(new GobrsAsyncException(error));
+            } else {
+                future.complete(postProcess(back(taskSupport)));
+            }
+        } catch (Exception exception) {
+            future.completeExceptionally(exception);
+        } finally {
+            release();
+            taskSupport = null;
+        }
+    }
+
+    /**
+     * The async flow times out.
+     */
+    private void asyncTimeout() {
+        CompletableFuture<AsyncResult> future = completeFuture;
+        if (!finished.compareAndSet(false, true)) {
+            return;
+        }
+        AsyncResult partial = profile.isPartialOnTimeout() ? partial(taskSupport) : null;
+        cancel();
+        release();
+        taskSupport = null;
+        if (partial != null) {
+            future.complete(postProcess(partial));
+        } else {
+            future.completeExceptionally(new AsyncTaskTimeoutException());
+        }
+    }
+
+    /**
+     * Deliver the result of every task to the listener while the flow is running.
+     *
+     * @param listener the listener
+     * @return the result stream, completed by the caller when the flow finishes
+     */
+    ResultStream listen(ResultListener listener) {
+        ResultStream stream = new ResultStream(listener, taskSupport.getExecutorService());
+        taskSupport.setStream(stream);
+        return stream;
+    }
+
+    /**
+     * 流程定时器到期 截止时间被推后时重新计时
+     */
+    private void expire() {
+        long deadline = this.deadline;
+        if (deadline == 0) {
+            return;
+        }
+        long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remaining > 0) {
+            processTimer = profile.getTimer().delay(this::expire, remaining);
+            return;
+        }
+        asyncTimeout();
+    }
+
+    /**
+     * Snapshot the results of an async flow for a caller that stops waiting, the flow keeps running.
+     * 合并执行的调用方超时 规则开启 partialOnTimeout 时返回此刻的部分结果
+     *
+     * @return the partial result, null if the flow has finished and its own result is delivered instead
+     */
+    AsyncResult snapshot() {
+        TaskSupport support = taskSupport;
+        if (support == null || finished.get()) {
+            return null;
+        }
+        return partial(support);
+    }
+
+    /**
+     * Extend the deadline of an async flow for a caller that joins it, the deadline never moves earlier.
+     * 已经开始执行的任务 其超时仍按加入前的截止时间计算
+     *
+     * @param timeout the timeout of the caller, 0 if the caller has no timeout
+     */
+    synchronized void extend(long timeout) {
+        long current = deadline;
+        if (current == 0) {
+            return;
+        }
+        long extended = timeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout) : 0;
+        if (extended != 0 && extended - current <= 0) {
+            return;
+        }
+        deadline = extended;
+        TaskSupport support = taskSupport;
+        if (support != null) {
+            support.setDeadline(extended);
+        }
+        if (extended == 0) {
+            cancelProcessTimer();
+        }
+    }
+
+    /**
+     * Abandon an async flow that no caller waits for any more, the flow is cancelled as if it had timed out.
+     */
+    void abandon() {
+        asyncTimeout();
+    }
+
+    private void cancelProcessTimer() {
+        HashedWheelTimer.Timeout timer = processTimer;
+        if (timer != null) {
+            timer.cancel();
+        }
+    }
+
     /**
      * 后置处理
      * 开启日志 error 级别
@@ -204,7 +440,7 @@ public class TaskLoader<Param,Result> {
      * @return
      */
     private AsyncResult postProcess(AsyncResult result) {
-        if (ConfigManager.Action.costLogabled(ruleName) && log.isErrorEnabled()) {
+        if (profile.isCostLogabled() && log.isErrorEnabled()) {
             String printContent = LogCreator.processLogs(logWrapper);
             log.info(printContent);
         }
@@ -220,7 +456,7 @@ public class TaskLoader<Param,Result> {
      */
     private List<TaskActuator<?,?>> preOptimal(List<TaskActuator<?,?>> begins) {
         if (!CollectionUtils.isEmpty(optionalTasks)) {
-            Optimal.ifOptimal(optionalTasks, processMap, assistantTask);
+            Optimal.ifOptimal(optionalTasks, this);
             Map<String, AsyncTask<?,?>> optMap = optionalTasks.stream().collect(Collectors.toMap(AsyncTask::getName, Function.identity()));
             begins = begins.stream().filter(x -> optMap.get(x.getTask().getName()) != null).collect(Collectors.toList());
         }
@@ -228,25 +464,54 @@ public class TaskLoader<Param,Result> {
     }
 
     /**
-     * 获取每条任务链的初始节点
+     * Release the number of dependent tasks
+     * 释放一个依赖任务
      *
-     * @return
+     * @param node the node id
+     * @return the remaining dependencies
      */
-    private ArrayList<TaskActuator<?,?>> getBeginProcess() {
-        ArrayList<TaskActuator<?,?>> beginsWith = new ArrayList<>(1);
-        for (TaskActuator<?,?> process : processMap.values()) {
-            if (!process.hasUnsatisfiedDependcies()) {
-                beginsWith.add(process);
-            }
-        }
-        return beginsWith;
+    int releasingDependency(int node) {
+        return pendings.decrementAndGet(node);
+    }
+
+    /**
+     * Gets tasks without any dependencies
+     * 是否还有自身所依赖的任务
+     *
+     * @param node the node id
+     * @return boolean boolean
+     */
+    boolean hasUnsatisfiedDependcies(int node) {
+        return pendings.get(node) != 0;
+    }
+
+    /**
+     * Reset the dependencies of a node.
+     *
+     * @param node     the node id
+     * @param depends the depends
+     */
+    void setDependencies(int node, int depends) {
+        pendings.set(node, depends);
+    }
+
+    /**
+     * anyCondition task and the terminal node are only triggered once
+     * anyCondition 任务与终止节点只允许触发一次
+     *
+     * @param node the node id
+     * @return true if the caller wins the trigger
+     */
+    boolean triggerOnce(int node) {
+        return states.compareAndSet(node, NODE_WAITING, NODE_TRIGGERED);
     }
 
     /**
      * Completed.
      */
     void completed() {
-        completeLatch.countDown();
+        countDown();
+        asyncCompleted();
     }
 
     /**
@@ -258,7 +523,10 @@ public class TaskLoader<Param,Result> {
         if (!excludeInterceptException(errorCallback.getThrowable())) {
             return;
         }
-        asyncExceptionInterceptor.exception(errorCallback);
+        AsyncTaskExceptionInterceptor interceptor = profile.getExceptionInterceptor();
+        if (interceptor != null) {
+            interceptor.exception(errorCallback);
+        }
     }
 
     /**
@@ -271,7 +539,9 @@ public class TaskLoader<Param,Result> {
 
         cancel();
 
-        completeLatch.countDown();
+        countDown();
+
+        asyncCompleted();
         /**
          * manual stopAsync  com.gobrs.async.exception  is null
          */
@@ -282,7 +552,10 @@ public class TaskLoader<Param,Result> {
             if (!excludeInterceptException(errorCallback.getThrowable())) {
                 return;
             }
-            asyncExceptionInterceptor.exception(errorCallback);
+            AsyncTaskExceptionInterceptor interceptor = profile.getExceptionInterceptor();
+            if (interceptor != null) {
+                interceptor.exception(errorCallback);
+            }
         }
     }
 
@@ -293,7 +566,10 @@ public class TaskLoader<Param,Result> {
      * @param taskName taskName
      */
     public void preInterceptor(Param p, String taskName) {
-        asyncTaskPreInterceptor.preProcess(p, taskName);
+        AsyncTaskPreInterceptor interceptor = profile.getPreInterceptor();
+        if (interceptor != null) {
+            interceptor.preProcess(p, taskName);
+        }
     }
 
     /**
@@ -303,225 +579,499 @@ public class TaskLoader<Param,Result> {
      * @param taskName taskName
      */
     public void postInterceptor(Result param, String taskName) {
-        asyncTaskPostInterceptor.postProcess(param, taskName);
+        AsyncTaskPostInterceptor interceptor = profile.getPostInterceptor();
+        if (interceptor != null) {
+            interceptor.postProcess(param, taskName);
+        }
     }
 
+    /**
+     * 先置取消标记 再遍历已登记的任务
+     * startProcess 先登记再检查标记 所以任何一个任务要么在这里被取消 要么在启动时发现已取消
+     */
     private void cancel() {
-        taskLock.lock();
-        try {
-            canceled = true;
-            Set<Map.Entry<AsyncTask<?,?>, Future<?>>> entries =
-                    futureTasksMap.entrySet();
-            boolean interruptionImmediate = ConfigManager.getRule(ruleName).isInterruptionImmediate();
-            for (Map.Entry<AsyncTask<?,?>, Future<?>> entry : entries) {
-                entry.getValue().cancel(interruptionImmediate);
+        canceled = true;
+        cancelRetries();
+        boolean interruptionImmediate = profile.isInterruptionImmediate();
+        int cancelled = 0;
+        for (Future<?> future : futureTasksMap.values()) {
+            if (future.cancel(interruptionImmediate)) {
+                cancelled++;
             }
-        } finally {
-            taskLock.unlock();
         }
+        /**
+         * 取消的任务仍在线程池队列中 累计到一定数量后统一清理
+         */
+        int purged = profile.getPurger().cancelled(cancelled);
+        if (purged > 0) {
+            profile.getMetrics().purged(purged);
+        }
+    }
 
+    /**
+     * Whether the flow has finished: completed, interrupted or canceled.
+     *
+     * @return the boolean
+     */
+    boolean isFinished() {
+        return canceled || completeLatch.getCount() == 0;
     }
 
     /**
      * The main process interrupts and waits for the task to flow
      * 主线程等待
      */
-    private void waitIfNecessary() {
+    private AsyncResult waitIfNecessary(TaskSupport support) {
         try {
-            if (processTimeout > 0) {
-                if (!completeLatch.await(processTimeout, TimeUnit.MILLISECONDS)) {
-                    cancel();
-                    throw new AsyncTaskTimeoutException();
+            if (!awaitCompleted()) {
+                /**
+                 * 返回已完成任务的结果 代替超时异常
+                 * 快照先于取消 被中断的任务随后写入的异常结果不会出现在快照中
+                 */
+                AsyncResult partial = profile.isPartialOnTimeout() ? partial(support) : null;
+                cancel();
+                if (partial != null) {
+                    return partial;
                 }
-            } else {
-                completeLatch.await();
+                throw new AsyncTaskTimeoutException();
             }
-            GobrsAsyncRule rule = ConfigManager.getRule(ruleName);
-            if (error != null && rule.isCatchable()) {
+            if (error != null && profile.isCatchable()) {
                 throw new GobrsAsyncException(error);
             }
+            return back(support);
         } catch (InterruptedException e) {
             throw new GobrsAsyncException(e);
         }
     }
 
+    private boolean awaitCompleted() throws InterruptedException {
+        if (profile.isCallerHelps()) {
+            return help();
+        }
+        if (processTimeout > 0) {
+            return completeLatch.await(processTimeout, TimeUnit.MILLISECONDS);
+        }
+        completeLatch.await();
+        return true;
+    }
+
+    /**
+     * Caller helps
+     * 调用线程等待期间执行本流程就绪的任务 直到终止节点触发; 调用线程忙碌时就绪任务照常交给线程池
+     *
+     * @return false if the flow times out
+     */
+    private boolean help() throws InterruptedException {
+        try {
+            for (; ; ) {
+                helping.set(CALLER_IDLE);
+                Object task;
+                while ((task = helping.get()) == CALLER_IDLE) {
+                    if (completeLatch.getCount() == 0) {
+                        return true;
+                    }
+                    long deadline = this.deadline;
+                    if (deadline != 0) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            return false;
+                        }
+                        LockSupport.parkNanos(this, remaining);
+                    } else {
+                        LockSupport.park(this);
+                    }
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+                helping.set(null);
+                ((Runnable) task).run();
+                /**
+                 * exclusive 等场景取消任务时会中断执行线程
+                 */
+                Thread.interrupted();
+            }
+        } finally {
+            Object left = helping.getAndSet(null);
+            if (left instanceof Runnable) {
+                executorService.execute((Runnable) left);
+            }
+        }
+    }
+
+    private void countDown() {
+        completeLatch.countDown();
+        if (profile.isCallerHelps()) {
+            LockSupport.unpark(callerThread);
+        }
+    }
+
     private void release() {
         futureTasksMap.clear();
+        /**
+         * 流程结束 取消所有尚未到期的任务超时监听
+         */
+        for (Reference<GobrsTimer.TimerListener> reference : timerListeners.values()) {
+            reference.clear();
+        }
         timerListeners.clear();
+        cancelRetries();
+    }
+
+    private void cancelRetries() {
+        for (HashedWheelTimer.Timeout timeout : retryTimers.values()) {
+            timeout.cancel();
+        }
+        retryTimers.clear();
     }
 
 
     /**
-     * Gets process.
+     * Start process.
+     * 开启线程执行任务
      *
-     * @param asyncTask the async task
-     * @return the process
+     * @param taskActuator the task actuator
+     * @param support      the support
      */
-    TaskActuator<?,?> getProcess(AsyncTask<?,?> asyncTask) {
-        return processMap.get(asyncTask);
+    void startProcess(TaskActuator taskActuator, TaskSupport support) {
+        /**
+         * The flow has been canceled, reject new tasks
+         */
+        if (canceled) {
+            return;
+        }
+        Future<?> future = start(taskActuator, support);
+        /**
+         * Canceled while the task was being registered
+         */
+        if (canceled) {
+            future.cancel(profile.isInterruptionImmediate());
+        }
     }
 
     /**
-     * Start process.
-     * 开启线程执行任务
+     * Watch the task running on the current thread.
+     * 任务超时由看门狗看守当前线程 不再单独提交 GobrsFutureTask 任务可以复用父任务线程
+     * https://async.sizegang.cn/pages/2f8gmn/
      *
      * @param taskActuator the task actuator
+     * @param onTimeout    continue the flow on behalf of the timed out task
+     * @return the task watchdog, null if the task has no timeout
      */
-    void startProcess(TaskActuator taskActuator) {
-        if (processTimeout > 0 || ConfigManager.getRule(ruleName).isTaskInterrupt()) {
-            /**
-             * If you need to interrupt then you need to save all the task threads and you need to manipulate shared variables
-             */
-            try {
-                taskLock.lock();
-                if (!canceled) {
-                    taskListenerConditional(taskActuator);
-                }
-
-            } finally {
-                taskLock.unlock();
+    TaskWatchdog watch(TaskActuator<?,?> taskActuator, Runnable onTimeout) {
+        AsyncTask<?, ?> task = taskActuator.task;
+        boolean bestEffort = task.isBestEffort();
+        int timeout = bestEffort && task.getBestEffortBudget() > TASK_TIME_OUT ? task.getBestEffortBudget() : task.getTimeoutInMilliseconds();
+        /**
+         * 没有预算的尽力而为任务 以流程截止时间为预算
+         */
+        if (timeout <= TASK_TIME_OUT && !(bestEffort && deadline != 0)) {
+            return null;
+        }
+        /**
+         * 单任务超时不超过流程剩余时间; 由流程截止时间触发时 调用方已按流程超时处理 只停止任务 不再继续后续流程
+         * 尽力而为的任务除外 截止时间到达时照常释放子任务 (partialOnTimeout 的结果中记为 TIMEOUT)
+         */
+        Runnable expired = () -> executorService.execute(onTimeout);
+        long remaining = remaining();
+        if (timeout <= TASK_TIME_OUT || remaining < timeout) {
+            timeout = (int) Math.max(remaining, 1);
+            if (!bestEffort) {
+                expired = () -> {
+                };
             }
-        } else {
-            /**
-             * Run the command without setting the timeout period
-             */
-            taskListenerConditional(taskActuator);
         }
+        /**
+         * 调用线程上不会执行超时任务 其余线程都是线程池线程 可以强制停止
+         */
+        TaskWatchdog watchdog = new TaskWatchdog(timeout, Thread.currentThread() != callerThread, expired);
+        Reference<GobrsTimer.TimerListener> tl = profile.getTimer().addTimerListener(watchdog);
+        timerListeners.put(taskActuator.getTask(), tl);
+        return watchdog;
     }
 
-    private Future<?> taskListenerConditional(TaskActuator taskActuator) {
-        if (taskActuator.task.getTimeoutInMilliseconds() > DefaultConfig.TASK_TIME_OUT) {
-            return timeOperator(taskActuator);
+    /**
+     * Stop watching the task, does nothing if the task has been watched again by a retry.
+     *
+     * @param taskActuator the task actuator
+     * @param watchdog     the task watchdog
+     */
+    void unwatch(TaskActuator<?,?> taskActuator, TaskWatchdog watchdog) {
+        if (watchdog == null) {
+            return;
+        }
+        Reference<GobrsTimer.TimerListener> tl = timerListeners.get(taskActuator.getTask());
+        if (tl != null && tl.get() == watchdog && timerListeners.remove(taskActuator.getTask(), tl)) {
+            tl.clear();
         }
-        Future<?> future = start(taskActuator);
-        return future;
     }
 
     /**
-     * https://async.sizegang.cn/pages/2f8gmn/
+     * Retry the task after the delay.
+     * 重试由定时器调度 等待期间不占用任何线程
      *
-     * @param taskActuator
-     * @return
+     * @param taskActuator the task actuator
+     * @param support      the support
+     * @param delay        the delay in milliseconds
      */
-    private Future<?> timeOperator(TaskActuator taskActuator) {
-        Callable<?> callable = threadAdapterSPI(taskActuator);
-        GobrsFutureTask<?> future = new GobrsFutureTask<>(callable);
-        executorService.submit(future);
-        GobrsTimer.TimerListener listener = new GobrsTimer.TimerListener() {
-            @Override
-            public void tick() {
-                try {
-                    doTick();
-                } catch (Exception exception) {
-                    future.cancel(true);
-                }
-            }
+    void retry(TaskActuator<?,?> taskActuator, TaskSupport support, long delay) {
+        if (delay <= 0) {
+            startProcess(taskActuator, support);
+            return;
+        }
+        AsyncTask<?,?> task = taskActuator.getTask();
+        HashedWheelTimer.Timeout timeout = profile.getTimer()
+                .delay(() -> {
+                    retryTimers.remove(task);
+                    startProcess(taskActuator, support);
+                }, delay);
+        retryTimers.put(task, timeout);
+        /**
+         * Canceled while the retry was being registered
+         */
+        if (canceled) {
+            timeout.cancel();
+        }
+    }
 
-            /**
-             * adjust interrupt
-             * @return
-             */
-            private void doTick() {
-                boolean b = !future.isDone() && taskActuator.taskStatus().compareAndSet(TASK_INITIALIZE, TASK_TIMEOUT);
-                if (b) {
-                    try {
-                        future.get(0, TimeUnit.MILLISECONDS);
-                    } catch (Exception e) {
-                        future.isMayStopIfRunning(true);
-                    }
-                }
-            }
+    /**
+     * Whether the flow still runs synchronously.
+     *
+     * @return the boolean
+     */
+    boolean isSynchronous() {
+        return synchronous;
+    }
 
-            @Override
-            public int getIntervalTimeInMilliseconds() {
-                return taskActuator.task.getTimeoutInMilliseconds();
-            }
-        };
+    /**
+     * A task of the synchronous flow ran longer than expected, the rest of the flow runs in parallel.
+     * 已在当前线程上执行的任务不受影响 之后就绪的任务照常提交线程池
+     */
+    void fallback() {
+        synchronous = false;
+    }
 
-        Reference<GobrsTimer.TimerListener> tl = GobrsTimer.getInstance(ConfigManager.getGlobalConfig().getTimeoutCoreSize()).addTimerListener(listener);
-        timerListeners.put(taskActuator.getTask().getClass(), tl);
-        futureTasksMap.put(taskActuator.task, future);
-        return future;
+    /**
+     * Gets deadline.
+     *
+     * @return the flow deadline (System.nanoTime), 0 if the flow has no timeout
+     */
+    long getDeadline() {
+        return deadline;
     }
 
-    private Future<?> start(TaskActuator<?,?> taskActuator) {
-        Callable<?> callable = threadAdapterSPI(taskActuator);
-        Future<?> future = executorService.submit(callable);
+    /**
+     * Remaining time of the flow.
+     *
+     * @return the remaining time in milliseconds, Long.MAX_VALUE if the flow has no timeout
+     */
+    long remaining() {
+        if (deadline == 0) {
+            return Long.MAX_VALUE;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+    }
+
+    private Future<?> start(TaskActuator<?,?> taskActuator, TaskSupport support) {
+        Callable<?> callable = threadAdapterSPI(taskActuator, support);
+        Future<?> future = handOff(taskActuator, callable);
+        if (future == null) {
+            future = executorService.submit(callable);
+        }
         futureTasksMap.put(taskActuator.task, future);
         return future;
     }
 
+    /**
+     * Hand the task off to the idle caller thread
+     * 超时任务不在调用线程上执行
+     *
+     * @param taskActuator
+     * @param callable
+     * @return the future, null if the caller does not accept the task
+     */
+    private Future<?> handOff(TaskActuator<?,?> taskActuator, Callable<?> callable) {
+        if (!profile.isCallerHelps() || helping.get() != CALLER_IDLE
+                || taskActuator.task.getTimeoutInMilliseconds() != TASK_TIME_OUT) {
+            return null;
+        }
+        FutureTask<?> task = new FutureTask<>(callable);
+        if (!helping.compareAndSet(CALLER_IDLE, task)) {
+            return null;
+        }
+        LockSupport.unpark(callerThread);
+        return task;
+    }
+
     /**
      * 线程 适配 SPI
      *
      * @param taskActuator
+     * @param support
      * @return
      */
-    private Callable<?> threadAdapterSPI(TaskActuator taskActuator) {
-        ThreadWapper threadWapper = ExtensionLoader.getExtensionLoader(ThreadWapper.class).getRealLizesFirst();
-        return Objects.isNull(threadWapper) ? taskActuator : threadWapper.wrapper(taskActuator);
+    private Callable<?> threadAdapterSPI(TaskActuator taskActuator, TaskSupport support) {
+        Callable<Object> callable = () -> {
+            try {
+                return taskActuator.call(support);
+            } catch (ThreadDeath death) {
+                /**
+                 * force stopped by the task watchdog
+                 */
+                return null;
+            }
+        };
+        ThreadWapper threadWapper = profile.getThreadWapper();
+        return Objects.isNull(threadWapper) ? callable : threadWapper.wrapper(callable);
     }
 
     /**
      * End of single mission line
-     * 结束单条任务链
+     * 结束单条任务链 跳过该节点的所有后代任务
+     * <p>
+     * 迭代遍历, 每个后代节点最多被标记一次, 工作量与节点数成正比而不是路径数;
+     * any 汇聚节点只有在所有父任务都被跳过后才会被跳过;
+     * 终止节点的依赖按被跳过的叶子节点数量一次性释放。
      *
-     * @param subtasks the subtasks
+     * @param node    the node whose subtasks are stopped
+     * @param support the support
      * @throws Exception the exception
      */
-    public void stopSingleTaskLine(List<AsyncTask<?,?>> subtasks) throws Exception {
-        TaskActuator<?,?> taskActuator = processMap.get(assistantTask);
-        for (AsyncTask<?,?> subtask : subtasks) {
-            rtDept(subtask, taskActuator);
+    public void stopSingleTaskLine(int node, TaskSupport support) throws Exception {
+        int terminal = plan.terminal();
+        int[] stack = new int[plan.size()];
+        int top = 0;
+        int released = 0;
+        int current = node;
+        for (; ; ) {
+            for (int i = plan.childFrom(current); i < plan.childTo(current); i++) {
+                int child = plan.child(i);
+                if (child == terminal) {
+                    released++;
+                } else if (skip(child)) {
+                    stack[top++] = child;
+                }
+            }
+            if (top == 0) {
+                break;
+            }
+            current = stack[--top];
+        }
+        if (released > 0 && pendings.addAndGet(terminal, -released) == 0) {
+            plan.actuator(terminal).call(support);
         }
     }
 
-
     /**
-     * Rt dept.
+     * Mark the node skipped
      *
-     * @param task            task
-     * @param terminationTask the terminationTask
-     * @throws Exception the exception
+     * @param node the node
+     * @return true if the caller skips the node
      */
-    public void rtDept(AsyncTask<?,?> task, TaskActuator terminationTask) throws Exception {
-        if (task instanceof TaskTrigger.AssistantTask) {
-            terminationTask.releasingDependency();
-            if (!terminationTask.hasUnsatisfiedDependcies()) {
-                terminationTask.call();
-            }
-            return;
+    private boolean skip(int node) {
+        if (plan.join(node) && skips.incrementAndGet(node) < plan.parentCount(node)) {
+            return false;
         }
-        stopSingleTaskLine(processMap.get(task).subTasks);
+        return states.compareAndSet(node, NODE_WAITING, NODE_SKIPPED);
     }
 
 
     /**
-     * Get the task Bus
+     * Compensate the ancestors of a failed node.
+     * 事务补偿 同一流程中多次失败时 已回滚的祖先任务不再重复回滚
      *
-     * @param begins Collection of subtask processes
-     * @return
+     * @param node    the failed node
+     * @param support the support
      */
-    private TaskSupport getSupport(List<TaskActuator<?,?>> begins) {
-        return begins.get(0).getTaskSupport();
+    synchronized void compensate(int node, TaskSupport support) {
+        if (compensated == null) {
+            compensated = new AtomicIntegerArray(plan.size());
+        }
+        CompletableFuture<RollbackResult> result = new Compensation(plan, node, compensated, support).start();
+        CompletableFuture<RollbackResult> previous = rollback;
+        rollback = previous == null ? result : previous.thenCombine(result, RollbackResult::merge);
     }
 
     /**
      * Encapsulate return parameter
      *
-     * @param begins
+     * @param support
      * @return
      */
-    private AsyncResult back(List<TaskActuator<?,?>> begins) {
-        TaskSupport support = getSupport(begins);
+    private AsyncResult back(TaskSupport support) {
         AsyncResult asyncResult = new AsyncResult();
         asyncResult.setResultMap(support.getResultMap());
         asyncResult.setExecuteCode(expCode.get());
         asyncResult.setCusCode(cusCode);
-        asyncResult.setStatus(support.getResultMap().values().stream().allMatch(r -> r.getResultState().equals(ResultState.SUCCESS)));
+        asyncResult.setRollback(rollback);
+        asyncResult.setStatus(succeeded(support.getResultMap()));
+        return asyncResult;
+    }
+
+    /**
+     * 所有任务执行成功 尽力而为任务的超时不算失败
+     *
+     * @param results
+     * @return
+     */
+    private boolean succeeded(TaskResultSlots results) {
+        for (int node = 0; node < results.length(); node++) {
+            TaskResult result = results.get(node);
+            if (result == null || results.name(node) == null || ResultState.SUCCESS.equals(result.getResultState())) {
+                continue;
+            }
+            if (!ResultState.TIMEOUT.equals(result.getResultState()) || !plan.actuator(node).task.isBestEffort()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 流程超时 已完成任务的结果照常返回 未完成的任务结果状态为 TIMEOUT
+     * 结果是超时时刻的快照 超时后才完成的任务不会改变它
+     *
+     * @param support
+     * @return
+     */
+    private AsyncResult partial(TaskSupport support) {
+        TaskResultSlots completed = support.getResultMap();
+        TaskResultSlots results = plan.newResults();
+        for (int node = 0; node < completed.length(); node++) {
+            TaskResult result = completed.get(node);
+            if (result == null && completed.name(node) != null
+                    && (optionalTasks == null || optionalTasks.contains(plan.actuator(node).task))) {
+                result = new TaskResult<>(null, ResultState.TIMEOUT);
+            }
+            results.set(node, result);
+        }
+        AsyncResult asyncResult = new AsyncResult();
+        asyncResult.setResultMap(results);
+        asyncResult.setExecuteCode(ExpState.TIMEOUT.getCode());
+        asyncResult.setCusCode(cusCode);
+        asyncResult.setRollback(rollback);
+        asyncResult.setStatus(false);
         return asyncResult;
     }
 
+    /**
+     * Gets runtime profile of the rule.
+     *
+     * @return the profile
+     */
+    public RuleProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Gets caller thread.
+     *
+     * @return the caller thread
+     */
+    public Thread getCallerThread() {
+        return callerThread;
+    }
+
     /**
      * Gets exp code.
      *
@@ -635,7 +1185,7 @@ public class TaskLoader<Param,Result> {
      *
      * @return the timer listeners
      */
-    public Map<Class<?>, Reference<GobrsTimer.TimerListener>> getTimerListeners() {
+    public Map<AsyncTask<?,?>, Reference<GobrsTimer.TimerListener>> getTimerListeners() {
         return timerListeners;
     }
 
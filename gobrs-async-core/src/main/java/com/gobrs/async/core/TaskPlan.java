@@ -0,0 +1,530 @@
+package com.gobrs.async.core;
+
+import com.gobrs.async.core.common.def.DefaultConfig;
+import com.gobrs.async.core.common.domain.TaskResultSlots;
+import com.gobrs.async.core.task.AsyncTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The type Task plan.
+ * 规则编译后的不可变执行计划
+ * <p>
+ * 规则加载时将任务依赖图编译一次: 节点按拓扑顺序分配整数编号, 子任务/父任务以 CSR 结构存储在连续数组中,
+ * 同时预先计算好每个节点的依赖数量、起始节点与终止节点。
+ * 每次请求只需要复制一份依赖计数数组, 不再 clone 任何 TaskActuator。
+ * 任务结果与任务状态同样以节点编号为下标保存在请求级数组中。
+ * 关键路径优先的调度顺序也是计划的一部分: 重新估算时生成一份新的计划(共享编译好的依赖图), 由规则整体替换。
+ *
+ * @program: gobrs -async
+ * @ClassName TaskPlan
+ * @description: Compiled, immutable execution plan of a rule
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+class TaskPlan {
+
+    /**
+     * node id -> actuator
+     */
+    private final TaskActuator<?, ?>[] actuators;
+
+    /**
+     * CSR offsets of children, children of node i are children[childIndex[i]] ... children[childIndex[i + 1] - 1]
+     */
+    private final int[] childIndex;
+
+    private final int[] children;
+
+    /**
+     * CSR offsets of parents
+     */
+    private final int[] parentIndex;
+
+    private final int[] parents;
+
+    /**
+     * Upstream dependent quantity of each node when a flow starts
+     */
+    private final int[] dependencies;
+
+    /**
+     * any / anyCondition nodes with more than one parent, they can still run while some parents are skipped
+     */
+    private final boolean[] joins;
+
+    private final boolean anyJoin;
+
+    /**
+     * Tasks without any dependencies
+     */
+    private final List<TaskActuator<?, ?>> begins;
+
+    /**
+     * Termination node id
+     */
+    private final int terminal;
+
+    private final Map<AsyncTask<?, ?>, TaskActuator<?, ?>> index;
+
+    /**
+     * Children in dispatch order, same layout as children
+     * 开启关键路径优先时 每个节点的子任务按剩余关键路径从长到短排列 最长的一个移到最后(复用当前线程)
+     */
+    private final int[] dispatch;
+
+    private final List<TaskActuator<?, ?>> dispatchBegins;
+
+    /**
+     * Remaining critical path of every node in nanoseconds, estimated from the moving average costs
+     */
+    private final long[] priorities;
+
+    /**
+     * node id -> task name, null for the terminal node
+     */
+    private final String[] names;
+
+    /**
+     * task name -> node id
+     */
+    private final Map<String, Integer> nodes;
+
+    /**
+     * Compile the task graph.
+     *
+     * @param downTasksMap   subtasks of every task, leaf tasks point to the assistant task
+     * @param upwardTasksMap parent tasks of every task
+     * @param assistantTask  the assistant task
+     */
+    TaskPlan(Map<AsyncTask<?, ?>, List<AsyncTask<?, ?>>> downTasksMap,
+             Map<AsyncTask<?, ?>, List<AsyncTask<?, ?>>> upwardTasksMap,
+             AsyncTask<?, ?> assistantTask) {
+
+        List<AsyncTask<?, ?>> order = topologicalOrder(downTasksMap, upwardTasksMap, assistantTask);
+
+        int size = order.size();
+        IdentityHashMap<AsyncTask<?, ?>, Integer> ids = new IdentityHashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            ids.put(order.get(i), i);
+        }
+
+        this.childIndex = new int[size + 1];
+        this.parentIndex = new int[size + 1];
+        this.children = link(order, downTasksMap, ids, childIndex);
+        this.parents = link(order, upwardTasksMap, ids, parentIndex);
+        this.terminal = ids.get(assistantTask);
+        this.dependencies = new int[size];
+        this.actuators = new TaskActuator[size];
+        this.names = new String[size];
+        this.joins = new boolean[size];
+        boolean hasJoin = false;
+        Map<String, Integer> nodeIndex = new HashMap<>(size * 2);
+
+        IdentityHashMap<AsyncTask<?, ?>, TaskActuator<?, ?>> actuatorIndex = new IdentityHashMap<>(size);
+        List<TaskActuator<?, ?>> beginsWith = new ArrayList<>(1);
+        for (int i = 0; i < size; i++) {
+            AsyncTask task = order.get(i);
+            TaskActuator<?, ?> actuator;
+            if (i != terminal) {
+                int upDepend = circularDependency(task, upwardTasksMap) ? 0 : upwardTasksMap.get(task).size();
+                dependencies[i] = upDepend > 1 & task.isAny() ? 1 : upDepend;
+                actuator = new TaskActuator<>(task, i, this);
+                names[i] = task.getName();
+                joins[i] = (task.isAny() || task.isAnyCondition()) && parentCount(i) > 1;
+                hasJoin |= joins[i];
+                if (task.getName() != null) {
+                    nodeIndex.putIfAbsent(task.getName(), i);
+                }
+            } else {
+                /**
+                 * completely  and  Termination of the task
+                 */
+                dependencies[i] = upwardTasksMap.get(task).size();
+                actuator = new TaskTrigger.TerminationTask<>(task, i, this);
+            }
+            actuators[i] = actuator;
+            actuatorIndex.put(task, actuator);
+            if (dependencies[i] == 0) {
+                beginsWith.add(actuator);
+            }
+        }
+        this.anyJoin = hasJoin;
+        this.begins = Collections.unmodifiableList(beginsWith);
+        this.dispatch = children;
+        this.dispatchBegins = begins;
+        this.priorities = new long[size];
+        this.index = Collections.unmodifiableMap(actuatorIndex);
+        this.nodes = Collections.unmodifiableMap(nodeIndex);
+    }
+
+    /**
+     * A plan sharing the compiled graph of another plan, with its own dispatch order.
+     *
+     * @param plan           the compiled plan
+     * @param dispatch       children in dispatch order
+     * @param dispatchBegins begins in dispatch order
+     * @param priorities     remaining critical path of every node
+     */
+    private TaskPlan(TaskPlan plan, int[] dispatch, List<TaskActuator<?, ?>> dispatchBegins, long[] priorities) {
+        this.actuators = plan.actuators;
+        this.childIndex = plan.childIndex;
+        this.children = plan.children;
+        this.parentIndex = plan.parentIndex;
+        this.parents = plan.parents;
+        this.dependencies = plan.dependencies;
+        this.joins = plan.joins;
+        this.anyJoin = plan.anyJoin;
+        this.begins = plan.begins;
+        this.terminal = plan.terminal;
+        this.index = plan.index;
+        this.names = plan.names;
+        this.nodes = plan.nodes;
+        this.dispatch = dispatch;
+        this.dispatchBegins = dispatchBegins;
+        this.priorities = priorities;
+    }
+
+    /**
+     * Kahn 拓扑排序, 环上的节点按原顺序追加在最后, 终止节点永远是最后一个节点
+     */
+    private static List<AsyncTask<?, ?>> topologicalOrder(Map<AsyncTask<?, ?>, List<AsyncTask<?, ?>>> downTasksMap,
+                                                          Map<AsyncTask<?, ?>, List<AsyncTask<?, ?>>> upwardTasksMap,
+                                                          AsyncTask<?, ?> assistantTask) {
+        IdentityHashMap<AsyncTask<?, ?>, Integer> inDegrees = new IdentityHashMap<>(downTasksMap.size());
+        Deque<AsyncTask<?, ?>> ready = new ArrayDeque<>();
+        for (AsyncTask<?, ?> task : downTasksMap.keySet()) {
+            int degree = circularDependency(task, upwardTasksMap) ? 0 : upwardTasksMap.get(task).size();
+            inDegrees.put(task, degree);
+            if (degree == 0 && task != assistantTask) {
+                ready.add(task);
+            }
+        }
+        List<AsyncTask<?, ?>> order = new ArrayList<>(downTasksMap.size());
+        IdentityHashMap<AsyncTask<?, ?>, Boolean> visited = new IdentityHashMap<>(downTasksMap.size());
+        while (!ready.isEmpty()) {
+            AsyncTask<?, ?> task = ready.poll();
+            order.add(task);
+            visited.put(task, Boolean.TRUE);
+            for (AsyncTask<?, ?> sub : downTasksMap.get(task)) {
+                int degree = inDegrees.get(sub) - 1;
+                inDegrees.put(sub, degree);
+                if (degree == 0 && sub != assistantTask && !visited.containsKey(sub)) {
+                    ready.add(sub);
+                }
+            }
+        }
+        for (AsyncTask<?, ?> task : downTasksMap.keySet()) {
+            if (!visited.containsKey(task) && task != assistantTask) {
+                order.add(task);
+            }
+        }
+        order.add(assistantTask);
+        return order;
+    }
+
+    private static boolean circularDependency(AsyncTask<?, ?> task, Map<AsyncTask<?, ?>, List<AsyncTask<?, ?>>> upwardTasksMap) {
+        for (AsyncTask<?, ?> up : upwardTasksMap.get(task)) {
+            if (up.getName() != null && up.getName().equals(task.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] link(List<AsyncTask<?, ?>> order, Map<AsyncTask<?, ?>, List<AsyncTask<?, ?>>> edges,
+                              IdentityHashMap<AsyncTask<?, ?>, Integer> ids, int[] offsets) {
+        int total = 0;
+        for (int i = 0; i < order.size(); i++) {
+            offsets[i] = total;
+            total += edges.get(order.get(i)).size();
+        }
+        offsets[order.size()] = total;
+        int[] linked = new int[total];
+        for (int i = 0; i < order.size(); i++) {
+            int cursor = offsets[i];
+            for (AsyncTask<?, ?> task : edges.get(order.get(i))) {
+                linked[cursor++] = ids.get(task);
+            }
+        }
+        return linked;
+    }
+
+    /**
+     * Number of nodes.
+     *
+     * @return the int
+     */
+    int size() {
+        return actuators.length;
+    }
+
+    /**
+     * Actuator of a node.
+     *
+     * @param node the node
+     * @return the task actuator
+     */
+    TaskActuator<?, ?> actuator(int node) {
+        return actuators[node];
+    }
+
+    /**
+     * Actuator of a task.
+     *
+     * @param task the task
+     * @return the task actuator
+     */
+    TaskActuator<?, ?> actuator(AsyncTask<?, ?> task) {
+        return index.get(task);
+    }
+
+    /**
+     * First child offset of a node.
+     *
+     * @param node the node
+     * @return the int
+     */
+    int childFrom(int node) {
+        return childIndex[node];
+    }
+
+    /**
+     * Child offset end (exclusive) of a node.
+     *
+     * @param node the node
+     * @return the int
+     */
+    int childTo(int node) {
+        return childIndex[node + 1];
+    }
+
+    /**
+     * Child node at the offset.
+     *
+     * @param offset the offset
+     * @return the int
+     */
+    int child(int offset) {
+        return children[offset];
+    }
+
+    /**
+     * First parent offset of a node.
+     *
+     * @param node the node
+     * @return the int
+     */
+    int parentFrom(int node) {
+        return parentIndex[node];
+    }
+
+    /**
+     * Parent offset end (exclusive) of a node.
+     *
+     * @param node the node
+     * @return the int
+     */
+    int parentTo(int node) {
+        return parentIndex[node + 1];
+    }
+
+    /**
+     * Parent node at the offset.
+     *
+     * @param offset the offset
+     * @return the int
+     */
+    int parent(int offset) {
+        return parents[offset];
+    }
+
+    /**
+     * Parent count of a node.
+     *
+     * @param node the node
+     * @return the int
+     */
+    int parentCount(int node) {
+        return parentIndex[node + 1] - parentIndex[node];
+    }
+
+    /**
+     * Whether the node is an any / anyCondition task with more than one parent.
+     *
+     * @param node the node
+     * @return the boolean
+     */
+    boolean join(int node) {
+        return joins[node];
+    }
+
+    /**
+     * Whether the plan has any join node.
+     *
+     * @return the boolean
+     */
+    boolean hasJoin() {
+        return anyJoin;
+    }
+
+    /**
+     * Whether any subtask of the node depends on more than one task.
+     *
+     * @param node the node
+     * @return the boolean
+     */
+    boolean multipleDependencies(int node) {
+        for (int i = childIndex[node]; i < childIndex[node + 1]; i++) {
+            if (parentCount(children[i]) > 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Initial dependency counters, every flow works on its own copy.
+     *
+     * @return the int [ ]
+     */
+    int[] newDependencies() {
+        return dependencies.clone();
+    }
+
+    /**
+     * Result slots of a flow, indexed by node id.
+     *
+     * @return the task result slots
+     */
+    TaskResultSlots newResults() {
+        return new TaskResultSlots(names, nodes);
+    }
+
+    /**
+     * Whether the rule is tiny and every task is measured cheaper than the threshold.
+     * 任务数量很少且每个任务都很轻 整个流程可以在调用线程上同步执行
+     *
+     * @param threshold the threshold in nanoseconds, 0 if disabled
+     * @return the boolean
+     */
+    boolean cheap(long threshold) {
+        if (threshold <= 0 || actuators.length - 1 > DefaultConfig.SYNCHRONOUS_MAX_TASKS) {
+            return false;
+        }
+        for (int i = 0; i < actuators.length; i++) {
+            if (i != terminal && !actuators[i].cheap(threshold)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Re-estimate the critical path priorities, the plan itself is not changed.
+     * 剩余关键路径 = 自身耗时 + 子任务中最长的剩余关键路径, 按逆拓扑序一次遍历求出
+     *
+     * @return a plan sharing the compiled graph, with children and begins in the new dispatch order
+     */
+    TaskPlan prioritized() {
+        int size = actuators.length;
+        long[] paths = new long[size];
+        for (int i = size - 1; i >= 0; i--) {
+            long longest = 0;
+            for (int c = childIndex[i]; c < childIndex[i + 1]; c++) {
+                /**
+                 * 环上的子任务编号不大于自身 忽略
+                 */
+                if (children[c] > i) {
+                    longest = Math.max(longest, paths[children[c]]);
+                }
+            }
+            paths[i] = actuators[i].cost() + longest;
+        }
+        int[] ordered = new int[children.length];
+        for (int i = 0; i < size; i++) {
+            int from = childIndex[i];
+            int to = childIndex[i + 1];
+            List<Integer> segment = new ArrayList<>(to - from);
+            for (int c = from; c < to; c++) {
+                segment.add(children[c]);
+            }
+            for (Integer child : byPriority(segment, paths)) {
+                ordered[from++] = child;
+            }
+        }
+        List<Integer> beginNodes = new ArrayList<>(begins.size());
+        for (TaskActuator<?, ?> begin : begins) {
+            beginNodes.add(begin.id);
+        }
+        List<TaskActuator<?, ?>> orderedBegins = new ArrayList<>(begins.size());
+        for (Integer node : byPriority(beginNodes, paths)) {
+            orderedBegins.add(actuators[node]);
+        }
+        return new TaskPlan(this, ordered, Collections.unmodifiableList(orderedBegins), paths);
+    }
+
+    /**
+     * 剩余关键路径从长到短(稳定排序) 最长的一个移到最后
+     */
+    private static List<Integer> byPriority(List<Integer> nodes, long[] paths) {
+        if (nodes.size() > 1) {
+            nodes.sort((a, b) -> Long.compare(paths[b], paths[a]));
+            nodes.add(nodes.remove(0));
+        }
+        return nodes;
+    }
+
+    /**
+     * Children in dispatch order, indexed like {@link #child(int)}.
+     *
+     * @return the int [ ]
+     */
+    int[] dispatch() {
+        return dispatch;
+    }
+
+    /**
+     * Begins in dispatch order.
+     *
+     * @return the list
+     */
+    List<TaskActuator<?, ?>> dispatchBegins() {
+        return dispatchBegins;
+    }
+
+    /**
+     * Remaining critical path of a node.
+     *
+     * @param node the node
+     * @return the estimated remaining critical path in nanoseconds, 0 before the first estimate
+     */
+    long priority(int node) {
+        return priorities[node];
+    }
+
+    /**
+     * Begins list.
+     *
+     * @return the list
+     */
+    List<TaskActuator<?, ?>> begins() {
+        return begins;
+    }
+
+    /**
+     * Terminal node id.
+     *
+     * @return the int
+     */
+    int terminal() {
+        return terminal;
+    }
+}
@@ -2,16 +2,18 @@ package com.gobrs.async.core;
 
 import com.gobrs.async.core.common.domain.AsyncParam;
 import com.gobrs.async.core.common.domain.TaskResult;
+import com.gobrs.async.core.common.domain.TaskResultSlots;
 import com.gobrs.async.core.common.domain.TaskStatus;
+import com.gobrs.async.core.config.RuleProfile;
 import com.gobrs.async.core.log.LogWrapper;
 import com.gobrs.async.core.task.AsyncTask;
 import lombok.Data;
 import lombok.experimental.Accessors;
 
 import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
  * The type Task support.
@@ -38,6 +40,11 @@ public class TaskSupport {
      */
     private String ruleName;
 
+    /**
+     * 规则运行时配置
+     */
+    private RuleProfile profile;
+
     /**
      * 执行线程池
      * The Executor service.
@@ -58,20 +65,59 @@ public class TaskSupport {
 
     /**
      * Task result encapsulation
-     * 任务结果
+     * 任务结果 以节点编号为下标, 同时是按任务名访问的 Map 视图
      */
-    private Map<String, TaskResult> resultMap = new ConcurrentHashMap<>();
+    private final TaskResultSlots resultMap;
 
-    private Map<String, TaskStatus> taskStatus = new ConcurrentHashMap<>();
+    /**
+     * the status of every task (TASK_INITIALIZE,TASK_FINISH,TASK_TIMEOUT), indexed by node id
+     */
+    private final AtomicIntegerArray taskStatus;
 
     /**
-     * Gets status.
+     * the retryCounts of every task, indexed by node id
+     */
+    private final AtomicIntegerArray retryCounts;
+
+    /**
+     * the start time (System.nanoTime) of the first execution of every task, used by the max retry elapsed time
+     * 只在任务首次执行时写入, 重试经由线程池或定时器重新提交, 天然可见
+     */
+    private final long[] startTimes;
+
+    /**
+     * 流程截止时间 (System.nanoTime), 0 表示流程不限时
+     * 调用方在截止时间之后不再等待结果, 任务可以据此向下游调用传递剩余时间
+     */
+    private volatile long deadline;
+
+    /**
+     * 结果推送 调用方注册了监听器时不为 null
+     */
+    private volatile ResultStream stream;
+
+    /**
+     * Instantiates a new Task support without any task.
+     */
+    public TaskSupport() {
+        this(TaskResultSlots.empty());
+    }
+
+    /**
+     * Instantiates a new Task support for a compiled plan.
      *
-     * @param taskName the task name
-     * @return the status
+     * @param plan the plan
      */
-    public TaskStatus getStatus(String taskName) {
-        return taskStatus.computeIfAbsent(taskName, TaskStatus::new);
+    TaskSupport(TaskPlan plan) {
+        this(plan.newResults());
+    }
+
+    private TaskSupport(TaskResultSlots results) {
+        int size = results.length();
+        this.resultMap = results;
+        this.taskStatus = new AtomicIntegerArray(size);
+        this.retryCounts = new AtomicIntegerArray(size);
+        this.startTimes = new long[size];
     }
 
     /**
@@ -86,6 +132,140 @@ public class TaskSupport {
         return (T) resultMap.get(taskName).getResult();
     }
 
+    /**
+     * Gets task result of a node.
+     *
+     * @param node the node id
+     * @return the task result, null if the task has no result yet
+     */
+    public TaskResult getTaskResult(int node) {
+        return resultMap.get(node);
+    }
+
+    /**
+     * Sets task result of a node.
+     *
+     * @param node   the node id
+     * @param result the result
+     */
+    public void setTaskResult(int node, TaskResult result) {
+        resultMap.set(node, result);
+        ResultStream resultStream = stream;
+        if (resultStream != null && resultMap.name(node) != null) {
+            resultStream.result(resultMap.name(node), result);
+        }
+    }
+
+    /**
+     * Gets status of a node.
+     *
+     * @param node the node id
+     * @return the status (TASK_INITIALIZE,TASK_FINISH,TASK_TIMEOUT)
+     */
+    public int getStatus(int node) {
+        return taskStatus.get(node);
+    }
+
+    /**
+     * Gets node id of a task.
+     *
+     * @param taskName the task name
+     * @return the node id, -1 if the task is not in the rule
+     */
+    public int node(String taskName) {
+        return resultMap.node(taskName);
+    }
+
+    /**
+     * Gets status.
+     * 返回节点状态的视图 读写直接作用于本流程的状态数组
+     *
+     * @param taskName the task name
+     * @return the status, not attached to the flow if the task is not in the rule
+     * @deprecated use {@link #getStatus(int)} and {@link #compareAndSetStatus(int, int, int)} with {@link #node(String)}
+     */
+    @Deprecated
+    public TaskStatus getStatus(String taskName) {
+        int node = resultMap.node(taskName);
+        if (node < 0) {
+            return new TaskStatus(taskName);
+        }
+        return new TaskStatus(taskName, taskStatus, retryCounts, startTimes, node);
+    }
+
+    /**
+     * change task status
+     *
+     * @param node   the node id
+     * @param expect the expect
+     * @param update the update
+     * @return the boolean
+     */
+    public boolean compareAndSetStatus(int node, int expect, int update) {
+        return taskStatus.compareAndSet(node, expect, update);
+    }
+
+    /**
+     * Gets retry counts of a node.
+     *
+     * @param node the node id
+     * @return the retry counts
+     */
+    public int getRetryCounts(int node) {
+        return retryCounts.get(node);
+    }
+
+    /**
+     * Increment retry counts of a node.
+     *
+     * @param node the node id
+     * @return the retry counts after increment
+     */
+    public int incrementRetryCounts(int node) {
+        return retryCounts.incrementAndGet(node);
+    }
+
+    /**
+     * Gets start time of the first execution of a node.
+     *
+     * @param node the node id
+     * @return the start time (System.nanoTime)
+     */
+    public long getStartTime(int node) {
+        return startTimes[node];
+    }
+
+    /**
+     * Sets start time of the first execution of a node.
+     *
+     * @param node      the node id
+     * @param startTime the start time (System.nanoTime)
+     */
+    public void setStartTime(int node, long startTime) {
+        startTimes[node] = startTime;
+    }
+
+    /**
+     * Remaining time of the flow.
+     *
+     * @return the remaining time in milliseconds, Long.MAX_VALUE if the flow has no timeout
+     */
+    public long remaining() {
+        if (deadline == 0) {
+            return Long.MAX_VALUE;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+    }
+
+    /**
+     * Whether the deadline of the flow has passed.
+     *
+     * @return the boolean
+     */
+    public boolean expired() {
+        return deadline != 0 && deadline - System.nanoTime() <= 0;
+    }
+
     /**
      * Gets param.
      *
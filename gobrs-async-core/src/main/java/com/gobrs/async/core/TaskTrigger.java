@@ -1,22 +1,20 @@
 package com.gobrs.async.core;
 
+import com.gobrs.async.core.common.def.DefaultConfig;
 import com.gobrs.async.core.common.domain.AsyncParam;
 import com.gobrs.async.core.common.util.SystemClock;
 import com.gobrs.async.core.common.util.UUIDGenerator;
-import com.gobrs.async.core.config.ConfigManager;
+import com.gobrs.async.core.config.RuleProfile;
 import com.gobrs.async.core.holder.BeanHolder;
 import com.gobrs.async.core.log.LogWrapper;
 import com.gobrs.async.core.task.AsyncTask;
 import com.gobrs.async.core.threadpool.GobrsAsyncThreadPoolFactory;
-import com.gobrs.async.core.common.util.JsonUtil;
+import com.gobrs.async.core.timer.GobrsTimer;
 import com.gobrs.async.core.log.TraceUtil;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.stream.Collectors;
 
 import static com.gobrs.async.core.common.def.FixSave.LOGGER_PLUGIN;
 
@@ -35,9 +33,15 @@ class TaskTrigger<P> {
 
     private GobrsAsyncThreadPoolFactory threadPoolFactory = BeanHolder.getBean(GobrsAsyncThreadPoolFactory.class);
 
-    private Map<AsyncTask<?, ?>, TaskActuator> prepareTaskMap = Collections.synchronizedMap(new IdentityHashMap<>());
+    /**
+     * 编译好的执行计划 规则加载时构建一次 所有请求共享
+     */
+    private volatile TaskPlan taskPlan;
 
-    private Map<AsyncTask<?, ?>, TaskActuator> prepareTaskMapWrite = new IdentityHashMap<>();
+    /**
+     * 规则运行时配置快照 规则加载时构建 线程池变更时重建
+     */
+    private volatile RuleProfile profile;
 
     private String ruleName;
 
@@ -46,11 +50,6 @@ class TaskTrigger<P> {
      */
     public AssistantTask assistantTask;
 
-    /**
-     * The Upward tasks map space.
-     */
-    public static Map<String, Map<AsyncTask<?, ?>, List<AsyncTask<?, ?>>>> upwardTasksMapSpace = new ConcurrentHashMap<>();
-
     /**
      * Instantiates a new Task trigger.
      *
@@ -109,43 +108,51 @@ class TaskTrigger<P> {
 
         downTasksMap.put(assistantTask, new ArrayList<>(0));
         upwardTasksMap.put(assistantTask, noSubtasks);
-        upwardTasksMapSpace.put(ruleName, upwardTasksMap);
-        clear();
-        for (AsyncTask<?, ?> task : downTasksMap.keySet()) {
-            TaskActuator process;
-            if (task != assistantTask) {
-                List<AsyncTask<?, ?>> circularDependency = upwardTasksMap.get(task).stream()
-                        .filter(x -> x.getName().equals(task.getName())).collect(Collectors.toList());
-                int upDepend = 0;
-                if (circularDependency.size() == 0) {
-                    upDepend = upwardTasksMap.get(task).size();
-                }
-                /**
-                 * Each business com.gobrs.async.com.gobrs.async.test.task is executed using a new taskActuator
-                 */
-                process = new TaskActuator(task, upDepend, downTasksMap.get(task), upwardTasksMap);
-            } else {
-                /***
-                 * completely  and  Termination of the com.gobrs.async.com.gobrs.async.test.task
-                 */
-                process = new TerminationTask(task, upwardTasksMap.get(task).size(), downTasksMap.get(task));
-            }
-            prepareTaskMapWrite.put(task, process);
-        }
+
         /**
-         * 读写分离
+         * 编译为不可变执行计划 读写分离
          */
-        prepareTaskMap = prepareTaskMapWrite;
-//        if (logger.isInfoEnabled()) {
-//            logger.info("prepareTaskMap build success {}", JsonUtil.obj2String(prepareTaskMap));
-//        }
+        taskPlan = new TaskPlan(downTasksMap, upwardTasksMap, assistantTask);
+
+        profile = resolveProfile();
+
+        if (profile.isCriticalPath()) {
+            PlanRefresher.schedule(this);
+        }
     }
 
     /**
-     * 清空写配置缓存
+     * 在定时器上定期重新估算关键路径 生成新的执行计划后整体替换 请求线程只读取计划
+     * 定时任务只弱引用规则触发器 规则被重新加载后旧的触发器被回收 定时任务随之停止
      */
-    private void clear() {
-        prepareTaskMapWrite.clear();
+    private static final class PlanRefresher implements Runnable {
+
+        private final WeakReference<TaskTrigger> trigger;
+
+        private final GobrsTimer timer;
+
+        private PlanRefresher(TaskTrigger trigger, GobrsTimer timer) {
+            this.trigger = new WeakReference<>(trigger);
+            this.timer = timer;
+        }
+
+        static void schedule(TaskTrigger trigger) {
+            GobrsTimer timer = trigger.profile.getTimer();
+            timer.delay(new PlanRefresher(trigger, timer), DefaultConfig.PRIORITY_REFRESH);
+        }
+
+        @Override
+        public void run() {
+            TaskTrigger current = trigger.get();
+            if (current == null) {
+                return;
+            }
+            try {
+                current.taskPlan = current.taskPlan.prioritized();
+            } finally {
+                timer.delay(this, DefaultConfig.PRIORITY_REFRESH);
+            }
+        }
     }
 
     private Map<AsyncTask<?, ?>, List<AsyncTask<?, ?>>> copyDependTasks(Map<AsyncTask<?, ?>, List<AsyncTask<?, ?>>> handlerMap) {
@@ -185,7 +192,7 @@ class TaskTrigger<P> {
      * 触发任务加载 环境准备
      * 链路日志
      * 线程池配置
-     * 从缓存好的预加载配置中 clone副本 浅clone 只备份基本类型
+     * 共享编译好的执行计划 每个请求只持有自己的依赖计数
      *
      * @param param         the param
      * @param timeout       the timeout
@@ -194,29 +201,18 @@ class TaskTrigger<P> {
      */
     TaskLoader trigger(AsyncParam<P> param, long timeout, Set<String> optionalTasks) {
 
-        IdentityHashMap<AsyncTask<?, ?>, TaskActuator> newProcessMap = new IdentityHashMap<>(prepareTaskMap.size());
+        TaskPlan plan = taskPlan;
         /**
          * Create a com.gobrs.async.com.gobrs.async.test.task loader, A com.gobrs.async.com.gobrs.async.test.task flow corresponds to a taskLoader
          */
 
-        ExecutorService threadPoolExecutor = getThreadPoolExecutor(ruleName);
-
-        TaskLoader loader = new TaskLoader(ruleName, threadPoolExecutor, newProcessMap, timeout);
+        RuleProfile ruleProfile = profile();
 
-        TaskSupport support = related(param, loader, threadPoolExecutor);
+        TaskLoader loader = new TaskLoader(ruleName, ruleProfile, plan, timeout);
 
-        for (AsyncTask<?, ?> task : prepareTaskMap.keySet()) {
-            /**
-             * clone Process for Thread isolation
-             */
-            TaskActuator processor = (TaskActuator) prepareTaskMap.get(task).clone();
+        related(param, loader, ruleProfile);
 
-            processor.init(support, param);
-
-            newProcessMap.put(task, processor);
-        }
-
-        Optimal.doOptimal(optionalTasks, loader, upwardTasksMapSpace.get(ruleName));
+        Optimal.doOptimal(optionalTasks, loader, plan);
 
         return loader;
     }
@@ -230,17 +226,21 @@ class TaskTrigger<P> {
      * @param loader
      * @return
      */
-    private TaskSupport related(AsyncParam<P> param, TaskLoader loader, ExecutorService executorService) {
+    private TaskSupport related(AsyncParam<P> param, TaskLoader loader, RuleProfile ruleProfile) {
 
-        TaskSupport support = getSupport(param);
+        TaskSupport support = getSupport(param, loader.plan);
+
+        support.setProfile(ruleProfile);
 
         support.setTaskLoader(loader);
 
+        support.setDeadline(loader.getDeadline());
+
         logAdvance(support);
 
         loader.setAssistantTask(assistantTask);
 
-        support.setExecutorService(executorService);
+        support.setExecutorService(ruleProfile.getExecutor());
 
         loader.taskSupport = support;
 
@@ -248,6 +248,24 @@ class TaskTrigger<P> {
     }
 
 
+    /**
+     * 运行时配置 线程池被动态替换后重新解析
+     *
+     * @return
+     */
+    RuleProfile profile() {
+        RuleProfile ruleProfile = profile;
+        if (ruleProfile.getExecutorVersion() != threadPoolFactory.getVersion()) {
+            ruleProfile = profile = resolveProfile();
+        }
+        return ruleProfile;
+    }
+
+    private RuleProfile resolveProfile() {
+        long version = threadPoolFactory.getVersion();
+        return RuleProfile.resolve(ruleName, getThreadPoolExecutor(ruleName), version);
+    }
+
     /**
      * 获取线程池
      *
@@ -266,25 +284,29 @@ class TaskTrigger<P> {
      * 终止任务 在整个任务流程结束后 会调用该任务类执行 completed()
      * Task flow End tasks
      */
-    private class TerminationTask<P, R> extends TaskActuator {
+    static class TerminationTask<P, R> extends TaskActuator<P, R> {
 
         /**
          * com.gobrs.async.com.gobrs.async.test.task executor
          *
-         * @param handler       the handler
-         * @param depdending    The number of tasks to depend on
-         * @param dependedTasks Array of dependent tasks
+         * @param handler the handler
+         * @param id      the node id
+         * @param plan    the plan
          */
-        TerminationTask(AsyncTask<P, R> handler, int depdending, List<AsyncTask<?, ?>> dependedTasks) {
-            super(handler, depdending, dependedTasks);
+        TerminationTask(AsyncTask<P, R> handler, int id, TaskPlan plan) {
+            super(handler, id, plan);
         }
 
         /**
          * Task completion interrupt the main thread blocks
+         * 终止节点只触发一次
          */
         @Override
-        public Object call() {
-            support.taskLoader.completed();
+        Object call(TaskSupport support) {
+            TaskLoader taskLoader = support.getTaskLoader();
+            if (taskLoader.triggerOnce(id)) {
+                taskLoader.completed();
+            }
             return null;
         }
     }
@@ -312,8 +334,8 @@ class TaskTrigger<P> {
      * @param param
      * @return
      */
-    private TaskSupport getSupport(AsyncParam param) {
-        return new TaskSupport().
+    private TaskSupport getSupport(AsyncParam param, TaskPlan plan) {
+        return new TaskSupport(plan).
                 setParam(param)
                 .setRuleName(ruleName);
     }
@@ -331,7 +353,7 @@ class TaskTrigger<P> {
             traceId = UUIDGenerator.generateUUID();
             TraceUtil.set(traceId);
         }
-        boolean costLogabled = ConfigManager.Action.costLogabled(ruleName);
+        boolean costLogabled = support.getProfile().isCostLogabled();
         if (costLogabled) {
             LogWrapper.TimeCollector timeCollector =
                     LogWrapper.TimeCollector.builder()
@@ -1,6 +1,9 @@
 package com.gobrs.async.core.anno;
 
+import com.gobrs.async.core.cache.CacheKey;
 import com.gobrs.async.core.common.def.DefaultConfig;
+import com.gobrs.async.core.common.enums.CacheEviction;
+import com.gobrs.async.core.common.enums.RetryBackoff;
 import org.apache.logging.log4j.util.Strings;
 
 import java.lang.annotation.ElementType;
@@ -26,6 +29,27 @@ public @interface MethodConfig {
      */
     int retryCount() default DefaultConfig.RETRY_COUNT;
 
+    /**
+     * Retry backoff, FIXED EXPONENTIAL or JITTER
+     *
+     * @return the retry backoff
+     */
+    RetryBackoff retryBackoff() default RetryBackoff.FIXED;
+
+    /**
+     * 重试间隔 单位 ms 默认立即重试 重试通过定时器调度 等待期间不占用线程
+     *
+     * @return long long
+     */
+    long retryDelay() default DefaultConfig.RETRY_DELAY;
+
+    /**
+     * 从首次执行开始允许重试的最大时长 单位 ms 默认不限制
+     *
+     * @return long long
+     */
+    long retryMaxElapsed() default DefaultConfig.RETRY_MAX_ELAPSED;
+
     /**
      * 执行服务节点时允许的最大等待时间。默认为 -1 代表不设置超时时间，一直等待
      *
@@ -53,4 +77,53 @@ public @interface MethodConfig {
      * @return boolean boolean
      */
     boolean failSubExec() default false;
+
+    /**
+     * 对冲执行 适用于幂等的读任务: 任务在延迟之后仍未完成时 再发起一次执行 先完成的结果生效 另一次执行被取消
+     *
+     * @return boolean boolean
+     */
+    boolean hedge() default false;
+
+    /**
+     * 对冲延迟 单位 ms 默认 0 取任务历史耗时的 p95
+     *
+     * @return long long
+     */
+    long hedgeDelay() default DefaultConfig.HEDGE_DELAY;
+
+    /**
+     * 跨请求缓存任务结果 适用于结果只由参数决定的查询任务(配置、字典等): 命中时不再执行任务 直接释放子任务
+     *
+     * @return boolean boolean
+     */
+    boolean cacheable() default false;
+
+    /**
+     * 缓存 key 提取器 需要无参构造 默认以任务参数为 key
+     *
+     * @return the class
+     */
+    Class<? extends CacheKey> cacheKey() default CacheKey.class;
+
+    /**
+     * 缓存时间 单位 ms 0 不过期
+     *
+     * @return long long
+     */
+    long cacheTtl() default DefaultConfig.CACHE_TTL;
+
+    /**
+     * 最多缓存的结果数
+     *
+     * @return int int
+     */
+    int cacheSize() default DefaultConfig.CACHE_SIZE;
+
+    /**
+     * 淘汰策略
+     *
+     * @return the cache eviction
+     */
+    CacheEviction cacheEviction() default CacheEviction.TINY_LFU;
 }
@@ -0,0 +1,45 @@
+package com.gobrs.async.core.cache;
+
+import org.springframework.beans.BeanUtils;
+
+/**
+ * The interface Cache key.
+ * 任务结果缓存的 key 提取器 从任务参数中取出决定任务结果的部分
+ * 返回 null 时本次执行不走缓存
+ *
+ * @param <Param> the type parameter
+ * @program: gobrs -async
+ * @ClassName CacheKey
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@FunctionalInterface
+public interface CacheKey<Param> {
+
+    /**
+     * 默认以任务参数本身为 key
+     */
+    CacheKey<Object> PARAMETER = param -> param;
+
+    /**
+     * Extract the cache key.
+     *
+     * @param param the task parameter
+     * @return the key, null if the result must not be cached
+     */
+    Object key(Param param);
+
+    /**
+     * Instantiate the key extractor configured on a task.
+     *
+     * @param type the extractor type, {@link CacheKey} itself for the parameter
+     * @return the cache key
+     */
+    static CacheKey<?> of(Class<? extends CacheKey> type) {
+        if (type == null || type.isInterface()) {
+            return PARAMETER;
+        }
+        return BeanUtils.instantiateClass(type);
+    }
+}
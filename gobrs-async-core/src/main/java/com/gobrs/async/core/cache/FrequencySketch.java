@@ -0,0 +1,89 @@
+package com.gobrs.async.core.cache;
+
+/**
+ * The type Frequency sketch.
+ * Count-Min Sketch 近似统计 key 的访问频率 每个计数器上限 15
+ * 累计记录数达到 10 倍宽度时所有计数器减半, 旧的热点逐渐失去优势
+ *
+ * @program: gobrs -async
+ * @ClassName FrequencySketch
+ * @description: Aging count-min sketch used by the TinyLFU admission
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+final class FrequencySketch {
+
+    private static final int DEPTH = 4;
+
+    private static final int MAX_COUNT = 15;
+
+    private static final int[] SEEDS = {0x97CB3127, 0xA5A5A5A5, 0x3C6EF372, 0x1B873593};
+
+    private final byte[] table;
+
+    private final int mask;
+
+    private final int sampleSize;
+
+    private int additions;
+
+    /**
+     * Instantiates a new Frequency sketch.
+     *
+     * @param maximumSize the maximum size of the cache
+     */
+    FrequencySketch(int maximumSize) {
+        int width = Integer.highestOneBit(Math.max(16, maximumSize - 1) << 1);
+        this.table = new byte[width * DEPTH];
+        this.mask = width - 1;
+        this.sampleSize = width * 10;
+    }
+
+    /**
+     * Record an access, only the minimum counters are incremented.
+     *
+     * @param hash the hash of the key
+     */
+    void increment(int hash) {
+        int min = frequency(hash);
+        if (min >= MAX_COUNT) {
+            return;
+        }
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(hash, row);
+            if (table[index] == min) {
+                table[index]++;
+            }
+        }
+        if (++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Estimated frequency.
+     *
+     * @param hash the hash of the key
+     * @return the frequency
+     */
+    int frequency(int hash) {
+        int min = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, table[index(hash, row)]);
+        }
+        return min;
+    }
+
+    private int index(int hash, int row) {
+        int h = (hash ^ SEEDS[row]) * 0x9E3779B9;
+        h ^= h >>> 16;
+        return row * (mask + 1) + (h & mask);
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] >>= 1;
+        }
+        additions >>= 1;
+    }
+}
@@ -1,5 +1,8 @@
 package com.gobrs.async.core.cache;
 
+import com.gobrs.async.core.common.enums.CacheEviction;
+import com.gobrs.async.core.task.AsyncTask;
+
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -43,4 +46,36 @@ public class GCacheManager {
         return CACHES.get(type);
     }
 
+    /**
+     * Create a result cache, the GCache registered for the eviction type is the prototype.
+     *
+     * @param <K>         the type parameter
+     * @param <V>         the type parameter
+     * @param eviction    the eviction
+     * @param maximumSize the maximum size
+     * @param ttl         the ttl in milliseconds
+     * @return the result cache
+     */
+    public <K, V> ResultCache<K, V> resultCache(CacheEviction eviction, int maximumSize, long ttl) {
+        GCache<?, ?, ?> prototype = CACHES.get(eviction.getType());
+        if (prototype instanceof ResultCache) {
+            return ((ResultCache<K, V>) prototype).create(maximumSize, ttl);
+        }
+        return eviction == CacheEviction.SLRU ? new SlruResultCache<>(maximumSize, ttl) : new TinyLfuResultCache<>(maximumSize, ttl);
+    }
+
+    /**
+     * 为开启结果缓存的任务创建缓存 任务在多个规则中出现时共用同一个缓存
+     *
+     * @param task     the task
+     * @param cacheKey the cache key extractor type
+     */
+    public void cacheable(AsyncTask<?, ?> task, Class<? extends CacheKey> cacheKey) {
+        if (!task.isCacheable() || task.getResultCache() != null) {
+            return;
+        }
+        task.setCacheKey(CacheKey.of(cacheKey));
+        task.setResultCache(resultCache(task.getCacheEviction(), task.getCacheSize(), task.getCacheTtl()));
+    }
+
 }
@@ -0,0 +1,189 @@
+package com.gobrs.async.core.cache;
+
+import com.gobrs.async.core.common.util.SystemClock;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The type Result cache.
+ * 任务结果缓存 跨请求复用任务结果, 容量有上限, 条目按 TTL 过期
+ * <p>
+ * 注册到 {@link GCacheManager} 的实例作为原型, 每个开启缓存的任务通过 {@link #create(int, long)} 创建自己的缓存。
+ * 淘汰策略由子类实现, 所有结构变更在缓存实例的锁内完成。
+ *
+ * @param <K> the type parameter
+ * @param <V> the type parameter
+ * @program: gobrs -async
+ * @ClassName ResultCache
+ * @description: Bounded, expiring cache of task results
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+public abstract class ResultCache<K, V> extends BaseCache<K, V, Map<K, V>> {
+
+    /**
+     * max entries
+     */
+    protected final int maximumSize;
+
+    /**
+     * time to live in milliseconds, 0 if entries never expire
+     */
+    protected final long ttl;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Instantiates a new Result cache.
+     *
+     * @param maximumSize the maximum size
+     * @param ttl         the ttl in milliseconds
+     */
+    protected ResultCache(int maximumSize, long ttl) {
+        this.maximumSize = Math.max(1, maximumSize);
+        this.ttl = ttl;
+    }
+
+    /**
+     * Create a cache of the same type.
+     *
+     * @param maximumSize the maximum size
+     * @param ttl         the ttl in milliseconds
+     * @return the result cache
+     */
+    public abstract ResultCache<K, V> create(int maximumSize, long ttl);
+
+    @Override
+    public V getCache(K k) {
+        V value = null;
+        synchronized (this) {
+            request(k);
+            Entry<V> entry = find(k);
+            if (entry != null) {
+                if (entry.expireAt > SystemClock.now()) {
+                    value = entry.value;
+                } else {
+                    drop(k);
+                }
+            }
+        }
+        (value == null ? misses : hits).increment();
+        return value;
+    }
+
+    /**
+     * null 结果不缓存
+     */
+    @Override
+    public void setCache(K k, V v) {
+        if (k == null || v == null) {
+            return;
+        }
+        long expireAt = ttl > 0 ? SystemClock.now() + ttl : Long.MAX_VALUE;
+        synchronized (this) {
+            Entry<V> entry = find(k);
+            if (entry != null) {
+                entry.value = v;
+                entry.expireAt = expireAt;
+            } else {
+                add(k, new Entry<>(v, expireAt));
+            }
+        }
+    }
+
+    /**
+     * Snapshot of the cached results.
+     *
+     * @return the map
+     */
+    @Override
+    public synchronized Map<K, V> instance() {
+        Map<K, V> snapshot = new HashMap<>();
+        collect(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Gets hits.
+     *
+     * @return the hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets misses.
+     *
+     * @return the misses, including expired entries
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of cached results.
+     *
+     * @return the size
+     */
+    public abstract int size();
+
+    /**
+     * A lookup of the key, called before {@link #find(Object)}.
+     *
+     * @param k the k
+     */
+    protected void request(K k) {
+    }
+
+    /**
+     * Find the entry of a key and record the access.
+     *
+     * @param k the k
+     * @return the entry, null if absent
+     */
+    protected abstract Entry<V> find(K k);
+
+    /**
+     * Add the entry of an absent key, evicting others when the cache is full.
+     *
+     * @param k     the k
+     * @param entry the entry
+     */
+    protected abstract void add(K k, Entry<V> entry);
+
+    /**
+     * Remove the entry of a key.
+     *
+     * @param k the k
+     */
+    protected abstract void drop(K k);
+
+    /**
+     * Copy the cached results.
+     *
+     * @param into the target
+     */
+    protected abstract void collect(Map<K, V> into);
+
+    /**
+     * The type Entry.
+     *
+     * @param <V> the type parameter
+     */
+    protected static final class Entry<V> {
+
+        V value;
+
+        long expireAt;
+
+        Entry(V value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+}
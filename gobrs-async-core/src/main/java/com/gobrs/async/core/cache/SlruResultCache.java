@@ -0,0 +1,158 @@
+package com.gobrs.async.core.cache;
+
+import com.gobrs.async.core.common.def.DefaultConfig;
+import com.gobrs.async.core.common.enums.GCacheEnum;
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The type Slru result cache.
+ * 分段 LRU 新结果进入试用区, 再次命中后晋升到保护区; 保护区满时最久未用的结果降回试用区
+ * 淘汰优先发生在试用区 只被访问过一次的结果不会挤掉反复命中的结果
+ *
+ * @param <K> the type parameter
+ * @param <V> the type parameter
+ * @program: gobrs -async
+ * @ClassName SlruResultCache
+ * @description: Segmented LRU task result cache
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+public class SlruResultCache<K, V> extends ResultCache<K, V> {
+
+    private static final int PROTECTED_PERCENT = 80;
+
+    /**
+     * capacity of probation and protected segments together
+     */
+    protected final int capacity;
+
+    private final int protectedCapacity;
+
+    private final LinkedHashMap<K, Entry<V>> probation = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LinkedHashMap<K, Entry<V>> protect = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Instantiates a new Slru result cache with the default size and ttl.
+     */
+    public SlruResultCache() {
+        this(DefaultConfig.CACHE_SIZE, DefaultConfig.CACHE_TTL);
+    }
+
+    /**
+     * Instantiates a new Slru result cache.
+     *
+     * @param maximumSize the maximum size
+     * @param ttl         the ttl in milliseconds
+     */
+    public SlruResultCache(int maximumSize, long ttl) {
+        this(maximumSize, ttl, maximumSize);
+    }
+
+    /**
+     * Instantiates a new Slru result cache.
+     *
+     * @param maximumSize the maximum size
+     * @param ttl         the ttl in milliseconds
+     * @param capacity    the capacity of the segments
+     */
+    protected SlruResultCache(int maximumSize, long ttl, int capacity) {
+        super(maximumSize, ttl);
+        this.capacity = Math.max(1, capacity);
+        this.protectedCapacity = Math.max(1, this.capacity * PROTECTED_PERCENT / 100);
+    }
+
+    @Override
+    public ResultCache<K, V> create(int maximumSize, long ttl) {
+        return new SlruResultCache<>(maximumSize, ttl);
+    }
+
+    @Override
+    public Integer getType() {
+        return GCacheEnum.RESULT_SLRU.getType();
+    }
+
+    @Override
+    public synchronized int size() {
+        return segments();
+    }
+
+    @Override
+    protected Entry<V> find(K k) {
+        Entry<V> entry = protect.get(k);
+        if (entry != null) {
+            return entry;
+        }
+        entry = probation.remove(k);
+        if (entry != null) {
+            /**
+             * 再次命中 晋升到保护区
+             */
+            protect.put(k, entry);
+            if (protect.size() > protectedCapacity) {
+                Map.Entry<K, Entry<V>> eldest = eldest(protect);
+                probation.put(eldest.getKey(), eldest.getValue());
+            }
+        }
+        return entry;
+    }
+
+    @Override
+    protected void add(K k, Entry<V> entry) {
+        probation.put(k, entry);
+        while (segments() > capacity) {
+            drop(victim());
+        }
+    }
+
+    @Override
+    protected void drop(K k) {
+        if (protect.remove(k) == null) {
+            probation.remove(k);
+        }
+    }
+
+    @Override
+    protected void collect(Map<K, V> into) {
+        probation.forEach((k, e) -> into.put(k, e.value));
+        protect.forEach((k, e) -> into.put(k, e.value));
+    }
+
+    /**
+     * Next key to evict, the least recently used of probation.
+     *
+     * @return the k
+     */
+    protected K victim() {
+        Map<K, Entry<V>> segment = probation.isEmpty() ? protect : probation;
+        return segment.keySet().iterator().next();
+    }
+
+    /**
+     * Number of entries in probation and protected segments.
+     *
+     * @return the int
+     */
+    protected int segments() {
+        return probation.size() + protect.size();
+    }
+
+    /**
+     * Remove the least recently used entry of a segment.
+     *
+     * @param segment the segment
+     * @param <K>     the type parameter
+     * @param <V>     the type parameter
+     * @return the entry
+     */
+    static <K, V> Map.Entry<K, V> eldest(LinkedHashMap<K, V> segment) {
+        Iterator<Map.Entry<K, V>> iterator = segment.entrySet().iterator();
+        Map.Entry<K, V> eldest = iterator.next();
+        iterator.remove();
+        return new AbstractMap.SimpleImmutableEntry<>(eldest);
+    }
+}
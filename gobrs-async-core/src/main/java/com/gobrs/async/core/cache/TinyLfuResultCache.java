@@ -0,0 +1,117 @@
+package com.gobrs.async.core.cache;
+
+import com.gobrs.async.core.common.def.DefaultConfig;
+import com.gobrs.async.core.common.enums.GCacheEnum;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The type Tiny lfu result cache.
+ * W-TinyLFU 新结果先进入容量 1% 的窗口 LRU, 被挤出窗口时与主区(分段 LRU)的淘汰候选比较近期访问频率,
+ * 频率更高者留下。频率由 {@link FrequencySketch} 近似统计, 样本达到上限后整体减半以适应热点变化。
+ *
+ * @param <K> the type parameter
+ * @param <V> the type parameter
+ * @program: gobrs -async
+ * @ClassName TinyLfuResultCache
+ * @description: W-TinyLFU task result cache
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+public class TinyLfuResultCache<K, V> extends SlruResultCache<K, V> {
+
+    private static final int WINDOW_PERCENT = 1;
+
+    private final int windowCapacity;
+
+    private final LinkedHashMap<K, Entry<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final FrequencySketch sketch;
+
+    /**
+     * Instantiates a new Tiny lfu result cache with the default size and ttl.
+     */
+    public TinyLfuResultCache() {
+        this(DefaultConfig.CACHE_SIZE, DefaultConfig.CACHE_TTL);
+    }
+
+    /**
+     * Instantiates a new Tiny lfu result cache.
+     *
+     * @param maximumSize the maximum size
+     * @param ttl         the ttl in milliseconds
+     */
+    public TinyLfuResultCache(int maximumSize, long ttl) {
+        this(maximumSize, ttl, Math.max(1, maximumSize * WINDOW_PERCENT / 100));
+    }
+
+    private TinyLfuResultCache(int maximumSize, long ttl, int windowCapacity) {
+        super(maximumSize, ttl, maximumSize - windowCapacity);
+        this.windowCapacity = windowCapacity;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    @Override
+    public ResultCache<K, V> create(int maximumSize, long ttl) {
+        return new TinyLfuResultCache<>(maximumSize, ttl);
+    }
+
+    @Override
+    public Integer getType() {
+        return GCacheEnum.RESULT_TINY_LFU.getType();
+    }
+
+    @Override
+    public synchronized int size() {
+        return window.size() + segments();
+    }
+
+    @Override
+    protected void request(K k) {
+        sketch.increment(k.hashCode());
+    }
+
+    @Override
+    protected Entry<V> find(K k) {
+        Entry<V> entry = window.get(k);
+        return entry != null ? entry : super.find(k);
+    }
+
+    @Override
+    protected void add(K k, Entry<V> entry) {
+        window.put(k, entry);
+        if (window.size() > windowCapacity) {
+            Map.Entry<K, Entry<V>> candidate = eldest(window);
+            admit(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    /**
+     * 主区已满时 只有比主区淘汰候选访问更频繁的结果才能进入主区
+     */
+    private void admit(K candidate, Entry<V> entry) {
+        if (segments() < capacity) {
+            super.add(candidate, entry);
+            return;
+        }
+        K victim = victim();
+        if (sketch.frequency(candidate.hashCode()) > sketch.frequency(victim.hashCode())) {
+            super.drop(victim);
+            super.add(candidate, entry);
+        }
+    }
+
+    @Override
+    protected void drop(K k) {
+        if (window.remove(k) == null) {
+            super.drop(k);
+        }
+    }
+
+    @Override
+    protected void collect(Map<K, V> into) {
+        super.collect(into);
+        window.forEach((k, e) -> into.put(k, e.value));
+    }
+}
@@ -0,0 +1,381 @@
+package com.gobrs.async.core.config;
+
+import com.gobrs.async.core.callback.AsyncTaskExceptionInterceptor;
+import com.gobrs.async.core.callback.AsyncTaskPostInterceptor;
+import com.gobrs.async.core.callback.AsyncTaskPreInterceptor;
+import com.gobrs.async.core.callback.DefaultAsyncExceptionInterceptor;
+import com.gobrs.async.core.callback.DefaultAsyncTaskPostInterceptor;
+import com.gobrs.async.core.callback.DefaultAsyncTaskPreInterceptor;
+import com.gobrs.async.core.common.def.DefaultConfig;
+import com.gobrs.async.core.RuleMetrics;
+import com.gobrs.async.core.holder.BeanHolder;
+import com.gobrs.async.core.threadpool.QueuePurger;
+import com.gobrs.async.core.timer.GobrsTimer;
+import com.gobrs.async.plugin.base.ThreadWapper;
+import com.gobrs.async.spi.ExtensionLoader;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Rule profile.
+ * 规则运行时配置快照 不可变
+ * <p>
+ * 规则加载时解析一次: 规则配置、全局配置、拦截器、线程包装 SPI、线程池。
+ * 执行过程中只读取快照字段, 不再查询 ConfigManager、BeanHolder 与 ExtensionLoader;
+ * 默认的空拦截器直接置为 null 跳过调用。规则热更新时整体替换快照。
+ *
+ * @program: gobrs -async
+ * @ClassName RuleProfile
+ * @description: Immutable runtime profile of a rule
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+public final class RuleProfile {
+
+    private final String ruleName;
+
+    private final boolean errLogabled;
+
+    private final boolean costLogabled;
+
+    private final boolean taskInterrupt;
+
+    private final boolean interruptionImmediate;
+
+    private final boolean catchable;
+
+    private final boolean transaction;
+
+    private final boolean paramContext;
+
+    /**
+     * timeout of a single compensating call in milliseconds
+     */
+    private final long rollbackTimeout;
+
+    /**
+     * the caller thread runs ready tasks while waiting for the flow
+     */
+    private final boolean callerHelps;
+
+    /**
+     * tasks cheaper than the threshold (nanoseconds) run inline, 0 if disabled
+     */
+    private final long inlineThreshold;
+
+    private final boolean synchronous;
+
+    private final boolean criticalPath;
+
+    private final boolean partialOnTimeout;
+
+    /**
+     * a synchronous flow falls back to parallel execution after a task runs longer (nanoseconds)
+     */
+    private final long synchronousThreshold;
+
+    /**
+     * null if the interceptor does nothing
+     */
+    private final AsyncTaskPreInterceptor preInterceptor;
+
+    private final AsyncTaskPostInterceptor postInterceptor;
+
+    private final AsyncTaskExceptionInterceptor exceptionInterceptor;
+
+    /**
+     * null if no ThreadWapper is provided
+     */
+    private final ThreadWapper threadWapper;
+
+    private final ExecutorService executor;
+
+    private final GobrsTimer timer;
+
+    private final QueuePurger purger;
+
+    private final RuleMetrics metrics;
+
+    /**
+     * Version of the thread pool factory the executor was resolved from
+     */
+    private final long executorVersion;
+
+    private RuleProfile(String ruleName, ExecutorService executor, long executorVersion) {
+        GobrsAsyncRule rule = ConfigManager.getRule(ruleName);
+        GobrsConfig config = ConfigManager.getGlobalConfig();
+        this.ruleName = ruleName;
+        this.errLogabled = rule == null || rule.getErrLogabled() == null ? DefaultConfig.ERR_LOGABLED : rule.getErrLogabled();
+        this.costLogabled = rule == null || rule.getCostLogabled() == null ? DefaultConfig.COST_LOGABLED : rule.getCostLogabled();
+        this.taskInterrupt = rule != null && rule.isTaskInterrupt();
+        this.interruptionImmediate = rule == null || rule.isInterruptionImmediate();
+        this.catchable = rule != null && rule.isCatchable();
+        this.transaction = rule != null && rule.isTransaction();
+        this.paramContext = config.isParamContext();
+        this.rollbackTimeout = rule == null ? DefaultConfig.ROLLBACK_TIMEOUT : rule.getRollbackTimeout();
+        this.callerHelps = rule != null && rule.isCallerHelps();
+        this.inlineThreshold = rule == null ? DefaultConfig.INLINE_THRESHOLD : TimeUnit.MICROSECONDS.toNanos(rule.getInlineThreshold());
+        this.synchronous = rule != null && rule.isSynchronous();
+        this.criticalPath = rule != null && rule.isCriticalPath();
+        this.partialOnTimeout = rule != null && rule.isPartialOnTimeout();
+        this.synchronousThreshold = inlineThreshold > 0 ? inlineThreshold : TimeUnit.MICROSECONDS.toNanos(DefaultConfig.SYNCHRONOUS_BLOCK_THRESHOLD);
+        this.preInterceptor = effective(BeanHolder.getBean(AsyncTaskPreInterceptor.class), DefaultAsyncTaskPreInterceptor.class);
+        this.postInterceptor = effective(BeanHolder.getBean(AsyncTaskPostInterceptor.class), DefaultAsyncTaskPostInterceptor.class);
+        this.exceptionInterceptor = effective(BeanHolder.getBean(AsyncTaskExceptionInterceptor.class), DefaultAsyncExceptionInterceptor.class);
+        this.threadWapper = ExtensionLoader.getExtensionLoader(ThreadWapper.class).getRealLizesFirst();
+        this.executor = executor;
+        this.executorVersion = executorVersion;
+        this.timer = GobrsTimer.getInstance(config.getTimeoutCoreSize());
+        this.purger = new QueuePurger(executor);
+        this.metrics = RuleMetrics.of(ruleName);
+    }
+
+    /**
+     * Resolve the profile of a rule.
+     *
+     * @param ruleName        the rule name
+     * @param executor        the executor of the rule
+     * @param executorVersion the thread pool factory version
+     * @return the rule profile
+     */
+    public static RuleProfile resolve(String ruleName, ExecutorService executor, long executorVersion) {
+        return new RuleProfile(ruleName, executor, executorVersion);
+    }
+
+    /**
+     * The default interceptors are empty, skip them
+     */
+    private static <T> T effective(T interceptor, Class<?> noop) {
+        if (Objects.isNull(interceptor) || interceptor.getClass() == noop) {
+            return null;
+        }
+        return interceptor;
+    }
+
+    /**
+     * Gets rule name.
+     *
+     * @return the rule name
+     */
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    /**
+     * Is err logabled boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isErrLogabled() {
+        return errLogabled;
+    }
+
+    /**
+     * Is cost logabled boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isCostLogabled() {
+        return costLogabled;
+    }
+
+    /**
+     * Is task interrupt boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isTaskInterrupt() {
+        return taskInterrupt;
+    }
+
+    /**
+     * Is interruption immediate boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isInterruptionImmediate() {
+        return interruptionImmediate;
+    }
+
+    /**
+     * Is catchable boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isCatchable() {
+        return catchable;
+    }
+
+    /**
+     * Is transaction boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isTransaction() {
+        return transaction;
+    }
+
+    /**
+     * Is param context boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isParamContext() {
+        return paramContext;
+    }
+
+    /**
+     * Gets rollback timeout.
+     *
+     * @return the rollback timeout in milliseconds
+     */
+    public long getRollbackTimeout() {
+        return rollbackTimeout;
+    }
+
+    /**
+     * Is caller helps boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isCallerHelps() {
+        return callerHelps;
+    }
+
+    /**
+     * Gets inline threshold.
+     *
+     * @return the inline threshold in nanoseconds, 0 if disabled
+     */
+    public long getInlineThreshold() {
+        return inlineThreshold;
+    }
+
+    /**
+     * Is synchronous boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isSynchronous() {
+        return synchronous;
+    }
+
+    /**
+     * Is critical path boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isCriticalPath() {
+        return criticalPath;
+    }
+
+    /**
+     * Is partial on timeout boolean.
+     *
+     * @return whether a timed out flow returns the results completed so far
+     */
+    public boolean isPartialOnTimeout() {
+        return partialOnTimeout;
+    }
+
+    /**
+     * Whether task costs are sampled.
+     *
+     * @return the boolean
+     */
+    public boolean isProfiling() {
+        return inlineThreshold > 0 || criticalPath;
+    }
+
+    /**
+     * Gets synchronous threshold.
+     *
+     * @return the cost in nanoseconds after which a synchronous flow falls back to parallel execution
+     */
+    public long getSynchronousThreshold() {
+        return synchronousThreshold;
+    }
+
+    /**
+     * Gets pre interceptor.
+     *
+     * @return the pre interceptor, null if it does nothing
+     */
+    public AsyncTaskPreInterceptor getPreInterceptor() {
+        return preInterceptor;
+    }
+
+    /**
+     * Gets post interceptor.
+     *
+     * @return the post interceptor, null if it does nothing
+     */
+    public AsyncTaskPostInterceptor getPostInterceptor() {
+        return postInterceptor;
+    }
+
+    /**
+     * Gets exception interceptor.
+     *
+     * @return the exception interceptor, null if it does nothing
+     */
+    public AsyncTaskExceptionInterceptor getExceptionInterceptor() {
+        return exceptionInterceptor;
+    }
+
+    /**
+     * Gets thread wapper.
+     *
+     * @return the thread wapper, null if not provided
+     */
+    public ThreadWapper getThreadWapper() {
+        return threadWapper;
+    }
+
+    /**
+     * Gets executor.
+     *
+     * @return the executor
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Gets timer.
+     *
+     * @return the timer
+     */
+    public GobrsTimer getTimer() {
+        return timer;
+    }
+
+    /**
+     * Gets purger.
+     *
+     * @return the queue purger of the executor
+     */
+    public QueuePurger getPurger() {
+        return purger;
+    }
+
+    /**
+     * Gets metrics.
+     *
+     * @return the rule metrics
+     */
+    public RuleMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets executor version.
+     *
+     * @return the executor version
+     */
+    public long getExecutorVersion() {
+        return executorVersion;
+    }
+}
@@ -5,12 +5,15 @@ import com.gobrs.async.core.TaskReceive;
 import com.gobrs.async.core.anno.Task;
 import com.gobrs.async.core.cache.GCacheManager;
 import com.gobrs.async.core.common.def.Constant;
+import com.gobrs.async.core.common.enums.CacheEviction;
+import com.gobrs.async.core.common.enums.RetryBackoff;
 import com.gobrs.async.core.common.enums.TaskEnum;
 import com.gobrs.async.core.common.exception.GobrsAsyncException;
 import com.gobrs.async.core.config.GobrsAsyncRule;
 import com.gobrs.async.core.config.GobrsConfig;
 import com.gobrs.async.core.holder.BeanProxy;
 import com.gobrs.async.core.task.AsyncTask;
+import com.gobrs.async.core.task.BatchTask;
 import org.springframework.util.StringUtils;
 
 import java.util.*;
@@ -174,6 +177,15 @@ public class RuleParseEngine extends AbstractEngine {
                 task.setExclusive(true);
             }
 
+            /**
+             * taskName:bestEffort:200
+             */
+            if (cursor >= 2 && RULE_BEST_EFFORT.equals(preNamed[1])) {
+                int budget = cursor == 2 ? TASK_TIME_OUT : bestEffortBudget(taskName, preNamed);
+                task.setBestEffort(true);
+                task.setBestEffortBudget(budget);
+            }
+
             if (!TaskEnum.CLASS.getType().equals(task.getType())) {
                 return task;
             }
@@ -181,8 +193,23 @@ public class RuleParseEngine extends AbstractEngine {
             task.setDesc(getTaskAnnotion(task, taskName, (anno) -> anno.desc(), String.class));
             task.setCallback(getTaskAnnotion(task, taskName, (anno) -> anno.callback(), Boolean.class));
             task.setRetryCount(getTaskAnnotion(task, taskName, (anno) -> anno.retryCount(), Integer.class));
+            task.setRetryBackoff(getTaskAnnotion(task, taskName, (anno) -> anno.retryBackoff(), RetryBackoff.class));
+            task.setRetryDelay(getTaskAnnotion(task, taskName, (anno) -> anno.retryDelay(), Long.class));
+            task.setRetryMaxElapsed(getTaskAnnotion(task, taskName, (anno) -> anno.retryMaxElapsed(), Long.class));
             task.setFailSubExec(getTaskAnnotion(task, taskName, (anno) -> anno.failSubExec(), Boolean.class));
             task.setTimeoutInMilliseconds(getTaskAnnotion(task, taskName, (anno) -> anno.timeoutInMilliseconds(), Integer.class));
+            task.setHedge(getTaskAnnotion(task, taskName, (anno) -> anno.hedge(), Boolean.class));
+            task.setHedgeDelay(getTaskAnnotion(task, taskName, (anno) -> anno.hedgeDelay(), Long.class));
+            task.setCacheable(getTaskAnnotion(task, taskName, (anno) -> anno.cacheable(), Boolean.class));
+            task.setCacheTtl(getTaskAnnotion(task, taskName, (anno) -> anno.cacheTtl(), Long.class));
+            task.setCacheSize(getTaskAnnotion(task, taskName, (anno) -> anno.cacheSize(), Integer.class));
+            task.setCacheEviction(getTaskAnnotion(task, taskName, (anno) -> anno.cacheEviction(), CacheEviction.class));
+            gCacheManager.cacheable(task, getTaskAnnotion(task, taskName, (anno) -> anno.cacheKey(), Class.class));
+            if (task instanceof BatchTask) {
+                BatchTask<?, ?> batchTask = (BatchTask<?, ?>) task;
+                batchTask.setBatchSize(getTaskAnnotion(task, taskName, (anno) -> anno.batchSize(), Integer.class));
+                batchTask.setBatchWindow(getTaskAnnotion(task, taskName, (anno) -> anno.batchWindow(), Long.class));
+            }
             String annotionTaskName = getTaskAnnotion(task, taskName, (anno) -> anno.desc(), String.class);
 
             if (!StringUtils.isEmpty(annotionTaskName)) {
@@ -194,6 +221,27 @@ public class RuleParseEngine extends AbstractEngine {
             return task;
         }
 
+        /**
+         * 解析尽力而为任务的预算 必须是正整数毫秒
+         *
+         * @param taskName the task in the rule, e.g. taskName:bestEffort:200
+         * @param preNamed the parts of the task
+         * @return the budget in milliseconds
+         */
+        private static int bestEffortBudget(String taskName, String[] preNamed) {
+            int budget = 0;
+            if (preNamed.length == 3) {
+                try {
+                    budget = Integer.parseInt(preNamed[2]);
+                } catch (NumberFormatException ignored) {
+                }
+            }
+            if (budget <= 0) {
+                throw new GobrsAsyncException(String.format("com.gobrs.async.rule config error, bestEffort budget must be a positive number of milliseconds: %s", taskName));
+            }
+            return budget;
+        }
+
 
         /**
          * Get packaging tasks
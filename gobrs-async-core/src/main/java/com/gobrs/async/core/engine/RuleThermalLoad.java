@@ -1,6 +1,7 @@
 package com.gobrs.async.core.engine;
 
 import com.gobrs.async.core.GobrsAsync;
+import com.gobrs.async.core.config.ConfigManager;
 import com.gobrs.async.core.config.GobrsAsyncRule;
 import com.gobrs.async.core.config.GobrsConfig;
 import org.slf4j.Logger;
@@ -33,6 +34,10 @@ public class RuleThermalLoad implements RuleThermal {
     @Override
     public void load(GobrsAsyncRule rule) {
         try {
+            /**
+             * 先替换规则配置 再重建任务触发器与运行时配置
+             */
+            ConfigManager.configInstance().addRule(rule.getName(), rule);
             ruleEngine.doParse(rule, true);
             gobrsAsync.readyTo(rule.getName(), true);
             logger.info("gobrs.async.rule {} update success", rule.getName());
@@ -46,6 +51,10 @@ public class RuleThermalLoad implements RuleThermal {
     public void load(List<GobrsAsyncRule> ruleList) {
         ruleList.stream().parallel().forEach(x -> {
             try {
+                /**
+                 * 先替换规则配置 再重建任务触发器与运行时配置
+                 */
+                ConfigManager.configInstance().addRule(x.getName(), x);
                 ruleEngine.doParse(x, true);
                 gobrsAsync.readyTo(x.getName(), true);
                 logger.info("gobrs.async.rule {} update success !!!", x.getName());
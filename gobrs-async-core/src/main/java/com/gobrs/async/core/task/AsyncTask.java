@@ -2,10 +2,13 @@ package com.gobrs.async.core.task;
 
 
 import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.cache.CacheKey;
+import com.gobrs.async.core.cache.ResultCache;
+import com.gobrs.async.core.common.enums.CacheEviction;
+import com.gobrs.async.core.common.enums.RetryBackoff;
 import com.gobrs.async.core.common.enums.TaskEnum;
 import com.gobrs.async.core.common.exception.AsyncTaskTimeoutException;
 import com.gobrs.async.core.common.util.SystemClock;
-import com.gobrs.async.core.config.ConfigManager;
 import com.gobrs.async.core.log.LogTracer;
 import com.gobrs.async.core.log.LogWrapper;
 import com.gobrs.async.core.log.TraceUtil;
@@ -16,9 +19,9 @@ import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.logging.log4j.util.Strings;
 
-import java.util.Map;
 import java.util.Objects;
 
+import static com.gobrs.async.core.common.def.DefaultConfig.TASK_INITIALIZE;
 import static com.gobrs.async.core.common.def.DefaultConfig.TASK_TIMEOUT;
 import static com.gobrs.async.core.common.def.FixSave.LOGGER_PLUGIN;
 import static com.gobrs.async.core.common.enums.InterruptEnum.INIT;
@@ -56,6 +59,21 @@ public abstract class AsyncTask<Param, Result> implements GobrsTask<Param> {
 
     private int retryCount = DefaultConfig.RETRY_COUNT;
 
+    /**
+     * Retry backoff
+     */
+    private RetryBackoff retryBackoff = RetryBackoff.FIXED;
+
+    /**
+     * Retry delay in milliseconds
+     */
+    private long retryDelay = DefaultConfig.RETRY_DELAY;
+
+    /**
+     * Max retry elapsed time in milliseconds
+     */
+    private long retryMaxElapsed = DefaultConfig.RETRY_MAX_ELAPSED;
+
     /**
      * Whether to execute a subtask if it fails
      */
@@ -63,6 +81,34 @@ public abstract class AsyncTask<Param, Result> implements GobrsTask<Param> {
 
     private int timeoutInMilliseconds = DefaultConfig.TASK_TIME_OUT;
 
+    /**
+     * Hedged execution, a second attempt starts after the hedge delay
+     */
+    private boolean hedge = false;
+
+    /**
+     * Hedge delay in milliseconds, 0 for the observed p95 of the task
+     */
+    private long hedgeDelay = DefaultConfig.HEDGE_DELAY;
+
+    /**
+     * Cache results across flows
+     */
+    private boolean cacheable = false;
+
+    private long cacheTtl = DefaultConfig.CACHE_TTL;
+
+    private int cacheSize = DefaultConfig.CACHE_SIZE;
+
+    private CacheEviction cacheEviction = CacheEviction.TINY_LFU;
+
+    /**
+     * Cache key extractor and result cache, created once when the task is parsed
+     */
+    private CacheKey cacheKey;
+
+    private ResultCache<Object, Object> resultCache;
+
     /**
      * if true => execute when any of parentTasks finished
      */
@@ -76,6 +122,16 @@ public abstract class AsyncTask<Param, Result> implements GobrsTask<Param> {
      */
     private boolean exclusive = false;
 
+    /**
+     * 尽力而为的任务 超出预算或流程截止时间仍未完成时 子任务拿到 null 结果继续执行 流程不报错
+     */
+    private boolean bestEffort = false;
+
+    /**
+     * Soft budget of a best effort task in milliseconds, 0 falls back to the task timeout or the flow deadline
+     */
+    private int bestEffortBudget = DefaultConfig.TASK_TIME_OUT;
+
     /**
      * 任务类型 class method 默认 class
      */
@@ -125,32 +181,43 @@ public abstract class AsyncTask<Param, Result> implements GobrsTask<Param> {
             task = task(param, support);
         } catch (Exception exception) {
             exeError = exception;
-            exeError = transferException(exeError, support.getStatus(getName()).getStatus().get());
+            int node = support.node(getName());
+            exeError = transferException(exeError, node < 0 ? TASK_INITIALIZE : support.getStatus(node));
             throw exeError;
         } finally {
+            trace(support, startTime, exeError);
+        }
+        return task;
+    }
 
-            boolean costLogabled = ConfigManager.Action.costLogabled(support.getRuleName());
-            if (costLogabled &&
-                    Objects.nonNull(support.getLogWrapper())) {
-                long costTime = SystemClock.now() - startTime;
-                LogTracer logTracer = LogTracer.builder()
-                        .taskName(this.getName())
-                        .taskCost(costTime)
-                        .executeState(exeError == null ? true : false)
-                        .errorMessage(exeError == null ? Strings.EMPTY : exeError.getMessage())
-                        .build();
-                LogWrapper logWrapper = support.getLogWrapper();
-                logWrapper.addTrace(logTracer);
-                logWrapper.setProcessCost(costTime);
-                if (!LOGGER_PLUGIN) {
-                    log.info("<{}> [{}]", logWrapper.getTraceId(), this.getName());
-                } else {
-                    log.info("[{}]", this.getName());
-                }
-
+    /**
+     * 记录任务耗时
+     *
+     * @param support   the support
+     * @param startTime the start time
+     * @param exeError  the execution error, null if the task succeeded
+     */
+    protected void trace(TaskSupport support, long startTime, Exception exeError) {
+        boolean costLogabled = support.getProfile().isCostLogabled();
+        if (costLogabled &&
+                Objects.nonNull(support.getLogWrapper())) {
+            long costTime = SystemClock.now() - startTime;
+            LogTracer logTracer = LogTracer.builder()
+                    .taskName(this.getName())
+                    .taskCost(costTime)
+                    .executeState(exeError == null ? true : false)
+                    .errorMessage(exeError == null ? Strings.EMPTY : exeError.getMessage())
+                    .build();
+            LogWrapper logWrapper = support.getLogWrapper();
+            logWrapper.addTrace(logTracer);
+            logWrapper.setProcessCost(costTime);
+            if (!LOGGER_PLUGIN) {
+                log.info("<{}> [{}]", logWrapper.getTraceId(), this.getName());
+            } else {
+                log.info("[{}]", this.getName());
             }
+
         }
-        return task;
     }
 
     /**
@@ -188,7 +255,7 @@ public abstract class AsyncTask<Param, Result> implements GobrsTask<Param> {
         if (!excludeInterceptException(exception)) {
             return;
         }
-        boolean logable = ConfigManager.Action.errLogabled(support.getRuleName());
+        boolean logable = support.getProfile().isErrLogabled();
         if (logable) {
             log.error("<{}> {} error", TraceUtil.get(), this.getName(), exception);
         }
@@ -221,8 +288,7 @@ public abstract class AsyncTask<Param, Result> implements GobrsTask<Param> {
      * @return com.gobrs.async.com.gobrs.async.test.task result
      */
     public TaskResult<Result> getTaskResult(TaskSupport support) {
-        Map<String, TaskResult> resultMap = support.getResultMap();
-        return resultMap.get(getName());
+        return support.getResultMap().get(getName());
     }
 
     /**
@@ -235,8 +301,7 @@ public abstract class AsyncTask<Param, Result> implements GobrsTask<Param> {
      * @return com.gobrs.async.com.gobrs.async.test.task result
      */
     public <Result> TaskResult<Result> getTaskResult(TaskSupport support, Class<? extends ITask> clazz, Class<Result> type) {
-        Map<String, TaskResult> resultMap = support.getResultMap();
-        return resultMap.get(getName()) != null ? (TaskResult<Result>) resultMap.get(getName()) : null;
+        return (TaskResult<Result>) support.getResultMap().get(getName());
     }
 
     /**
@@ -0,0 +1,82 @@
+package com.gobrs.async.core.task;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.common.def.DefaultConfig;
+import com.gobrs.async.core.common.exception.GobrsAsyncException;
+import com.gobrs.async.core.common.util.SystemClock;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.SneakyThrows;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The type Batch task.
+ * 批量任务 并发流程中的同一任务在一个短窗口内合并为一次 {@link #batchTask(List)} 调用, 每个流程拿到自己参数对应的结果
+ * <p>
+ * 窗口在攒满 batchSize 个参数、等待超过 batchWindow 毫秒, 或线程池空闲(没有其他流程可能加入)时关闭。
+ * <p>
+ * 线程占用: 等待窗口关闭和批量结果期间, 流程不占用任何线程。
+ * 攒满窗口(或发现线程池空闲)的流程在自己的线程上执行批量调用; 窗口超时由定时器关闭, 批量调用交给规则线程池执行。
+ * 批量调用返回后, 其余流程在各自的规则线程池上记录结果并释放子任务, 因此一个批次最多占用一个线程。
+ * 直接调用 {@link #task(Object, TaskSupport)} (不经过引擎)时 在当前线程上等待批量结果。
+ * 对冲(hedge)对批量任务不生效。
+ *
+ * @param <Param>  the type parameter
+ * @param <Result> the type parameter
+ * @program: gobrs -async
+ * @ClassName BatchTask
+ * @description: Task whose concurrent executions are combined into one batch call
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@Getter
+@Setter
+public abstract class BatchTask<Param, Result> extends AsyncTask<Param, Result> {
+
+    /**
+     * Max params of a batch
+     */
+    private int batchSize = DefaultConfig.BATCH_SIZE;
+
+    /**
+     * Max wait of the first param of a batch in milliseconds
+     */
+    private long batchWindow = DefaultConfig.BATCH_WINDOW;
+
+    private final Batcher<Param, Result> batcher = new Batcher<>(this);
+
+    /**
+     * Execute the params of a batch.
+     *
+     * @param params the params of the flows in the batch, in arrival order
+     * @return the results in the order of the params
+     * @throws Exception the exception
+     */
+    public abstract List<Result> batchTask(List<Param> params) throws Exception;
+
+    /**
+     * Submit the param of a flow to the open batch without waiting.
+     *
+     * @param param   the param
+     * @param support the support
+     * @return the result, completed when the batch call returns
+     */
+    public final CompletableFuture<Result> batch(Param param, TaskSupport support) {
+        long startTime = SystemClock.now();
+        return batcher.submit(param, support).whenComplete((result, error) -> trace(support, startTime,
+                error == null ? null : error instanceof Exception ? (Exception) error : new GobrsAsyncException(error)));
+    }
+
+    @Override
+    @SneakyThrows
+    public final Result task(Param param, TaskSupport support) {
+        try {
+            return batcher.submit(param, support).get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.gobrs.async.core.task;
+
+import com.alibaba.ttl.threadpool.TtlExecutors;
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.common.exception.GobrsAsyncException;
+import com.gobrs.async.core.timer.HashedWheelTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * The type Batcher.
+ * 收集并发流程提交的参数 提交后不等待结果
+ * <p>
+ * 攒满窗口(或发现线程池空闲)的流程在自己的线程上执行批量调用; 否则由窗口内第一个流程注册的定时器关闭窗口, 批量调用交给线程池。
+ *
+ * @param <Param>  the type parameter
+ * @param <Result> the type parameter
+ * @program: gobrs -async
+ * @ClassName Batcher
+ * @description: Collects the params of a batch task across flows
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+final class Batcher<Param, Result> {
+
+    private final BatchTask<Param, Result> task;
+
+    /**
+     * the open batch, null if no flow is waiting
+     */
+    private Batch<Param, Result> current;
+
+    Batcher(BatchTask<Param, Result> task) {
+        this.task = task;
+    }
+
+    /**
+     * Submit the param of a flow.
+     *
+     * @param param   the param
+     * @param support the support of the flow
+     * @return the result, completed when the batch call returns
+     */
+    CompletableFuture<Result> submit(Param param, TaskSupport support) {
+        Batch<Param, Result> batch;
+        CompletableFuture<Result> result = new CompletableFuture<>();
+        boolean leader;
+        boolean full;
+        synchronized (this) {
+            batch = current;
+            leader = batch == null;
+            if (leader) {
+                batch = current = new Batch<>();
+            }
+            batch.params.add(param);
+            batch.results.add(result);
+            /**
+             * 攒满 或 线程池空闲 没有其他流程会加入 提前关闭窗口
+             */
+            full = batch.params.size() >= task.getBatchSize() || idle(support.getExecutorService());
+            if (full) {
+                close(batch);
+            }
+        }
+        if (full) {
+            execute(batch);
+        } else if (leader) {
+            Batch<Param, Result> open = batch;
+            ExecutorService executor = support.getExecutorService();
+            open.timer = support.getProfile().getTimer().delay(() -> expire(open, executor), task.getBatchWindow());
+        }
+        return result;
+    }
+
+    /**
+     * 窗口超时 批量调用交给线程池 定时器线程不执行任务
+     */
+    private void expire(Batch<Param, Result> batch, ExecutorService executor) {
+        synchronized (this) {
+            if (!close(batch)) {
+                return;
+            }
+        }
+        try {
+            executor.execute(() -> execute(batch));
+        } catch (RejectedExecutionException e) {
+            batch.results.forEach(r -> r.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Close the batch, false if it is already closed.
+     */
+    private boolean close(Batch<Param, Result> batch) {
+        if (batch.closed) {
+            return false;
+        }
+        batch.closed = true;
+        if (current == batch) {
+            current = null;
+        }
+        return true;
+    }
+
+    private void execute(Batch<Param, Result> batch) {
+        HashedWheelTimer.Timeout timer = batch.timer;
+        if (timer != null) {
+            timer.cancel();
+        }
+        try {
+            List<Result> results = task.batchTask(batch.params);
+            if (results == null || results.size() != batch.params.size()) {
+                throw new GobrsAsyncException(String.format("batch task %s returned %s results for %s params", task.getName(),
+                        results == null ? null : results.size(), batch.params.size()));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                batch.results.get(i).complete(results.get(i));
+            }
+        } catch (Exception e) {
+            batch.results.forEach(r -> r.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * 线程池没有排队的任务 且除当前线程外没有工作线程在执行 窗口内不会再有流程加入
+     */
+    private boolean idle(ExecutorService executor) {
+        Executor unwrapped = executor == null ? null : TtlExecutors.unwrap(executor);
+        if (!(unwrapped instanceof ThreadPoolExecutor)) {
+            return false;
+        }
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) unwrapped;
+        return pool.getQueue().isEmpty() && pool.getActiveCount() <= 1;
+    }
+
+    private static final class Batch<Param, Result> {
+
+        private final List<Param> params = new ArrayList<>();
+
+        private final List<CompletableFuture<Result>> results = new ArrayList<>();
+
+        /**
+         * guarded by the batcher
+         */
+        private boolean closed;
+
+        private volatile HashedWheelTimer.Timeout timer;
+    }
+}
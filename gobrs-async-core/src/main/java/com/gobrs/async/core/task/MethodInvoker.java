@@ -0,0 +1,155 @@
+package com.gobrs.async.core.task;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.common.exception.InvokeMethodTaskException;
+import com.gobrs.async.core.common.exception.MethodTaskArgumentException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * The type Method invoker.
+ * 方法任务的预编译调用器
+ * <p>
+ * 启动扫描时为每个方法生成一次: 方法句柄绑定目标对象并展开为 (Object[])Object,
+ * 参数绑定计划记录每个参数位是注入 TaskSupport 还是取业务参数以及其类型。
+ * 调用时不再做任何反射查找, 只分配一个参数数组。
+ *
+ * @program: gobrs -async
+ * @ClassName MethodInvoker
+ * @description: Precompiled invoker and parameter binding plan of a method task
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@Slf4j
+public final class MethodInvoker {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final String taskName;
+
+    private final Method method;
+
+    /**
+     * (Object[])Object
+     */
+    private final MethodHandle handle;
+
+    /**
+     * binding plan: true if the parameter is TaskSupport
+     */
+    private final boolean[] supports;
+
+    /**
+     * binding plan: boxed parameter types
+     */
+    private final Class<?>[] types;
+
+    private final boolean[] primitives;
+
+    private MethodInvoker(String taskName, Method method, MethodHandle handle) {
+        this.taskName = taskName;
+        this.method = method;
+        this.handle = handle;
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        this.supports = new boolean[parameterTypes.length];
+        this.types = new Class<?>[parameterTypes.length];
+        this.primitives = new boolean[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            supports[i] = TaskSupport.class.isAssignableFrom(parameterTypes[i]);
+            types[i] = ClassUtils.resolvePrimitiveIfNecessary(parameterTypes[i]);
+            primitives[i] = parameterTypes[i].isPrimitive();
+        }
+    }
+
+    /**
+     * Compile the method of the target.
+     *
+     * @param taskName the task name
+     * @param method   the method
+     * @param target   the target
+     * @return the method invoker
+     */
+    public static MethodInvoker compile(String taskName, Method method, Object target) {
+        ReflectionUtils.makeAccessible(method);
+        int arity = method.getParameterCount();
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method)
+                    .bindTo(target)
+                    .asType(MethodType.genericMethodType(arity))
+                    .asSpreader(Object[].class, arity);
+            return new MethodInvoker(taskName, method, handle);
+        } catch (IllegalAccessException exception) {
+            throw new InvokeMethodTaskException(String.format("task: %s compile exception", method.getName()), exception);
+        }
+    }
+
+    /**
+     * Bind the parameter and invoke the method.
+     *
+     * @param parameter the parameter, a list is bound by position
+     * @param support   the support, null if not available
+     * @return the object
+     */
+    public Object invoke(Object parameter, TaskSupport support) {
+        Object[] args = bind(parameter, support);
+        try {
+            return (Object) handle.invokeExact(args);
+        } catch (Error error) {
+            throw error;
+        } catch (Throwable throwable) {
+            throw new InvokeMethodTaskException(String.format("task: %s invoke exception", method.getName()), throwable);
+        }
+    }
+
+    private Object[] bind(Object parameter, TaskSupport support) {
+        int arity = types.length;
+        if (arity == 0) {
+            return NO_ARGS;
+        }
+        List<?> req = parameter instanceof List ? (List<?>) parameter : null;
+        if (req != null && req.size() != arity) {
+            /**
+             * Alarm only
+             */
+            log.error(String.format(" Parameter mismatch %s", taskName));
+        }
+        Object[] args = new Object[arity];
+        for (int i = 0; i < arity; i++) {
+            if (supports[i]) {
+                args[i] = support;
+                continue;
+            }
+            Object arg;
+            if (req != null) {
+                arg = i < req.size() ? req.get(i) : null;
+            } else {
+                arg = i == 0 ? parameter : null;
+            }
+            if (arg != null && !types[i].isInstance(arg)) {
+                log.error(String.format(" Parameter type mismatch %s", taskName));
+                arg = null;
+            }
+            if (arg == null && primitives[i]) {
+                throw new MethodTaskArgumentException(String.format("task: %s parameter exception", method.getName()));
+            }
+            args[i] = arg;
+        }
+        return args;
+    }
+
+    /**
+     * Gets method.
+     *
+     * @return the method
+     */
+    public Method getMethod() {
+        return method;
+    }
+}
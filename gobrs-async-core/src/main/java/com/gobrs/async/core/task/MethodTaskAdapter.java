@@ -1,19 +1,13 @@
 package com.gobrs.async.core.task;
 
 import com.gobrs.async.core.TaskSupport;
-import com.gobrs.async.core.anno.MethodTask;
 import com.gobrs.async.core.common.def.DefaultConfig;
 import com.gobrs.async.core.common.domain.AsyncParam;
 import com.gobrs.async.core.common.domain.MethodTaskMatch;
 import com.gobrs.async.core.common.exception.AsyncTaskNotFoundException;
-import com.gobrs.async.core.common.exception.MethodTaskArgumentException;
-import com.gobrs.async.core.common.util.ParamsTool;
-import com.gobrs.async.core.common.util.ProxyUtil;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
-import org.assertj.core.util.Lists;
 
-import java.lang.reflect.Parameter;
 import java.util.*;
 
 import static com.gobrs.async.core.common.domain.GobrsTaskMethodEnum.NECESSARY;
@@ -40,21 +34,56 @@ public class MethodTaskAdapter extends AsyncTask<Object, Object> {
 
     private Object proxy;
 
+    /**
+     * Precompiled invokers, null if the method is not configured
+     */
+    private MethodInvoker taskInvoker;
+
+    private MethodInvoker necessaryInvoker;
+
+    private MethodInvoker prepareInvoker;
+
+    private MethodInvoker onSuccessInvoker;
+
+    private MethodInvoker onFailInvoker;
+
+    private MethodInvoker rollbackInvoker;
+
+    /**
+     * Compile the matched methods into invokers, called once by the scanner at startup.
+     */
+    public void compile() {
+        taskInvoker = compile(TASK.getMethod());
+        necessaryInvoker = compile(NECESSARY.getMethod());
+        prepareInvoker = compile(PREPARE.getMethod());
+        onSuccessInvoker = compile(ONSUCCESS.getMethod());
+        onFailInvoker = compile(ONFAIL.getMethod());
+        rollbackInvoker = compile(ROLLBACK.getMethod());
+    }
+
+    private MethodInvoker compile(String method) {
+        MethodTaskMatch match = PARAMETERS_CACHE.get(method);
+        if (Objects.isNull(match)) {
+            return null;
+        }
+        return MethodInvoker.compile(getName(), match.getMethod(), proxy);
+    }
+
     @Override
     public Object task(Object parameter, TaskSupport support) {
-        MethodTaskMatch match = PARAMETERS_CACHE.get(TASK.getMethod());
-        Object[] params = createParams(parameter, support, match);
-        return ProxyUtil.invokeMethod(match.getMethod(), proxy, params);
+        if (Objects.isNull(taskInvoker)) {
+            throw new AsyncTaskNotFoundException(String.format(" MethodTask not found %s", getName()));
+        }
+        return taskInvoker.invoke(parameterTransfer(parameter), support);
     }
 
 
     @Override
     public boolean necessary(Object parameter, TaskSupport support) {
-        MethodTaskMatch match = PARAMETERS_CACHE.get(NECESSARY.getMethod());
-        if (Objects.isNull(match)) {
+        if (Objects.isNull(necessaryInvoker)) {
             return DefaultConfig.TASK_NECESSARY;
         }
-        Optional<Object> o = Optional.ofNullable(doProxy(match, parseParam(parameter)));
+        Optional<Object> o = Optional.ofNullable(necessaryInvoker.invoke(parameterTransfer(parameter), null));
         if (o.isPresent()) {
             return (Boolean) o.get();
         }
@@ -64,131 +93,43 @@ public class MethodTaskAdapter extends AsyncTask<Object, Object> {
 
     @Override
     public void onFail(TaskSupport support, Exception exception) {
-        MethodTaskMatch match = PARAMETERS_CACHE.get(ONFAIL.getMethod());
-        if (Objects.isNull(match)) {
+        if (Objects.isNull(onFailInvoker)) {
             super.onFail(support, exception);
             return;
         }
-
-        doProxy(match, createParams(support.getParam(), support, match));
+        onFailInvoker.invoke(parameterTransfer(support.getParam()), support);
     }
 
 
     @Override
     public void onSuccess(TaskSupport support) {
-        MethodTaskMatch match = PARAMETERS_CACHE.get(ONSUCCESS.getMethod());
-        if (Objects.isNull(match)) {
+        if (Objects.isNull(onSuccessInvoker)) {
             super.onSuccess(support);
             return;
         }
-        doProxy(match, createParams(support.getParam(), support, match));
+        onSuccessInvoker.invoke(parameterTransfer(support.getParam()), support);
     }
 
 
     @Override
     public void prepare(Object parameter) {
-        MethodTaskMatch match = PARAMETERS_CACHE.get(PREPARE.getMethod());
-        if (Objects.isNull(match)) {
+        if (Objects.isNull(prepareInvoker)) {
             super.prepare(parameter);
             return;
         }
-        doProxy(match, parseParam(parameter));
+        prepareInvoker.invoke(parameterTransfer(parameter), null);
     }
 
     @Override
     public void rollback(Object parameter) {
-        MethodTaskMatch match = PARAMETERS_CACHE.get(ROLLBACK.getMethod());
-        if (Objects.isNull(match)) {
+        if (Objects.isNull(rollbackInvoker)) {
             super.rollback(parameter);
             return;
         }
-        doProxy(match, parseParam(parameter));
+        rollbackInvoker.invoke(parameterTransfer(parameter), null);
     }
 
 
-    /**
-     * 构建参数
-     *
-     * @param parameter
-     * @param support
-     * @param match
-     * @return
-     */
-    private Object[] createParams(Object parameter, TaskSupport support, MethodTaskMatch match) {
-        if (Objects.isNull(match)) {
-            throw new AsyncTaskNotFoundException(String.format(" MethodTask not found %s", getName()));
-        }
-
-        final Parameter[] parameters = match.getMethod().getParameters();
-
-        parameter = parameterTransfer(parameter);
-
-        List<Object> req;
-
-        if (!(parameter instanceof List)) {
-            req = ParamsTool.asParams(parameter);
-        } else {
-            req = Optional.ofNullable(parameter)
-                    .map(p -> (List<Object>) p)
-                    .orElse(Lists.newArrayList());
-        }
-
-        if (parameters.length != req.size() && parameter instanceof List) {
-            log.error(String.format(" Parameter mismatch %s", getName()));
-            /**
-             * Alarm only
-             */
-            // throw new MethodTaskArgumentException(String.format(" Parameter mismatch %s", getName()));
-        }
-
-        Object[] params = new Object[parameters.length];
-        if (params.length == 0) {
-            return null;
-        }
-        for (int i = 0; i < parameters.length; i++) {
-            if (TaskSupport.class.isAssignableFrom(parameters[i].getType())) {
-                params[i] = support;
-                continue;
-            }
-            try {
-                if (!parameters[1].getType().isAssignableFrom(req.get(i).getClass())) {
-                    log.error(String.format(" Parameter type mismatch %s", getName()));
-                    params[i] = null;
-                } else {
-                    params[i] = req.get(i);
-                }
-            } catch (Exception exception) {
-                log.error(String.format(" Parameter numbers of mismatch %s", getName()));
-                params[i] = null;
-            }
-        }
-        return params;
-    }
-
-
-    /**
-     * invoke
-     *
-     * @param match
-     * @param parameter
-     * @return
-     */
-    private Object doProxy(MethodTaskMatch match, Object[] parameter) {
-        return ProxyUtil.invokeMethod(match.getMethod(), proxy, parameter);
-    }
-
-    /**
-     * 参数解析
-     *
-     * @param parameter
-     * @return
-     */
-    private Object[] parseParam(Object parameter) {
-        Object params = parameterTransfer(parameter);
-        Object[] paramsArray = params != null ? new Object[]{params} : null;
-        return paramsArray;
-    }
-
     /**
      * 参数转换
      *
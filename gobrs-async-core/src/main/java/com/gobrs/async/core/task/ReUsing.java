@@ -3,8 +3,6 @@ package com.gobrs.async.core.task;
 import com.gobrs.async.core.TaskActuator;
 import com.gobrs.async.core.common.def.DefaultConfig;
 
-import static com.gobrs.async.core.timer.Retry.retryConditional;
-
 /**
  * The type Re using.
  *
@@ -18,12 +16,15 @@ public class ReUsing {
 
     /**
      * Reusing boolean.
+     * 超时任务和重试任务同样复用当前线程 超时由看门狗看守当前线程
+     * 唯一的例外是调用 go 的线程: 超时任务不在调用线程上执行 避免死循环任务卡住调用方
      *
      * @param process the process
+     * @param caller  the thread blocked in go
      * @return the boolean
      */
-    public static boolean reusing(TaskActuator process) {
-        return !retryConditional(process) && process.getTask().getTimeoutInMilliseconds() == DefaultConfig.TASK_TIME_OUT;
+    public static boolean reusing(TaskActuator process, Thread caller) {
+        return process.getTask().getTimeoutInMilliseconds() == DefaultConfig.TASK_TIME_OUT || Thread.currentThread() != caller;
     }
 
 }
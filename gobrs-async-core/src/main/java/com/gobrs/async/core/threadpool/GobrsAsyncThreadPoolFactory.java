@@ -39,6 +39,11 @@ public class GobrsAsyncThreadPoolFactory {
      */
     public static final Map<String, ExecutorService> cachedExecutors = new ConcurrentHashMap<>();
 
+    /**
+     * 线程池变更版本 规则运行时配置据此感知线程池的动态修改
+     */
+    private volatile long version;
+
     /**
      * Instantiates a new Gobrs async thread pool factory.
      *
@@ -100,6 +105,7 @@ public class GobrsAsyncThreadPoolFactory {
     public void setDefaultThreadPoolExecutor(ExecutorService threadPoolExecutor) {
         this.COMMON_POOL = TtlExecutors.getTtlExecutorService(threadPoolExecutor);
         rulelThreadPool();
+        version++;
     }
 
     /**
@@ -110,6 +116,16 @@ public class GobrsAsyncThreadPoolFactory {
      */
     public void setThreadPoolExecutor(String ruleName, ExecutorService threadPoolExecutor) {
         cachedExecutors.put(ruleName, TtlExecutors.getTtlExecutorService(threadPoolExecutor));
+        version++;
+    }
+
+    /**
+     * Gets version, changes whenever a thread pool is replaced.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
     }
 
 
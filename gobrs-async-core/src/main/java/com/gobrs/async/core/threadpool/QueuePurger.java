@@ -0,0 +1,69 @@
+package com.gobrs.async.core.threadpool;
+
+import com.alibaba.ttl.threadpool.TtlExecutors;
+import com.gobrs.async.core.common.def.DefaultConfig;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Queue purger.
+ * 流程超时或中断后 被取消但尚未开始的任务仍留在线程池队列中 直到工作线程取出才丢弃, 过载时队列被这些死任务占满
+ * <p>
+ * 取消本身是 O(1) 的: Future.cancel 把队列中的任务变成墓碑, 工作线程取出墓碑后直接丢弃, 不会执行。
+ * 墓碑占用的队列空间不是 O(1) 移除的, 而是批量全量扫描: 墓碑计数达到队列长度的一半(至少 PURGE_TOMBSTONES)时,
+ * 调用一次 {@link ThreadPoolExecutor#purge()} 扫描整个队列, 每次扫描 O(队列长度)。
+ * <p>
+ * 没有做到逐个 O(1) 移除: 队列是用户配置的线程池自带的 BlockingQueue, 其 remove(Object) 本身就是 O(n),
+ * 按流程索引的队列需要替换用户线程池的队列实现。批量扫描可以接受, 因为一次扫描前至少累计了队列长度一半的取消,
+ * 扫描代价按每个取消的任务分摊有上界; 已被工作线程取出的墓碑仍会计入, 所以这个上界是近似的。
+ * 非 ThreadPoolExecutor 的线程池不做清理。
+ *
+ * @program: gobrs -async
+ * @ClassName QueuePurger
+ * @description: Batched removal of cancelled tasks from the executor queue
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+public class QueuePurger {
+
+    /**
+     * null if the executor is not a ThreadPoolExecutor
+     */
+    private final ThreadPoolExecutor pool;
+
+    private final AtomicInteger tombstones = new AtomicInteger();
+
+    /**
+     * Instantiates a new Queue purger.
+     *
+     * @param executor the executor, may be wrapped by TtlExecutors
+     */
+    public QueuePurger(ExecutorService executor) {
+        Executor unwrapped = executor == null ? null : TtlExecutors.unwrap(executor);
+        this.pool = unwrapped instanceof ThreadPoolExecutor ? (ThreadPoolExecutor) unwrapped : null;
+    }
+
+    /**
+     * Record cancelled tasks, purge the queue once enough tombstones pile up.
+     *
+     * @param count the number of cancelled tasks
+     * @return the approximate number of tasks removed from the queue
+     */
+    public int cancelled(int count) {
+        if (pool == null || count <= 0) {
+            return 0;
+        }
+        int total = tombstones.addAndGet(count);
+        BlockingQueue<Runnable> queue = pool.getQueue();
+        if (total < Math.max(DefaultConfig.PURGE_TOMBSTONES, queue.size() >> 1) || !tombstones.compareAndSet(total, 0)) {
+            return 0;
+        }
+        int before = queue.size();
+        pool.purge();
+        return Math.max(before - queue.size(), 0);
+    }
+}
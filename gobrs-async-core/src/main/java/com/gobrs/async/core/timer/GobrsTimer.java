@@ -17,11 +17,19 @@ import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * The type Gobrs timer.
+ * 基于时间轮的一次性定时器 注册与取消均为 O(1)
  */
 public class GobrsTimer {
 
     private static final Logger logger = LoggerFactory.getLogger(GobrsTimer.class);
 
+    /**
+     * 时间轮精度 1ms
+     */
+    private static final long TICK_DURATION = 1;
+
+    private static final int TICKS_PER_WHEEL = 1024;
+
     private static GobrsTimer INSTANCE;
 
 
@@ -63,8 +71,8 @@ public class GobrsTimer {
      */
     public static void reset() {
         ScheduledExecutor ex = INSTANCE.executor.getAndSet(null);
-        if (ex != null && ex.getThreadPool() != null) {
-            ex.getThreadPool().shutdownNow();
+        if (ex != null && ex.isInitialized()) {
+            ex.shutdown();
         }
     }
 
@@ -74,15 +82,13 @@ public class GobrsTimer {
     AtomicReference<ScheduledExecutor> executor = new AtomicReference<ScheduledExecutor>();
 
     /**
-     * Add timer listener.
+     * Add timer listener, the listener ticks once after its interval.
      *
      * @param listener the listener
      * @return the timer reference
      */
     public Reference<TimerListener> addTimerListener(final TimerListener listener) {
 
-        startThreadIfNeeded();
-
         Runnable r = () -> {
             try {
                 listener.tick();
@@ -91,10 +97,63 @@ public class GobrsTimer {
             }
         };
 
-        ScheduledFuture<?> f = executor.get().getThreadPool().scheduleAtFixedRate(r,
-                listener.getIntervalTimeInMilliseconds(), listener.getIntervalTimeInMilliseconds(), TimeUnit.MILLISECONDS);
-        return new TimerReference(listener, f);
+        HashedWheelTimer.Timeout timeout = wheel().newTimeout(r, listener.getIntervalTimeInMilliseconds(), TimeUnit.MILLISECONDS);
+        return new TimerReference(listener, timeout);
+
+    }
+
+    /**
+     * Run the task once after the delay.
+     *
+     * @param task                the task
+     * @param delayInMilliseconds the delay in milliseconds
+     * @return the timeout
+     */
+    public HashedWheelTimer.Timeout delay(Runnable task, long delayInMilliseconds) {
+
+        Runnable r = () -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                logger.error(Strings.EMPTY, e);
+            }
+        };
+        return wheel().newTimeout(r, delayInMilliseconds, TimeUnit.MILLISECONDS);
+    }
 
+    /**
+     * Number of timeouts waiting to expire.
+     *
+     * @return the pending timeouts
+     */
+    public long getPendingTimeouts() {
+        ScheduledExecutor ex = executor.get();
+        return ex == null || !ex.isInitialized() ? 0 : ex.getWheel().pendingTimeouts();
+    }
+
+    /**
+     * Number of expired timeouts.
+     *
+     * @return the expired timeouts
+     */
+    public long getExpiredTimeouts() {
+        ScheduledExecutor ex = executor.get();
+        return ex == null || !ex.isInitialized() ? 0 : ex.getWheel().expiredTimeouts();
+    }
+
+    /**
+     * Number of cancelled timeouts.
+     *
+     * @return the cancelled timeouts
+     */
+    public long getCancelledTimeouts() {
+        ScheduledExecutor ex = executor.get();
+        return ex == null || !ex.isInitialized() ? 0 : ex.getWheel().cancelledTimeouts();
+    }
+
+    private HashedWheelTimer wheel() {
+        startThreadIfNeeded();
+        return executor.get().getWheel();
     }
 
     /**
@@ -102,24 +161,24 @@ public class GobrsTimer {
      */
     public static class TimerReference extends SoftReference<TimerListener> {
 
-        private final ScheduledFuture<?> f;
+        private final HashedWheelTimer.Timeout timeout;
 
         /**
          * Instantiates a new Timer reference.
          *
          * @param referent the referent
-         * @param f        the f
+         * @param timeout  the timeout
          */
-        TimerReference(TimerListener referent, ScheduledFuture<?> f) {
+        TimerReference(TimerListener referent, HashedWheelTimer.Timeout timeout) {
             super(referent);
-            this.f = f;
+            this.timeout = timeout;
         }
 
         @Override
         public void clear() {
             super.clear();
-            // stop this ScheduledFuture from any further executions
-            f.cancel(false);
+            // remove the timeout from the wheel
+            timeout.cancel();
         }
 
     }
@@ -142,9 +201,12 @@ public class GobrsTimer {
      */
     public class ScheduledExecutor {
         /**
-         * The Executor.
+         * The Executor, runs expired tasks
          */
-        volatile ScheduledThreadPoolExecutor executor;
+        volatile ThreadPoolExecutor executor;
+
+        volatile HashedWheelTimer wheel;
+
         private volatile boolean initialized;
 
         /**
@@ -163,7 +225,9 @@ public class GobrsTimer {
                 }
 
             };
-            executor = new ScheduledThreadPoolExecutor(timerCorePoolSize, threadFactory);
+            executor = new ThreadPoolExecutor(timerCorePoolSize, timerCorePoolSize, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), threadFactory);
+            wheel = new HashedWheelTimer(TICK_DURATION, TimeUnit.MILLISECONDS, TICKS_PER_WHEEL, executor);
             initialized = true;
         }
 
@@ -172,10 +236,27 @@ public class GobrsTimer {
          *
          * @return the thread pool
          */
-        public ScheduledThreadPoolExecutor getThreadPool() {
+        public ThreadPoolExecutor getThreadPool() {
             return executor;
         }
 
+        /**
+         * Gets wheel.
+         *
+         * @return the wheel
+         */
+        public HashedWheelTimer getWheel() {
+            return wheel;
+        }
+
+        /**
+         * Shutdown.
+         */
+        public void shutdown() {
+            wheel.stop();
+            executor.shutdownNow();
+        }
+
         /**
          * Is initialized boolean.
          *
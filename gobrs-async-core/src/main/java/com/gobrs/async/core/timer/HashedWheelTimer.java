@@ -0,0 +1,421 @@
+package com.gobrs.async.core.timer;
+
+import org.apache.logging.log4j.util.Strings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The type Hashed wheel timer.
+ * 时间轮定时器 一次性定时任务 注册与取消均为 O(1)
+ * <p>
+ * 注册的任务先进入无锁队列, 由时间轮线程在每个 tick 中放入对应的槽位; 取消只修改状态并登记到取消队列,
+ * 由时间轮线程从槽位的双向链表中摘除。到期的任务交给执行线程池执行, 时间轮线程只负责推进时间。
+ * 没有待处理的任务时时间轮线程挂起, 不会空转。
+ *
+ * @program: gobrs -async
+ * @ClassName HashedWheelTimer
+ * @description: One-shot hashed wheel timer
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+public class HashedWheelTimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    /**
+     * 每个 tick 最多从注册队列转移的任务数 避免注册过多时饿死到期处理
+     */
+    private static final int MAX_TRANSFER_PER_TICK = 100000;
+
+    private final long tickDuration;
+
+    private final Bucket[] wheel;
+
+    private final int mask;
+
+    private final Executor taskExecutor;
+
+    private final Queue<WheelTimeout> timeouts = new ConcurrentLinkedQueue<>();
+
+    private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong pendingTimeouts = new AtomicLong();
+
+    private final LongAdder expiredTimeouts = new LongAdder();
+
+    private final LongAdder cancelledCount = new LongAdder();
+
+    private final Thread workerThread;
+
+    private final long startTime;
+
+    private volatile boolean idle;
+
+    private volatile boolean stopped;
+
+    /**
+     * worker thread only
+     */
+    private long tick;
+
+    /**
+     * Instantiates a new Hashed wheel timer.
+     *
+     * @param tickDuration  the tick duration
+     * @param unit          the unit
+     * @param ticksPerWheel the ticks per wheel, rounded up to a power of two
+     * @param taskExecutor  the executor that runs expired tasks
+     */
+    public HashedWheelTimer(long tickDuration, TimeUnit unit, int ticksPerWheel, Executor taskExecutor) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be greater than 0");
+        }
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.tickDuration = unit.toNanos(tickDuration);
+        this.taskExecutor = taskExecutor;
+        this.startTime = System.nanoTime();
+        this.workerThread = new Thread(this::work, "GobrsTimer-wheel");
+        this.workerThread.setDaemon(true);
+        this.workerThread.start();
+    }
+
+    /**
+     * Schedule a one-shot task.
+     *
+     * @param task  the task
+     * @param delay the delay
+     * @param unit  the unit
+     * @return the timeout
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        if (stopped) {
+            throw new RejectedExecutionException("timer stopped");
+        }
+        long deadline = System.nanoTime() + unit.toNanos(Math.max(delay, 0)) - startTime;
+        WheelTimeout timeout = new WheelTimeout(this, task, deadline);
+        pendingTimeouts.incrementAndGet();
+        timeouts.add(timeout);
+        if (idle) {
+            LockSupport.unpark(workerThread);
+        }
+        return timeout;
+    }
+
+    /**
+     * Stop the timer, pending tasks will never run.
+     */
+    public void stop() {
+        stopped = true;
+        LockSupport.unpark(workerThread);
+    }
+
+    /**
+     * Number of scheduled but not yet expired or cancelled timeouts.
+     *
+     * @return the pending timeouts
+     */
+    public long pendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    /**
+     * Number of expired timeouts.
+     *
+     * @return the expired timeouts
+     */
+    public long expiredTimeouts() {
+        return expiredTimeouts.sum();
+    }
+
+    /**
+     * Number of cancelled timeouts.
+     *
+     * @return the cancelled timeouts
+     */
+    public long cancelledTimeouts() {
+        return cancelledCount.sum();
+    }
+
+    private void work() {
+        while (!stopped) {
+            if (waitIfIdle()) {
+                continue;
+            }
+            long deadline = waitForNextTick();
+            if (deadline <= 0) {
+                continue;
+            }
+            processCancelledTasks();
+            transferTimeoutsToBuckets();
+            wheel[(int) (tick & mask)].expireTimeouts(deadline);
+            tick++;
+        }
+    }
+
+    /**
+     * 没有待处理任务时挂起 被唤醒后按当前时间重新对齐 tick
+     *
+     * @return true if the worker was parked
+     */
+    private boolean waitIfIdle() {
+        processCancelledTasks();
+        if (pendingTimeouts.get() != 0 || !timeouts.isEmpty()) {
+            return false;
+        }
+        idle = true;
+        try {
+            if (pendingTimeouts.get() != 0 || !timeouts.isEmpty()) {
+                return false;
+            }
+            LockSupport.park(this);
+        } finally {
+            idle = false;
+        }
+        /**
+         * 所有槽位都是空的 直接跳到当前时间
+         */
+        tick = (System.nanoTime() - startTime) / tickDuration;
+        return true;
+    }
+
+    private long waitForNextTick() {
+        long deadline = tickDuration * (tick + 1);
+        for (; ; ) {
+            long current = System.nanoTime() - startTime;
+            long sleepTimeMs = (deadline - current + 999999) / 1000000;
+            if (sleepTimeMs <= 0) {
+                return current;
+            }
+            if (stopped) {
+                return -1;
+            }
+            try {
+                Thread.sleep(sleepTimeMs);
+            } catch (InterruptedException e) {
+                if (stopped) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void transferTimeoutsToBuckets() {
+        for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+            WheelTimeout timeout = timeouts.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.state != WheelTimeout.ST_INIT) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickDuration;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void processCancelledTasks() {
+        for (; ; ) {
+            WheelTimeout timeout = cancelledTimeouts.poll();
+            if (timeout == null) {
+                break;
+            }
+            Bucket bucket = timeout.bucket;
+            if (bucket != null) {
+                bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void execute(WheelTimeout timeout) {
+        try {
+            taskExecutor.execute(timeout.task);
+        } catch (Exception e) {
+            logger.error(Strings.EMPTY, e);
+        }
+    }
+
+    /**
+     * The interface Timeout.
+     */
+    public interface Timeout {
+
+        /**
+         * Cancel the timeout, does nothing if it has already expired.
+         *
+         * @return true if cancelled by this call
+         */
+        boolean cancel();
+
+        /**
+         * Is expired boolean.
+         *
+         * @return the boolean
+         */
+        boolean isExpired();
+
+        /**
+         * Is cancelled boolean.
+         *
+         * @return the boolean
+         */
+        boolean isCancelled();
+    }
+
+    private static final class WheelTimeout implements Timeout {
+
+        private static final int ST_INIT = 0;
+
+        private static final int ST_CANCELLED = 1;
+
+        private static final int ST_EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<WheelTimeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(WheelTimeout.class, "state");
+
+        private final HashedWheelTimer timer;
+
+        private final Runnable task;
+
+        private final long deadline;
+
+        private volatile int state = ST_INIT;
+
+        /**
+         * worker thread only
+         */
+        private long remainingRounds;
+
+        private WheelTimeout next;
+
+        private WheelTimeout prev;
+
+        private Bucket bucket;
+
+        WheelTimeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            timer.pendingTimeouts.decrementAndGet();
+            timer.cancelledCount.increment();
+            timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state == ST_EXPIRED;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        void expire() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            timer.pendingTimeouts.decrementAndGet();
+            timer.expiredTimeouts.increment();
+            timer.execute(this);
+        }
+    }
+
+    /**
+     * 槽位 双向链表 只由时间轮线程访问
+     */
+    private static final class Bucket {
+
+        private WheelTimeout head;
+
+        private WheelTimeout tail;
+
+        void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expireTimeouts(long deadline) {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    next = remove(timeout);
+                    if (timeout.deadline <= deadline) {
+                        timeout.expire();
+                    } else {
+                        /**
+                         * 不应该出现 重新放回注册队列 下一个 tick 重新计算槽位
+                         */
+                        timeout.timer.timeouts.add(timeout);
+                    }
+                } else if (timeout.isCancelled()) {
+                    next = remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        WheelTimeout remove(WheelTimeout timeout) {
+            WheelTimeout next = timeout.next;
+            if (timeout.bucket == null) {
+                return next;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                if (timeout == tail) {
+                    tail = null;
+                    head = null;
+                } else {
+                    head = next;
+                }
+            } else if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            return next;
+        }
+    }
+}
@@ -2,6 +2,11 @@ package com.gobrs.async.core.timer;
 
 import com.gobrs.async.core.TaskActuator;
 import com.gobrs.async.core.common.def.DefaultConfig;
+import com.gobrs.async.core.common.domain.TaskStatus;
+import com.gobrs.async.core.task.AsyncTask;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The type Retry util.
@@ -14,6 +19,11 @@ import com.gobrs.async.core.common.def.DefaultConfig;
  */
 public class Retry {
 
+    /**
+     * 指数退避的最大位移 避免溢出
+     */
+    private static final int MAX_SHIFT = 30;
+
     /**
      * Retry conditional boolean.
      *
@@ -23,4 +33,62 @@ public class Retry {
     public static boolean retryConditional(TaskActuator taskActuator) {
         return taskActuator.getTask().getRetryCount() > DefaultConfig.RETRY_COUNT;
     }
+
+    /**
+     * Delay before the given retry.
+     *
+     * @param task    the task
+     * @param attempt the retry attempt, starts from 1
+     * @return the delay in milliseconds
+     */
+    public static long backoff(AsyncTask<?, ?> task, int attempt) {
+        long delay = task.getRetryDelay();
+        if (delay <= 0) {
+            return 0;
+        }
+        switch (task.getRetryBackoff()) {
+            case EXPONENTIAL:
+                return exponential(delay, attempt);
+            case JITTER:
+                return ThreadLocalRandom.current().nextLong(exponential(delay, attempt) + 1);
+            default:
+                return delay;
+        }
+    }
+
+    private static long exponential(long delay, int attempt) {
+        int shift = Math.min(Math.max(attempt - 1, 0), MAX_SHIFT);
+        return delay > (Long.MAX_VALUE >> shift) ? Long.MAX_VALUE - 1 : delay << shift;
+    }
+
+    /**
+     * Whether the retry still starts within the max retry elapsed time.
+     *
+     * @param task      the task
+     * @param startTime the start time (System.nanoTime) of the first execution
+     * @param delay     the delay before the retry
+     * @return the boolean
+     */
+    public static boolean withinElapsed(AsyncTask<?, ?> task, long startTime, long delay) {
+        long maxElapsed = task.getRetryMaxElapsed();
+        if (maxElapsed <= DefaultConfig.RETRY_MAX_ELAPSED) {
+            return true;
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        return elapsed + delay <= maxElapsed;
+    }
+
+    /**
+     * Whether the retry still starts within the max retry elapsed time.
+     *
+     * @param task   the task
+     * @param status the task status
+     * @param delay  the delay before the retry
+     * @return the boolean
+     * @deprecated use {@link #withinElapsed(AsyncTask, long, long)}
+     */
+    @Deprecated
+    public static boolean withinElapsed(AsyncTask<?, ?> task, TaskStatus status, long delay) {
+        return withinElapsed(task, status.getStartTime(), delay);
+    }
 }
@@ -0,0 +1,129 @@
+package com.gobrs.async.core.timer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Task watchdog.
+ * 任务超时看门狗
+ * <p>
+ * 任务在哪个线程上执行(包括复用父任务的线程)就看守哪个线程, 不需要额外提交 GobrsFutureTask。
+ * 到期时与任务线程竞争一次: 任务先完成则看门狗什么都不做;
+ * 看门狗先到期则中断(死循环场景下强制停止)任务线程, 丢弃任务结果, 由 onTimeout 继续后续流程。
+ *
+ * @program: gobrs -async
+ * @ClassName TaskWatchdog
+ * @description: Timeout watchdog of a running task
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+public class TaskWatchdog implements GobrsTimer.TimerListener {
+
+    private static final int RUNNING = 0;
+
+    private static final int DONE = 1;
+
+    private static final int TIMING_OUT = 2;
+
+    private static final int TIMED_OUT = 3;
+
+    private final AtomicInteger state = new AtomicInteger(RUNNING);
+
+    /**
+     * null once the task has left the thread
+     */
+    private volatile Thread runner;
+
+    private final int timeoutInMilliseconds;
+
+    private final boolean forceStop;
+
+    private final Runnable onTimeout;
+
+    /**
+     * Instantiates a new Task watchdog for the current thread.
+     *
+     * @param timeoutInMilliseconds the timeout in milliseconds
+     * @param forceStop             stop the thread if it does not respond to interrupt
+     * @param onTimeout             continue the flow on behalf of the task
+     */
+    public TaskWatchdog(int timeoutInMilliseconds, boolean forceStop, Runnable onTimeout) {
+        this.runner = Thread.currentThread();
+        this.timeoutInMilliseconds = timeoutInMilliseconds;
+        this.forceStop = forceStop;
+        this.onTimeout = onTimeout;
+    }
+
+    @Override
+    public void tick() {
+        if (!state.compareAndSet(RUNNING, TIMING_OUT)) {
+            return;
+        }
+        try {
+            stop();
+        } finally {
+            state.set(TIMED_OUT);
+        }
+        onTimeout.run();
+    }
+
+    /**
+     * 根据中断位强制释放资源 针对开发者使用死循环等问题fix
+     */
+    @SuppressWarnings("deprecation")
+    private void stop() {
+        Thread runner = this.runner;
+        if (runner == null) {
+            return;
+        }
+        if (forceStop && runner.getState() == Thread.State.RUNNABLE) {
+            try {
+                runner.stop();
+                return;
+            } catch (UnsupportedOperationException ignored) {
+                // Thread.stop is not supported any more, fall back to interrupt
+            }
+        }
+        runner.interrupt();
+    }
+
+    /**
+     * Called by the task thread when the task finishes.
+     *
+     * @return true if the task finished in time, false if the watchdog has taken over the task
+     */
+    public boolean finish() {
+        if (state.compareAndSet(RUNNING, DONE) || state.get() == DONE) {
+            return true;
+        }
+        while (state.get() == TIMING_OUT) {
+            Thread.yield();
+        }
+        /**
+         * clear the interrupt sent by the watchdog
+         */
+        Thread.interrupted();
+        return false;
+    }
+
+    /**
+     * Called by the task thread when the task continues on another thread, the watchdog no longer stops this thread.
+     * 到期时照常由 onTimeout 继续后续流程 任务完成时由继续执行的线程调用 {@link #finish()}
+     */
+    public void detach() {
+        runner = null;
+        while (state.get() == TIMING_OUT) {
+            Thread.yield();
+        }
+        if (state.get() == TIMED_OUT) {
+            /**
+             * clear the interrupt sent before the task left the thread
+             */
+            Thread.interrupted();
+        }
+    }
+
+    @Override
+    public int getIntervalTimeInMilliseconds() {
+        return timeoutInMilliseconds;
+    }
+}
@@ -3,6 +3,8 @@ package com.gobrs.async.core.autoconfig;
 import com.gobrs.async.core.*;
 import com.gobrs.async.core.cache.GCache;
 import com.gobrs.async.core.cache.GCacheManager;
+import com.gobrs.async.core.cache.SlruResultCache;
+import com.gobrs.async.core.cache.TinyLfuResultCache;
 import com.gobrs.async.core.property.GobrsAsyncProperties;
 import com.gobrs.async.core.callback.*;
 import com.gobrs.async.core.config.*;
@@ -117,6 +119,29 @@ public class GobrsAutoConfiguration {
         return new GCacheManager(caches);
     }
 
+    /**
+     * W-TinyLFU task result cache, the prototype of the caches of cacheable tasks.
+     * 注册同名 bean 可以替换默认实现
+     *
+     * @return the tiny lfu result cache
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "tinyLfuResultCache")
+    public TinyLfuResultCache<Object, Object> tinyLfuResultCache() {
+        return new TinyLfuResultCache<>();
+    }
+
+    /**
+     * Segmented LRU task result cache.
+     *
+     * @return the slru result cache
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "slruResultCache")
+    public SlruResultCache<Object, Object> slruResultCache() {
+        return new SlruResultCache<>();
+    }
+
     /**
      * Config factory config factory.
      *
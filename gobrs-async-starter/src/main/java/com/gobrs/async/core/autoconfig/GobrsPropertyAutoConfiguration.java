@@ -71,6 +71,12 @@ public class GobrsPropertyAutoConfiguration {
             r.setContent(x.getContent());
             r.setTaskInterrupt(x.isTaskInterrupt());
             r.setTransaction(x.isTransaction());
+            r.setRollbackTimeout(x.getRollbackTimeout());
+            r.setCallerHelps(x.isCallerHelps());
+            r.setInlineThreshold(x.getInlineThreshold());
+            r.setSynchronous(x.isSynchronous());
+            r.setCriticalPath(x.isCriticalPath());
+            r.setPartialOnTimeout(x.isPartialOnTimeout());
             r.setInterruptionImmediate(x.isInterruptionImmediate());
             return r;
         }).collect(Collectors.toList());
@@ -1,6 +1,7 @@
 package com.gobrs.async.core.property;
 
 
+import com.gobrs.async.core.common.def.DefaultConfig;
 import lombok.Data;
 
 
@@ -41,4 +42,34 @@ public class RuleConfig {
      * 流程事务
      */
     boolean transaction = false;
+
+    /**
+     * 单个任务补偿(rollback)的超时时间 ms 默认不超时
+     */
+    private long rollbackTimeout = DefaultConfig.ROLLBACK_TIMEOUT;
+
+    /**
+     * 调用线程协助执行 调用线程等待流程结束期间执行本流程就绪的任务 默认 false
+     */
+    private boolean callerHelps = false;
+
+    /**
+     * 子任务耗时(移动平均)低于该阈值时 直接在当前线程上执行 不再提交线程池 单位 微秒 默认 0 不开启
+     */
+    private long inlineThreshold = DefaultConfig.INLINE_THRESHOLD;
+
+    /**
+     * 同步执行 整个流程在调用线程上按依赖顺序执行 任务耗时超出预期时退回并行执行 默认 false
+     */
+    private boolean synchronous = false;
+
+    /**
+     * 关键路径优先 同时就绪的子任务按剩余关键路径(历史耗时估算)从长到短提交 最长的分支复用当前线程 默认 false
+     */
+    private boolean criticalPath = false;
+
+    /**
+     * 流程超时时返回已完成任务的结果 未完成的任务结果状态为 TIMEOUT 执行码为 ExpState.TIMEOUT 不再抛出超时异常 默认 false
+     */
+    private boolean partialOnTimeout = false;
 }
@@ -122,17 +122,42 @@ public class MethodComponentScanner extends BaseScannner implements ApplicationC
 
         methodTaskAdaptation.setRetryCount(config.retryCount());
 
+        methodTaskAdaptation.setRetryBackoff(config.retryBackoff());
+
+        methodTaskAdaptation.setRetryDelay(config.retryDelay());
+
+        methodTaskAdaptation.setRetryMaxElapsed(config.retryMaxElapsed());
+
         methodTaskAdaptation.setCallback(config.callback());
 
         methodTaskAdaptation.setTimeoutInMilliseconds(config.timeoutInMilliseconds());
 
         methodTaskAdaptation.setFailSubExec(config.failSubExec());
 
+        methodTaskAdaptation.setHedge(config.hedge());
+
+        methodTaskAdaptation.setHedgeDelay(config.hedgeDelay());
+
+        methodTaskAdaptation.setCacheable(config.cacheable());
+
+        methodTaskAdaptation.setCacheTtl(config.cacheTtl());
+
+        methodTaskAdaptation.setCacheSize(config.cacheSize());
+
+        methodTaskAdaptation.setCacheEviction(config.cacheEviction());
+
+        gCacheManager.cacheable(methodTaskAdaptation, config.cacheKey());
+
         methodTaskAdaptation.setExclusive(config.failSubExec());
 
         methodTaskAdaptation.setDesc(config.desc());
 
         methodTaskAdaptation.setName(customizeName);
+
+        /**
+         * 预编译方法调用器与参数绑定计划 执行时不再反射
+         */
+        methodTaskAdaptation.compile();
     }
 
 
@@ -0,0 +1,40 @@
+package com.gobrs.async.test.task.batch;
+
+import com.gobrs.async.core.anno.Task;
+import com.gobrs.async.core.task.BatchTask;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * The type Case batch task.
+ * 模拟带批量接口的下游查询 记录每次批量调用的参数个数
+ *
+ * @program: gobrs -async
+ * @ClassName CaseBatchTask
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@Task(batchSize = 8, batchWindow = 200)
+public class CaseBatchTask extends BatchTask<String, String> {
+
+    private final List<Integer> batches = new CopyOnWriteArrayList<>();
+
+    @Override
+    public List<String> batchTask(List<String> params) throws Exception {
+        batches.add(params.size());
+        Thread.sleep(20);
+        return params.stream().map(p -> "item:" + p).collect(Collectors.toList());
+    }
+
+    /**
+     * Sizes of the batch calls.
+     *
+     * @return the list
+     */
+    public List<Integer> batches() {
+        return batches;
+    }
+}
@@ -0,0 +1,54 @@
+package com.gobrs.async.test.task.besteffort;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.anno.MethodComponent;
+import com.gobrs.async.core.anno.MethodTask;
+
+/**
+ * The type Case best effort task.
+ * 商品页 主信息必需 推荐信息锦上添花且耗时 1000ms 渲染时推荐信息可能为空
+ *
+ * @program: gobrs -async
+ * @ClassName CaseBestEffortTask
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@MethodComponent
+public class CaseBestEffortTask {
+
+    /**
+     * Best effort main.
+     *
+     * @param support the support
+     * @return the string
+     */
+    @MethodTask
+    public String bestEffortMain(TaskSupport support) {
+        return "main";
+    }
+
+    /**
+     * Best effort enrich.
+     *
+     * @param support the support
+     * @return the string
+     * @throws InterruptedException the interrupted exception
+     */
+    @MethodTask
+    public String bestEffortEnrich(TaskSupport support) throws InterruptedException {
+        Thread.sleep(1000);
+        return "enrich";
+    }
+
+    /**
+     * Best effort render.
+     *
+     * @param support the support
+     * @return the string
+     */
+    @MethodTask
+    public String bestEffortRender(TaskSupport support) {
+        return support.getResult("bestEffortMain", String.class) + "+" + support.getResult("bestEffortEnrich", String.class);
+    }
+}
@@ -0,0 +1,73 @@
+package com.gobrs.async.test.task.cache;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.anno.MethodComponent;
+import com.gobrs.async.core.anno.MethodConfig;
+import com.gobrs.async.core.anno.MethodTask;
+import com.gobrs.async.core.cache.CacheKey;
+import com.gobrs.async.core.common.enums.CacheEviction;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Case cache task.
+ * 模拟字典查询 参数为字典 key, lookups 记录真实查询次数
+ *
+ * @program: gobrs -async
+ * @ClassName CaseCacheTask
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@MethodComponent
+public class CaseCacheTask {
+
+    /**
+     * 以参数为 key 缓存
+     *
+     * @param support the support
+     * @return the string
+     */
+    @MethodTask(config = @MethodConfig(cacheable = true))
+    public String cachedLookup(TaskSupport support) {
+        Map<String, Object> context = support.getParam("cachedLookup", Map.class);
+        ((AtomicInteger) context.get("lookups")).incrementAndGet();
+        return "value:" + context.get("cachedLookup");
+    }
+
+    /**
+     * 以租户为 key 缓存 分段 LRU
+     *
+     * @param support the support
+     * @return the string
+     */
+    @MethodTask(config = @MethodConfig(cacheable = true, cacheKey = TenantKey.class, cacheTtl = 100, cacheEviction = CacheEviction.SLRU))
+    public String cachedTenant(TaskSupport support) {
+        Map<String, Object> context = support.getParam("cachedTenant", Map.class);
+        ((AtomicInteger) context.get("lookups")).incrementAndGet();
+        return "tenant:" + context.get("cachedTenant");
+    }
+
+    /**
+     * 依赖缓存任务的子任务
+     *
+     * @param support the support
+     */
+    @MethodTask
+    public void cachedConsumer(TaskSupport support) {
+        Map<String, Object> context = support.getParam("cachedConsumer", Map.class);
+        ((AtomicInteger) context.get("consumed")).incrementAndGet();
+    }
+
+    /**
+     * 参数形如 tenant:user 只有租户决定查询结果
+     */
+    public static class TenantKey implements CacheKey<String> {
+
+        @Override
+        public Object key(String param) {
+            return param.substring(0, param.indexOf(':'));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.gobrs.async.test.task.coalesce;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.anno.MethodComponent;
+import com.gobrs.async.core.anno.MethodTask;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type Case coalesce task.
+ * 模拟耗时 200ms 的商品查询 executions 记录真实执行次数 remaining 记录任务开始时流程的剩余时间
+ *
+ * @program: gobrs -async
+ * @ClassName CaseCoalesceTask
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@MethodComponent
+public class CaseCoalesceTask {
+
+    /**
+     * Coalesce lookup.
+     *
+     * @param support the support
+     * @return the string
+     * @throws InterruptedException the interrupted exception
+     */
+    @MethodTask
+    public String coalesceLookup(TaskSupport support) throws InterruptedException {
+        Map<String, Object> context = support.getParam("coalesceLookup", Map.class);
+        ((AtomicInteger) context.get("executions")).incrementAndGet();
+        Object remaining = context.get("remaining");
+        if (remaining != null) {
+            ((AtomicLong) remaining).set(support.remaining());
+        }
+        Thread.sleep(200);
+        return "sku:" + context.get("sku");
+    }
+}
@@ -0,0 +1,31 @@
+package com.gobrs.async.test.task.compensation;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.anno.Task;
+import com.gobrs.async.core.task.AsyncTask;
+
+import java.util.List;
+
+/**
+ * The type Compensation task A.
+ * 菱形的公共祖先 只能被回滚一次
+ *
+ * @program: gobrs -async
+ * @ClassName CompensationTaskA
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@Task
+public class CompensationTaskA extends AsyncTask<List<String>, String> {
+
+    @Override
+    public String task(List<String> rollbacks, TaskSupport support) {
+        return "AResult";
+    }
+
+    @Override
+    public void rollback(List<String> rollbacks) {
+        rollbacks.add("compensationTaskA");
+    }
+}
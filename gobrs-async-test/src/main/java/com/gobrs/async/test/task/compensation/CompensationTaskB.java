@@ -0,0 +1,36 @@
+package com.gobrs.async.test.task.compensation;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.anno.Task;
+import com.gobrs.async.core.task.AsyncTask;
+
+import java.util.List;
+
+/**
+ * The type Compensation task B.
+ * 补偿耗时超过规则配置的 rollbackTimeout
+ *
+ * @program: gobrs -async
+ * @ClassName CompensationTaskB
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@Task
+public class CompensationTaskB extends AsyncTask<List<String>, String> {
+
+    @Override
+    public String task(List<String> rollbacks, TaskSupport support) {
+        return "BResult";
+    }
+
+    @Override
+    public void rollback(List<String> rollbacks) {
+        try {
+            Thread.sleep(2000);
+            rollbacks.add("compensationTaskB");
+        } catch (InterruptedException e) {
+            // 补偿超时被中断
+        }
+    }
+}
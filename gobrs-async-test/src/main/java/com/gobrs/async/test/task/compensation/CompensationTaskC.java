@@ -0,0 +1,36 @@
+package com.gobrs.async.test.task.compensation;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.anno.Task;
+import com.gobrs.async.core.task.AsyncTask;
+
+import java.util.List;
+
+/**
+ * The type Compensation task C.
+ * 与 compensationTaskB 并行补偿
+ *
+ * @program: gobrs -async
+ * @ClassName CompensationTaskC
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@Task
+public class CompensationTaskC extends AsyncTask<List<String>, String> {
+
+    @Override
+    public String task(List<String> rollbacks, TaskSupport support) {
+        return "CResult";
+    }
+
+    @Override
+    public void rollback(List<String> rollbacks) {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            return;
+        }
+        rollbacks.add("compensationTaskC");
+    }
+}
@@ -0,0 +1,31 @@
+package com.gobrs.async.test.task.compensation;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.anno.Task;
+import com.gobrs.async.core.task.AsyncTask;
+
+import java.util.List;
+
+/**
+ * The type Compensation task D.
+ * 执行失败 触发事务补偿
+ *
+ * @program: gobrs -async
+ * @ClassName CompensationTaskD
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@Task(callback = true)
+public class CompensationTaskD extends AsyncTask<List<String>, String> {
+
+    @Override
+    public String task(List<String> rollbacks, TaskSupport support) {
+        throw new IllegalStateException("compensationTaskD failed");
+    }
+
+    @Override
+    public void rollback(List<String> rollbacks) {
+        rollbacks.add("compensationTaskD");
+    }
+}
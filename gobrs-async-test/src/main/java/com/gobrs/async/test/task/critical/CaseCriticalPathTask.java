@@ -0,0 +1,69 @@
+package com.gobrs.async.test.task.critical;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.anno.MethodComponent;
+import com.gobrs.async.core.anno.MethodTask;
+import lombok.SneakyThrows;
+
+import java.util.Map;
+
+/**
+ * The type Case critical path task.
+ * criticalPathLong 是耗时最长的分支 记录各自的执行线程
+ *
+ * @program: gobrs -async
+ * @ClassName CaseCriticalPathTask
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@MethodComponent
+public class CaseCriticalPathTask {
+
+    /**
+     * Critical path a.
+     *
+     * @param support the support
+     */
+    @MethodTask
+    public void criticalPathA(TaskSupport support) {
+        record("criticalPathA", support);
+    }
+
+    /**
+     * Critical path long.
+     *
+     * @param support the support
+     */
+    @SneakyThrows
+    @MethodTask
+    public void criticalPathLong(TaskSupport support) {
+        Thread.sleep(30);
+        record("criticalPathLong", support);
+    }
+
+    /**
+     * Critical path short b.
+     *
+     * @param support the support
+     */
+    @MethodTask
+    public void criticalPathShortB(TaskSupport support) {
+        record("criticalPathShortB", support);
+    }
+
+    /**
+     * Critical path short c.
+     *
+     * @param support the support
+     */
+    @MethodTask
+    public void criticalPathShortC(TaskSupport support) {
+        record("criticalPathShortC", support);
+    }
+
+    private void record(String taskName, TaskSupport support) {
+        Map<String, Thread> threads = support.getParam(taskName, Map.class);
+        threads.put(taskName, Thread.currentThread());
+    }
+}
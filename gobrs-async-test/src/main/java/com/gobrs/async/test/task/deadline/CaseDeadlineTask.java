@@ -0,0 +1,63 @@
+package com.gobrs.async.test.task.deadline;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.anno.MethodComponent;
+import com.gobrs.async.core.anno.MethodConfig;
+import com.gobrs.async.core.anno.MethodTask;
+import lombok.SneakyThrows;
+
+import java.util.Map;
+
+/**
+ * The type Case deadline task.
+ * deadlineTaskA 耗尽大部分流程时间 deadlineTaskB 的单任务超时(1000ms)远大于流程剩余时间
+ *
+ * @program: gobrs -async
+ * @ClassName CaseDeadlineTask
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@MethodComponent
+public class CaseDeadlineTask {
+
+    /**
+     * Deadline task a.
+     *
+     * @param support the support
+     */
+    @SneakyThrows
+    @MethodTask
+    public void deadlineTaskA(TaskSupport support) {
+        Map<String, Object> trace = support.getParam("deadlineTaskA", Map.class);
+        trace.put("remaining", support.remaining());
+        Thread.sleep(150);
+    }
+
+    /**
+     * Deadline task b.
+     *
+     * @param support the support
+     */
+    @MethodTask(config = @MethodConfig(timeoutInMilliseconds = 1000))
+    public void deadlineTaskB(TaskSupport support) {
+        Map<String, Object> trace = support.getParam("deadlineTaskB", Map.class);
+        try {
+            Thread.sleep(500);
+            trace.put("deadlineTaskB", "finished");
+        } catch (InterruptedException e) {
+            trace.put("deadlineTaskB", "interrupted");
+        }
+    }
+
+    /**
+     * Deadline task c.
+     *
+     * @param support the support
+     */
+    @MethodTask
+    public void deadlineTaskC(TaskSupport support) {
+        Map<String, Object> trace = support.getParam("deadlineTaskC", Map.class);
+        trace.put("deadlineTaskC", "started");
+    }
+}
@@ -0,0 +1,140 @@
+package com.gobrs.async.test.task.fanin;
+
+import com.gobrs.async.core.anno.MethodComponent;
+import com.gobrs.async.core.anno.MethodTask;
+
+/**
+ * The type Case fan in task.
+ * 16 个父任务汇聚到同一个聚合任务 用于压测依赖释放
+ *
+ * @program: gobrs -async
+ * @ClassName CaseFanInTask
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@MethodComponent
+public class CaseFanInTask {
+
+    /**
+     * Fan in 1.
+     */
+    @MethodTask
+    public void fanIn1() {
+    }
+
+    /**
+     * Fan in 2.
+     */
+    @MethodTask
+    public void fanIn2() {
+    }
+
+    /**
+     * Fan in 3.
+     */
+    @MethodTask
+    public void fanIn3() {
+    }
+
+    /**
+     * Fan in 4.
+     */
+    @MethodTask
+    public void fanIn4() {
+    }
+
+    /**
+     * Fan in 5.
+     */
+    @MethodTask
+    public void fanIn5() {
+    }
+
+    /**
+     * Fan in 6.
+     */
+    @MethodTask
+    public void fanIn6() {
+    }
+
+    /**
+     * Fan in 7.
+     */
+    @MethodTask
+    public void fanIn7() {
+    }
+
+    /**
+     * Fan in 8.
+     */
+    @MethodTask
+    public void fanIn8() {
+    }
+
+    /**
+     * Fan in 9.
+     */
+    @MethodTask
+    public void fanIn9() {
+    }
+
+    /**
+     * Fan in 10.
+     */
+    @MethodTask
+    public void fanIn10() {
+    }
+
+    /**
+     * Fan in 11.
+     */
+    @MethodTask
+    public void fanIn11() {
+    }
+
+    /**
+     * Fan in 12.
+     */
+    @MethodTask
+    public void fanIn12() {
+    }
+
+    /**
+     * Fan in 13.
+     */
+    @MethodTask
+    public void fanIn13() {
+    }
+
+    /**
+     * Fan in 14.
+     */
+    @MethodTask
+    public void fanIn14() {
+    }
+
+    /**
+     * Fan in 15.
+     */
+    @MethodTask
+    public void fanIn15() {
+    }
+
+    /**
+     * Fan in 16.
+     */
+    @MethodTask
+    public void fanIn16() {
+    }
+
+    /**
+     * Fan in aggregate.
+     *
+     * @return the string
+     */
+    @MethodTask
+    public String fanInAggregate() {
+        return "aggregate";
+    }
+}
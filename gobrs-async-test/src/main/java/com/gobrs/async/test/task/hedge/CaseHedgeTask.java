@@ -0,0 +1,58 @@
+package com.gobrs.async.test.task.hedge;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.anno.MethodComponent;
+import com.gobrs.async.core.anno.MethodConfig;
+import com.gobrs.async.core.anno.MethodTask;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Case hedge task.
+ * 模拟长尾的远程查询: 置位 slow 后的第一次执行耗时 1000ms 其余执行 2ms
+ *
+ * @program: gobrs -async
+ * @ClassName CaseHedgeTask
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@MethodComponent
+public class CaseHedgeTask {
+
+    /**
+     * 固定 50ms 后对冲
+     *
+     * @param support the support
+     * @return the string
+     */
+    @MethodTask(config = @MethodConfig(hedge = true, hedgeDelay = 50))
+    public String hedgeFixed(TaskSupport support) {
+        return lookup(support.getParam("hedgeFixed", Map.class));
+    }
+
+    /**
+     * 按历史耗时的 p95 对冲
+     *
+     * @param support the support
+     * @return the string
+     */
+    @MethodTask(config = @MethodConfig(hedge = true))
+    public String hedgeP95(TaskSupport support) {
+        return lookup(support.getParam("hedgeP95", Map.class));
+    }
+
+    private String lookup(Map<String, Object> context) {
+        ((AtomicInteger) context.get("attempts")).incrementAndGet();
+        boolean slow = ((AtomicBoolean) context.get("slow")).compareAndSet(true, false);
+        try {
+            Thread.sleep(slow ? 1000 : 2);
+        } catch (InterruptedException e) {
+            ((AtomicInteger) context.get("cancelled")).incrementAndGet();
+            return "cancelled";
+        }
+        return slow ? "slow" : "fast";
+    }
+}
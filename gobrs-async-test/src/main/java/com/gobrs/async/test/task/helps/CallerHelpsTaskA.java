@@ -0,0 +1,31 @@
+package com.gobrs.async.test.task.helps;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.anno.Task;
+import com.gobrs.async.core.task.AsyncTask;
+
+import java.util.List;
+
+/**
+ * The type Caller helps task A.
+ * 超时任务不在调用线程上执行 由线程池执行 此时调用线程空闲
+ *
+ * @program: gobrs -async
+ * @ClassName CallerHelpsTaskA
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@Task(timeoutInMilliseconds = 1000)
+public class CallerHelpsTaskA extends AsyncTask<List<Thread>, String> {
+
+    @Override
+    public String task(List<Thread> threads, TaskSupport support) {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "AResult";
+    }
+}
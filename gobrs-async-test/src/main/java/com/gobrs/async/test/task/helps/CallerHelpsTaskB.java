@@ -0,0 +1,27 @@
+package com.gobrs.async.test.task.helps;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.anno.Task;
+import com.gobrs.async.core.task.AsyncTask;
+
+import java.util.List;
+
+/**
+ * The type Caller helps task B.
+ * 记录执行线程
+ *
+ * @program: gobrs -async
+ * @ClassName CallerHelpsTaskB
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@Task
+public class CallerHelpsTaskB extends AsyncTask<List<Thread>, String> {
+
+    @Override
+    public String task(List<Thread> threads, TaskSupport support) {
+        threads.add(Thread.currentThread());
+        return "BResult";
+    }
+}
@@ -0,0 +1,26 @@
+package com.gobrs.async.test.task.helps;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.anno.Task;
+import com.gobrs.async.core.task.AsyncTask;
+
+import java.util.List;
+
+/**
+ * The type Caller helps task C.
+ * 复用 callerHelpsTaskA 的线程
+ *
+ * @program: gobrs -async
+ * @ClassName CallerHelpsTaskC
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@Task
+public class CallerHelpsTaskC extends AsyncTask<List<Thread>, String> {
+
+    @Override
+    public String task(List<Thread> threads, TaskSupport support) {
+        return "CResult";
+    }
+}
@@ -0,0 +1,66 @@
+package com.gobrs.async.test.task.inline;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.anno.MethodComponent;
+import com.gobrs.async.core.anno.MethodTask;
+
+import java.util.Map;
+
+/**
+ * The type Case inline task.
+ * 耗时极短的任务 记录各自的执行线程
+ *
+ * @program: gobrs -async
+ * @ClassName CaseInlineTask
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@MethodComponent
+public class CaseInlineTask {
+
+    /**
+     * Inline task a.
+     *
+     * @param support the support
+     */
+    @MethodTask
+    public void inlineTaskA(TaskSupport support) {
+        record("inlineTaskA", support);
+    }
+
+    /**
+     * Inline task b.
+     *
+     * @param support the support
+     */
+    @MethodTask
+    public void inlineTaskB(TaskSupport support) {
+        record("inlineTaskB", support);
+    }
+
+    /**
+     * Inline task c.
+     *
+     * @param support the support
+     */
+    @MethodTask
+    public void inlineTaskC(TaskSupport support) {
+        record("inlineTaskC", support);
+    }
+
+    /**
+     * Inline task d.
+     *
+     * @param support the support
+     */
+    @MethodTask
+    public void inlineTaskD(TaskSupport support) {
+        record("inlineTaskD", support);
+    }
+
+    private void record(String taskName, TaskSupport support) {
+        Map<String, Thread> threads = support.getParam(taskName, Map.class);
+        threads.put(taskName, Thread.currentThread());
+    }
+}
@@ -0,0 +1,66 @@
+package com.gobrs.async.test.task.partial;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.anno.MethodComponent;
+import com.gobrs.async.core.anno.MethodTask;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Case partial task.
+ * 商品详情 基础信息很快就绪 推荐信息耗时 1000ms
+ *
+ * @program: gobrs -async
+ * @ClassName CasePartialTask
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@MethodComponent
+public class CasePartialTask {
+
+    /**
+     * 推荐信息被流程超时中断的次数
+     */
+    public static final AtomicInteger INTERRUPTED = new AtomicInteger();
+
+    /**
+     * Partial fast.
+     *
+     * @param support the support
+     * @return the string
+     */
+    @MethodTask
+    public String partialFast(TaskSupport support) {
+        return "fast";
+    }
+
+    /**
+     * Partial slow.
+     *
+     * @param support the support
+     * @return the string
+     * @throws InterruptedException the interrupted exception
+     */
+    @MethodTask
+    public String partialSlow(TaskSupport support) throws InterruptedException {
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {
+            INTERRUPTED.incrementAndGet();
+            throw e;
+        }
+        return "slow";
+    }
+
+    /**
+     * Partial end.
+     *
+     * @param support the support
+     * @return the string
+     */
+    @MethodTask
+    public String partialEnd(TaskSupport support) {
+        return "end";
+    }
+}
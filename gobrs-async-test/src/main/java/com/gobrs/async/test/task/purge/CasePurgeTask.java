@@ -0,0 +1,53 @@
+package com.gobrs.async.test.task.purge;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.anno.MethodComponent;
+import com.gobrs.async.core.anno.MethodTask;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Case purge task.
+ * purgeBlock 忽略中断 一直占用规则线程池唯一的线程 purgeQueued 只能在队列中等待
+ *
+ * @program: gobrs -async
+ * @ClassName CasePurgeTask
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@MethodComponent
+public class CasePurgeTask {
+
+    /**
+     * Purge block.
+     *
+     * @param support the support
+     */
+    @MethodTask
+    public void purgeBlock(TaskSupport support) {
+        Map<String, Object> context = support.getParam("purgeBlock", Map.class);
+        CountDownLatch release = (CountDownLatch) context.get("release");
+        for (; ; ) {
+            try {
+                release.await();
+                return;
+            } catch (InterruptedException ignored) {
+                // keep the worker busy until the case releases it
+            }
+        }
+    }
+
+    /**
+     * Purge queued.
+     *
+     * @param support the support
+     */
+    @MethodTask
+    public void purgeQueued(TaskSupport support) {
+        Map<String, Object> context = support.getParam("purgeQueued", Map.class);
+        ((AtomicInteger) context.get("queued")).incrementAndGet();
+    }
+}
@@ -0,0 +1,34 @@
+package com.gobrs.async.test.task.retry;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.anno.Task;
+import com.gobrs.async.core.common.enums.RetryBackoff;
+import com.gobrs.async.core.task.AsyncTask;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * The type Case retry backoff task.
+ * 前两次执行失败 第三次执行成功 参数中记录每次执行的时间
+ *
+ * @program: gobrs -async
+ * @ClassName CaseRetryBackoffTask
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@Slf4j
+@Task(retryCount = 3, retryBackoff = RetryBackoff.EXPONENTIAL, retryDelay = 50)
+public class CaseRetryBackoffTask extends AsyncTask<List<Long>, String> {
+
+    @Override
+    public String task(List<Long> attempts, TaskSupport support) {
+        attempts.add(System.nanoTime());
+        log.info("CaseRetryBackoffTask attempt {} 使用线程---{}", attempts.size(), Thread.currentThread().getName());
+        if (attempts.size() < 3) {
+            throw new IllegalStateException("CaseRetryBackoffTask attempt " + attempts.size() + " failed");
+        }
+        return "BackoffResult";
+    }
+}
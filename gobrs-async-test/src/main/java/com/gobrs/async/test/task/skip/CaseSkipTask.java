@@ -0,0 +1,85 @@
+package com.gobrs.async.test.task.skip;
+
+import com.gobrs.async.core.anno.MethodComponent;
+import com.gobrs.async.core.anno.MethodTask;
+
+/**
+ * The type Case skip task.
+ * skipTaskA 执行失败 其后的两层菱形任务全部被跳过 skipTaskE 为耗时的独立任务链
+ *
+ * @program: gobrs -async
+ * @ClassName CaseSkipTask
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@MethodComponent
+public class CaseSkipTask {
+
+    /**
+     * The constant E_RESULT.
+     */
+    public static final String E_RESULT = "skipTaskE";
+
+    /**
+     * Skip task a.
+     */
+    @MethodTask
+    public void skipTaskA() {
+        throw new IllegalStateException("skipTaskA failed");
+    }
+
+    /**
+     * Skip task b.
+     */
+    @MethodTask
+    public void skipTaskB() {
+    }
+
+    /**
+     * Skip task c.
+     */
+    @MethodTask
+    public void skipTaskC() {
+    }
+
+    /**
+     * Skip task d.
+     */
+    @MethodTask
+    public void skipTaskD() {
+    }
+
+    /**
+     * Skip task f.
+     */
+    @MethodTask
+    public void skipTaskF() {
+    }
+
+    /**
+     * Skip task g.
+     */
+    @MethodTask
+    public void skipTaskG() {
+    }
+
+    /**
+     * Skip task h.
+     */
+    @MethodTask
+    public void skipTaskH() {
+    }
+
+    /**
+     * Skip task e.
+     *
+     * @return the string
+     * @throws InterruptedException the interrupted exception
+     */
+    @MethodTask
+    public String skipTaskE() throws InterruptedException {
+        Thread.sleep(200);
+        return E_RESULT;
+    }
+}
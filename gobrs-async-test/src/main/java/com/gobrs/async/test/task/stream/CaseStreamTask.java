@@ -0,0 +1,43 @@
+package com.gobrs.async.test.task.stream;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.anno.MethodComponent;
+import com.gobrs.async.core.anno.MethodTask;
+
+/**
+ * The type Case stream task.
+ * 页面渲染 页头很快就绪 页面主体耗时 300ms
+ *
+ * @program: gobrs -async
+ * @ClassName CaseStreamTask
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@MethodComponent
+public class CaseStreamTask {
+
+    /**
+     * Stream header.
+     *
+     * @param support the support
+     * @return the string
+     */
+    @MethodTask
+    public String streamHeader(TaskSupport support) {
+        return "header";
+    }
+
+    /**
+     * Stream body.
+     *
+     * @param support the support
+     * @return the string
+     * @throws InterruptedException the interrupted exception
+     */
+    @MethodTask
+    public String streamBody(TaskSupport support) throws InterruptedException {
+        Thread.sleep(300);
+        return "body";
+    }
+}
@@ -0,0 +1,85 @@
+package com.gobrs.async.test.task.sync;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.anno.MethodComponent;
+import com.gobrs.async.core.anno.MethodTask;
+import lombok.SneakyThrows;
+
+import java.util.Map;
+
+/**
+ * The type Case sync task.
+ * 同步执行的任务 记录各自的执行线程 syncSlowTask 耗时超出预期
+ *
+ * @program: gobrs -async
+ * @ClassName CaseSyncTask
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@MethodComponent
+public class CaseSyncTask {
+
+    /**
+     * Sync task a.
+     *
+     * @param support the support
+     * @return the string
+     */
+    @MethodTask
+    public String syncTaskA(TaskSupport support) {
+        return record("syncTaskA", support);
+    }
+
+    /**
+     * Sync task b.
+     *
+     * @param support the support
+     * @return the string
+     */
+    @MethodTask
+    public String syncTaskB(TaskSupport support) {
+        return record("syncTaskB", support);
+    }
+
+    /**
+     * Sync task c.
+     *
+     * @param support the support
+     * @return the string
+     */
+    @MethodTask
+    public String syncTaskC(TaskSupport support) {
+        return record("syncTaskC", support);
+    }
+
+    /**
+     * Sync task d.
+     *
+     * @param support the support
+     * @return the string
+     */
+    @MethodTask
+    public String syncTaskD(TaskSupport support) {
+        return record("syncTaskD", support);
+    }
+
+    /**
+     * Sync slow task.
+     *
+     * @param support the support
+     * @return the string
+     */
+    @SneakyThrows
+    @MethodTask
+    public String syncSlowTask(TaskSupport support) {
+        Thread.sleep(50);
+        return record("syncSlowTask", support);
+    }
+
+    private String record(String taskName, TaskSupport support) {
+        Map<String, Thread> threads = support.getParam(taskName, Map.class);
+        threads.put(taskName, Thread.currentThread());
+        return taskName;
+    }
+}
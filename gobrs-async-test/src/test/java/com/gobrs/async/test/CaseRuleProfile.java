@@ -0,0 +1,46 @@
+package com.gobrs.async.test;
+
+import com.gobrs.async.core.config.ConfigManager;
+import com.gobrs.async.core.config.GobrsAsyncRule;
+import com.gobrs.async.core.config.RuleProfile;
+import com.gobrs.async.core.threadpool.GobrsAsyncThreadPoolFactory;
+import com.gobrs.async.test.inteceptor.GobrsInterceptor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The type Case rule profile.
+ *
+ * @program: gobrs -async
+ * @ClassName CaseRuleProfile
+ * @description: 规则运行时配置快照
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@SpringBootTest(classes = GobrsAsyncTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CaseRuleProfile {
+
+    @Resource
+    private GobrsAsyncThreadPoolFactory threadPoolFactory;
+
+    /**
+     * 规则配置解析进快照 默认的空拦截器被跳过
+     */
+    @Test
+    public void resolve() {
+        ExecutorService executor = threadPoolFactory.getDefaultThreadPool();
+        RuleProfile profile = RuleProfile.resolve("rollback", executor, threadPoolFactory.getVersion());
+        GobrsAsyncRule rule = ConfigManager.getRule("rollback");
+        Assertions.assertEquals(rule.isTransaction(), profile.isTransaction());
+        Assertions.assertEquals(rule.isTaskInterrupt(), profile.isTaskInterrupt());
+        Assertions.assertEquals(rule.isCatchable(), profile.isCatchable());
+        Assertions.assertNull(profile.getPreInterceptor());
+        Assertions.assertNull(profile.getPostInterceptor());
+        Assertions.assertTrue(profile.getExceptionInterceptor() instanceof GobrsInterceptor);
+        Assertions.assertSame(executor, profile.getExecutor());
+    }
+}
@@ -0,0 +1,76 @@
+package com.gobrs.async.test;
+
+import com.gobrs.async.core.common.domain.TaskResult;
+import com.gobrs.async.core.common.domain.TaskResultSlots;
+import com.gobrs.async.core.common.domain.TaskStatus;
+import com.gobrs.async.core.common.enums.ResultState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static com.gobrs.async.core.common.def.DefaultConfig.TASK_FINISH;
+import static com.gobrs.async.core.common.def.DefaultConfig.TASK_INITIALIZE;
+
+/**
+ * The type Case task result slots.
+ *
+ * @program: gobrs -async
+ * @ClassName CaseTaskResultSlots
+ * @description: 任务结果以节点编号为下标保存 对外为按任务名访问的 Map 视图
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+public class CaseTaskResultSlots {
+
+    /**
+     * 节点编号写入 任务名读取 终止节点不出现在视图中
+     */
+    @Test
+    public void mapView() {
+        String[] names = {"taskA", "taskB", null};
+        Map<String, Integer> nodes = new HashMap<>();
+        nodes.put("taskA", 0);
+        nodes.put("taskB", 1);
+        TaskResultSlots slots = new TaskResultSlots(names, nodes);
+        Assertions.assertTrue(slots.isEmpty());
+
+        slots.set(1, new TaskResult<>("B", ResultState.SUCCESS));
+        slots.set(2, new TaskResult<>(null, ResultState.SUCCESS));
+        Assertions.assertEquals(1, slots.size());
+        Assertions.assertNull(slots.get("taskA"));
+        Assertions.assertEquals("B", slots.get("taskB").getResult());
+        Assertions.assertEquals(1, slots.entrySet().size());
+        Assertions.assertEquals("taskB", slots.keySet().iterator().next());
+
+        slots.put("taskA", new TaskResult<>("A", ResultState.EXCEPTION));
+        Assertions.assertEquals("A", slots.get(0).getResult());
+        Assertions.assertFalse(slots.values().stream().allMatch(r -> r.getResultState() == ResultState.SUCCESS));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> slots.put("taskC", null));
+    }
+
+    /**
+     * 已废弃的 TaskStatus 是状态数组中单个节点的视图
+     */
+    @Test
+    public void statusView() {
+        AtomicIntegerArray statuses = new AtomicIntegerArray(2);
+        AtomicIntegerArray retryCounts = new AtomicIntegerArray(2);
+        long[] startTimes = new long[2];
+        TaskStatus status = new TaskStatus("taskB", statuses, retryCounts, startTimes, 1);
+
+        Assertions.assertTrue(status.compareAndSet(TASK_INITIALIZE, TASK_FINISH));
+        Assertions.assertFalse(status.compareAndSet(TASK_INITIALIZE, TASK_FINISH));
+        Assertions.assertEquals(TASK_FINISH, statuses.get(1));
+        Assertions.assertEquals(TASK_INITIALIZE, statuses.get(0));
+
+        retryCounts.incrementAndGet(1);
+        Assertions.assertEquals(TASK_FINISH, status.getStatus().get());
+        Assertions.assertEquals(1, status.getRetryCounts().get());
+
+        status.setStartTime(42L);
+        Assertions.assertEquals(42L, startTimes[1]);
+    }
+}
@@ -0,0 +1,53 @@
+package com.gobrs.async.test.async;
+
+import com.gobrs.async.core.GobrsAsync;
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.core.common.exception.AsyncTaskTimeoutException;
+import com.gobrs.async.test.GobrsAsyncTestApplication;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The type Case go async.
+ *
+ * @program: gobrs -async
+ * @ClassName CaseGoAsync
+ * @description: 非阻塞执行任务流程
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@SpringBootTest(classes = GobrsAsyncTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CaseGoAsync {
+
+    @Resource
+    private GobrsAsync gobrsAsync;
+
+    /**
+     * 调用线程不会被阻塞 由终止任务完成 future
+     */
+    @Test
+    public void goAsync() throws Exception {
+        long start = System.currentTimeMillis();
+        CompletableFuture<AsyncResult> future = gobrsAsync.goAsync("caseOne", HashMap::new, 10000);
+        Assertions.assertTrue(System.currentTimeMillis() - start < 1000);
+        AsyncResult result = future.get();
+        Assertions.assertEquals(4, result.getResultMap().size());
+        Assertions.assertTrue(result.isStatus());
+    }
+
+    /**
+     * 流程超时 future 以超时异常完成
+     */
+    @Test
+    public void goAsyncTimeout() throws Exception {
+        CompletableFuture<AsyncResult> future = gobrsAsync.goAsync("caseTwo", HashMap::new, 100);
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class, future::get);
+        Assertions.assertTrue(exception.getCause() instanceof AsyncTaskTimeoutException);
+    }
+}
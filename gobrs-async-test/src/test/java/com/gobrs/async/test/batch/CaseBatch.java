@@ -0,0 +1,97 @@
+package com.gobrs.async.test.batch;
+
+import com.gobrs.async.core.GobrsAsync;
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.test.GobrsAsyncTestApplication;
+import com.gobrs.async.test.task.batch.CaseBatchTask;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The type Case batch.
+ * 并发流程中的批量任务合并为一次批量调用 每个流程拿到自己的结果
+ *
+ * @program: gobrs -async
+ * @ClassName CaseBatch
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@SpringBootTest(classes = GobrsAsyncTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CaseBatch {
+
+    @Resource
+    private GobrsAsync gobrsAsync;
+
+    @Resource
+    private CaseBatchTask caseBatchTask;
+
+    /**
+     * 8 个并发流程合并为少量批量调用
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void concurrentFlows() throws Exception {
+        int before = caseBatchTask.batches().size();
+        List<CompletableFuture<AsyncResult>> flows = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String id = "id" + i;
+            flows.add(gobrsAsync.goAsync("batchRule", () -> context(id), 3000));
+        }
+        for (int i = 0; i < 8; i++) {
+            AsyncResult result = flows.get(i).get();
+            Assertions.assertEquals("item:id" + i, result.getResultMap().get("caseBatchTask").getResult());
+        }
+        List<Integer> batches = caseBatchTask.batches().subList(before, caseBatchTask.batches().size());
+        Assertions.assertEquals(8, batches.stream().mapToInt(Integer::intValue).sum());
+        Assertions.assertTrue(batches.size() <= 4, "batches " + batches);
+    }
+
+    /**
+     * 单线程的规则线程池 等待窗口的流程不占用线程 仍能合并为一次批量调用
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void narrowPool() throws Exception {
+        int before = caseBatchTask.batches().size();
+        List<CompletableFuture<AsyncResult>> flows = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String id = "narrow" + i;
+            flows.add(gobrsAsync.goAsync("batchNarrowRule", () -> context(id), 3000));
+        }
+        for (int i = 0; i < 8; i++) {
+            AsyncResult result = flows.get(i).get();
+            Assertions.assertEquals("item:narrow" + i, result.getResultMap().get("caseBatchTask").getResult());
+        }
+        List<Integer> batches = caseBatchTask.batches().subList(before, caseBatchTask.batches().size());
+        Assertions.assertEquals(8, batches.stream().mapToInt(Integer::intValue).sum());
+        Assertions.assertTrue(batches.size() <= 2, "batches " + batches);
+    }
+
+    /**
+     * 线程池空闲时不等待窗口
+     */
+    @Test
+    public void idleFlush() {
+        long begin = System.currentTimeMillis();
+        AsyncResult result = gobrsAsync.go("batchRule", () -> context("single"), 3000);
+        Assertions.assertEquals("item:single", result.getResultMap().get("caseBatchTask").getResult());
+        Assertions.assertTrue(System.currentTimeMillis() - begin < 150);
+    }
+
+    private Map<String, Object> context(String id) {
+        Map<String, Object> context = new ConcurrentHashMap<>();
+        context.put("caseBatchTask", id);
+        return context;
+    }
+}
@@ -0,0 +1,64 @@
+package com.gobrs.async.test.besteffort;
+
+import com.gobrs.async.core.GobrsAsync;
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.core.common.enums.ExpState;
+import com.gobrs.async.core.common.enums.ResultState;
+import com.gobrs.async.core.common.exception.GobrsAsyncException;
+import com.gobrs.async.core.config.GobrsAsyncRule;
+import com.gobrs.async.core.engine.RuleEngine;
+import com.gobrs.async.test.GobrsAsyncTestApplication;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.HashMap;
+
+/**
+ * The type Case best effort.
+ * 尽力而为的任务超出预算 子任务拿到 null 结果继续执行 流程正常结束
+ *
+ * @program: gobrs -async
+ * @ClassName CaseBestEffort
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@SpringBootTest(classes = GobrsAsyncTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CaseBestEffort {
+
+    @Resource
+    private GobrsAsync gobrsAsync;
+
+    @Resource
+    private RuleEngine ruleEngine;
+
+    /**
+     * 推荐信息超出 200ms 预算 页面照常渲染
+     */
+    @Test
+    public void budget() {
+        long begin = System.currentTimeMillis();
+        AsyncResult result = gobrsAsync.go("bestEffortRule", HashMap::new, 3000);
+        Assertions.assertTrue(System.currentTimeMillis() - begin < 900);
+        Assertions.assertEquals(ExpState.SUCCESS.getCode(), result.getExecuteCode());
+        Assertions.assertTrue(result.isStatus());
+        Assertions.assertEquals(ResultState.TIMEOUT, result.getResultMap().get("bestEffortEnrich").getResultState());
+        Assertions.assertEquals("main+null", result.getResultMap().get("bestEffortRender").getResult());
+    }
+
+    /**
+     * 预算不是正整数时 规则解析失败 异常中带有出错的任务配置
+     */
+    @Test
+    public void invalidBudget() {
+        for (String budget : new String[]{"abc", "0", "-200", "200:300"}) {
+            GobrsAsyncRule rule = new GobrsAsyncRule();
+            rule.setName("bestEffortInvalidRule");
+            rule.setContent("bestEffortMain,bestEffortEnrich:bestEffort:" + budget + "->bestEffortRender");
+            GobrsAsyncException exception = Assertions.assertThrows(GobrsAsyncException.class, () -> ruleEngine.doParse(rule, true));
+            Assertions.assertTrue(exception.getMessage().contains("bestEffortEnrich:bestEffort:" + budget), exception.getMessage());
+        }
+    }
+}
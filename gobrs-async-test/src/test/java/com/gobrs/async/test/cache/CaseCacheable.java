@@ -0,0 +1,82 @@
+package com.gobrs.async.test.cache;
+
+import com.gobrs.async.core.GobrsAsync;
+import com.gobrs.async.core.RuleMetrics;
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.test.GobrsAsyncTestApplication;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Case cacheable.
+ * 任务结果跨请求缓存 命中时不执行任务 子任务照常执行
+ *
+ * @program: gobrs -async
+ * @ClassName CaseCacheable
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@SpringBootTest(classes = GobrsAsyncTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CaseCacheable {
+
+    @Resource
+    private GobrsAsync gobrsAsync;
+
+    /**
+     * 同一参数只查询一次
+     */
+    @Test
+    public void cacheHit() {
+        AtomicInteger lookups = new AtomicInteger();
+        AtomicInteger consumed = new AtomicInteger();
+        RuleMetrics metrics = gobrsAsync.getMetrics("cacheableRule");
+        long hits = metrics.getCacheHits();
+        long misses = metrics.getCacheMisses();
+        for (int i = 0; i < 10; i++) {
+            AsyncResult result = gobrsAsync.go("cacheableRule", () -> context("cachedLookup", "color", lookups, consumed), 3000);
+            Assertions.assertEquals("value:color", result.getResultMap().get("cachedLookup").getResult());
+        }
+        gobrsAsync.go("cacheableRule", () -> context("cachedLookup", "size", lookups, consumed), 3000);
+
+        Assertions.assertEquals(2, lookups.get());
+        Assertions.assertEquals(11, consumed.get());
+        Assertions.assertEquals(9, metrics.getCacheHits() - hits);
+        Assertions.assertEquals(2, metrics.getCacheMisses() - misses);
+    }
+
+    /**
+     * 自定义 key 提取器 缓存过期后重新查询
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test
+    public void cacheKeyAndTtl() throws InterruptedException {
+        AtomicInteger lookups = new AtomicInteger();
+        AtomicInteger consumed = new AtomicInteger();
+        AsyncResult first = gobrsAsync.go("cacheableTenantRule", () -> context("cachedTenant", "acme:alice", lookups, consumed), 3000);
+        AsyncResult second = gobrsAsync.go("cacheableTenantRule", () -> context("cachedTenant", "acme:bob", lookups, consumed), 3000);
+        Assertions.assertEquals(1, lookups.get());
+        Assertions.assertEquals("tenant:acme:alice", second.getResultMap().get("cachedTenant").getResult());
+        Assertions.assertEquals(first.getResultMap().get("cachedTenant").getResult(), second.getResultMap().get("cachedTenant").getResult());
+
+        Thread.sleep(200);
+        gobrsAsync.go("cacheableTenantRule", () -> context("cachedTenant", "acme:bob", lookups, consumed), 3000);
+        Assertions.assertEquals(2, lookups.get());
+        Assertions.assertEquals(3, consumed.get());
+    }
+
+    private Map<String, Object> context(String task, String param, AtomicInteger lookups, AtomicInteger consumed) {
+        Map<String, Object> context = new ConcurrentHashMap<>();
+        context.put(task, param);
+        context.put("lookups", lookups);
+        context.put("consumed", consumed);
+        return context;
+    }
+}
@@ -0,0 +1,84 @@
+package com.gobrs.async.test.cache;
+
+import com.gobrs.async.core.cache.ResultCache;
+import com.gobrs.async.core.cache.SlruResultCache;
+import com.gobrs.async.core.cache.TinyLfuResultCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Case result cache.
+ *
+ * @program: gobrs -async
+ * @ClassName CaseResultCache
+ * @description: 任务结果缓存的淘汰策略
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+public class CaseResultCache {
+
+    /**
+     * 一次性扫描不会挤掉频繁访问的结果
+     */
+    @Test
+    public void tinyLfuKeepsHotKeys() {
+        ResultCache<String, String> cache = new TinyLfuResultCache<>(100, 0);
+        for (int i = 0; i < 50; i++) {
+            cache.setCache("hot" + i, "v");
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                Assertions.assertEquals("v", cache.getCache("hot" + i));
+            }
+        }
+        for (int i = 0; i < 1000; i++) {
+            cache.getCache("scan" + i);
+            cache.setCache("scan" + i, "s");
+        }
+        int kept = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.getCache("hot" + i) != null) {
+                kept++;
+            }
+        }
+        Assertions.assertTrue(kept >= 45, "hot keys kept " + kept);
+        Assertions.assertTrue(cache.size() <= 100);
+    }
+
+    /**
+     * 命中两次的结果进入保护区 淘汰只发生在试用区
+     */
+    @Test
+    public void slruProtectsReusedKeys() {
+        ResultCache<String, String> cache = new SlruResultCache<>(10, 0);
+        for (int i = 0; i < 5; i++) {
+            cache.setCache("reused" + i, "v");
+            cache.getCache("reused" + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            cache.setCache("once" + i, "o");
+        }
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals("v", cache.getCache("reused" + i));
+        }
+        Assertions.assertEquals(10, cache.size());
+        Assertions.assertNull(cache.getCache("once0"));
+    }
+
+    /**
+     * 过期的结果按未命中处理
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test
+    public void expiry() throws InterruptedException {
+        ResultCache<String, String> cache = new SlruResultCache<>(10, 50);
+        cache.setCache("k", "v");
+        Assertions.assertEquals("v", cache.getCache("k"));
+        Thread.sleep(100);
+        Assertions.assertNull(cache.getCache("k"));
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(1, cache.getHits());
+        Assertions.assertEquals(1, cache.getMisses());
+    }
+}
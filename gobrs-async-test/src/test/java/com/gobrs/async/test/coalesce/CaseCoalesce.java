@@ -0,0 +1,170 @@
+package com.gobrs.async.test.coalesce;
+
+import com.gobrs.async.core.GobrsAsync;
+import com.gobrs.async.core.RuleMetrics;
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.core.common.enums.ExpState;
+import com.gobrs.async.core.common.enums.ResultState;
+import com.gobrs.async.core.common.exception.AsyncTaskTimeoutException;
+import com.gobrs.async.test.GobrsAsyncTestApplication;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type Case coalesce.
+ * 合并执行 相同 key 的并发请求共享一次流程执行
+ *
+ * @program: gobrs -async
+ * @ClassName CaseCoalesce
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@SpringBootTest(classes = GobrsAsyncTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CaseCoalesce {
+
+    @Resource
+    private GobrsAsync gobrsAsync;
+
+    /**
+     * 8 个并发请求只执行一次 拿到同一个结果
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void sharedFlow() throws Exception {
+        gobrsAsync.coalesce("coalesceRule", param -> ((Map) param).get("sku"));
+        AtomicInteger executions = new AtomicInteger();
+        RuleMetrics metrics = gobrsAsync.getMetrics("coalesceRule");
+        long coalesced = metrics.getCoalesced();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<AsyncResult>> callers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            callers.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return gobrsAsync.go("coalesceRule", () -> context("sku-1", executions), 3000);
+            }, pool));
+        }
+        start.countDown();
+        AsyncResult first = callers.get(0).get();
+        Assertions.assertEquals("sku:sku-1", first.getResultMap().get("coalesceLookup").getResult());
+        for (CompletableFuture<AsyncResult> caller : callers) {
+            Assertions.assertSame(first, caller.get());
+        }
+        Assertions.assertEquals(1, executions.get());
+        Assertions.assertEquals(7, metrics.getCoalesced() - coalesced);
+        pool.shutdown();
+
+        gobrsAsync.go("coalesceRule", () -> context("sku-1", executions), 3000);
+        Assertions.assertEquals(2, executions.get());
+    }
+
+    /**
+     * 调用方各自超时 不影响其他调用方
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void callerTimeout() throws Exception {
+        gobrsAsync.coalesce("coalesceRule", param -> ((Map) param).get("sku"));
+        AtomicInteger executions = new AtomicInteger();
+        CompletableFuture<AsyncResult> patient = gobrsAsync.goAsync("coalesceRule", () -> context("sku-2", executions), 3000);
+        Assertions.assertThrows(AsyncTaskTimeoutException.class,
+                () -> gobrsAsync.go("coalesceRule", () -> context("sku-2", executions), 50));
+        Assertions.assertEquals("sku:sku-2", patient.get().getResultMap().get("coalesceLookup").getResult());
+        Assertions.assertEquals(1, executions.get());
+    }
+
+    /**
+     * 共享流程带有截止时间 后加入的调用方推后截止时间
+     * 任务开始的时机早于或晚于第二个调用方加入 看到的剩余时间分别不超过 100ms 或 3000ms
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void deadline() throws Exception {
+        gobrsAsync.coalesce("coalesceRule", param -> ((Map) param).get("sku"));
+        AtomicInteger executions = new AtomicInteger();
+        AtomicLong remaining = new AtomicLong();
+        Map<String, Object> context = context("sku-4", executions);
+        context.put("remaining", remaining);
+        CompletableFuture<AsyncResult> hasty = gobrsAsync.goAsync("coalesceRule", () -> context, 100);
+        CompletableFuture<AsyncResult> patient = gobrsAsync.goAsync("coalesceRule", () -> context("sku-4", executions), 3000);
+        Assertions.assertEquals("sku:sku-4", patient.get().getResultMap().get("coalesceLookup").getResult());
+        ExecutionException timeout = Assertions.assertThrows(ExecutionException.class, hasty::get);
+        Assertions.assertTrue(timeout.getCause() instanceof AsyncTaskTimeoutException);
+        Assertions.assertEquals(1, executions.get());
+        Assertions.assertTrue(remaining.get() <= 3000, "remaining " + remaining.get());
+    }
+
+    /**
+     * partialOnTimeout 的规则 超时的调用方拿到共享流程的部分结果 共享流程继续为其他调用方执行
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void partialOnTimeout() throws Exception {
+        gobrsAsync.coalesce("partialCoalesceRule", param -> "partial");
+        CompletableFuture<AsyncResult> hasty = gobrsAsync.goAsync("partialCoalesceRule", HashMap::new, 200);
+        CompletableFuture<AsyncResult> patient = gobrsAsync.goAsync("partialCoalesceRule", HashMap::new, 3000);
+
+        AsyncResult partial = hasty.get(900, TimeUnit.MILLISECONDS);
+        Assertions.assertEquals(ExpState.TIMEOUT.getCode(), partial.getExecuteCode());
+        Assertions.assertFalse(partial.isStatus());
+        Assertions.assertEquals("fast", partial.getResultMap().get("partialFast").getResult());
+        Assertions.assertEquals(ResultState.TIMEOUT, partial.getResultMap().get("partialSlow").getResultState());
+
+        AsyncResult result = patient.get();
+        Assertions.assertTrue(result.isStatus());
+        Assertions.assertEquals("slow", result.getResultMap().get("partialSlow").getResult());
+
+        AsyncResult alone = gobrsAsync.go("partialCoalesceRule", HashMap::new, 200);
+        Assertions.assertEquals(ExpState.TIMEOUT.getCode(), alone.getExecuteCode());
+        Assertions.assertEquals(ResultState.TIMEOUT, alone.getResultMap().get("partialSlow").getResultState());
+    }
+
+    /**
+     * 所有调用方都退出后 共享流程被取消 之后的请求重新执行
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void abandoned() throws Exception {
+        gobrsAsync.coalesce("coalesceRule", param -> ((Map) param).get("sku"));
+        AtomicInteger executions = new AtomicInteger();
+        CompletableFuture<AsyncResult> caller = gobrsAsync.goAsync("coalesceRule", () -> context("sku-3", executions), 3000);
+        Thread.sleep(50);
+        caller.cancel(true);
+        AsyncResult result = gobrsAsync.go("coalesceRule", () -> context("sku-3", executions), 3000);
+        Assertions.assertEquals("sku:sku-3", result.getResultMap().get("coalesceLookup").getResult());
+        Assertions.assertEquals(2, executions.get());
+    }
+
+    private Map<String, Object> context(String sku, AtomicInteger executions) {
+        Map<String, Object> context = new ConcurrentHashMap<>();
+        context.put("sku", sku);
+        context.put("executions", executions);
+        return context;
+    }
+}
@@ -0,0 +1,45 @@
+package com.gobrs.async.test.critical;
+
+import com.gobrs.async.core.GobrsAsync;
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.test.GobrsAsyncTestApplication;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The type Case critical path.
+ * 同时就绪的子任务按剩余关键路径调度 最长的分支复用父任务线程
+ *
+ * @program: gobrs -async
+ * @ClassName CaseCriticalPath
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@SpringBootTest(classes = GobrsAsyncTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CaseCriticalPath {
+
+    @Resource
+    private GobrsAsync gobrsAsync;
+
+    /**
+     * 估算出优先级之后 criticalPathLong 不再排队 直接在 criticalPathA 的线程上执行
+     */
+    @Test
+    public void criticalPath() {
+        Map<String, Thread> threads = new ConcurrentHashMap<>();
+        for (int i = 0; i < 33; i++) {
+            threads.clear();
+            AsyncResult result = gobrsAsync.go("criticalPathRule", () -> threads, 3000);
+            Assertions.assertTrue(result.isStatus());
+        }
+        Thread parent = threads.get("criticalPathA");
+        Assertions.assertSame(parent, threads.get("criticalPathLong"));
+        Assertions.assertNotSame(parent, threads.get("criticalPathShortC"));
+    }
+}
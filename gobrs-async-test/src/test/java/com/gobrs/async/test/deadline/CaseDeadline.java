@@ -0,0 +1,43 @@
+package com.gobrs.async.test.deadline;
+
+import com.gobrs.async.core.GobrsAsync;
+import com.gobrs.async.test.GobrsAsyncTestApplication;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The type Case deadline.
+ * 流程截止时间传递给每个任务 单任务超时不超过剩余时间 截止之后的任务不再执行
+ *
+ * @program: gobrs -async
+ * @ClassName CaseDeadline
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@SpringBootTest(classes = GobrsAsyncTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CaseDeadline {
+
+    @Resource
+    private GobrsAsync gobrsAsync;
+
+    /**
+     * 流程 200ms 超时后 deadlineTaskB 在剩余时间耗尽时被中断 deadlineTaskC 不再执行
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test
+    public void deadline() throws InterruptedException {
+        Map<String, Object> trace = new ConcurrentHashMap<>();
+        Assertions.assertThrows(Exception.class, () -> gobrsAsync.go("deadlineRule", () -> trace, 200));
+        Thread.sleep(700);
+        Assertions.assertTrue((Long) trace.get("remaining") <= 200);
+        Assertions.assertEquals("interrupted", trace.get("deadlineTaskB"));
+        Assertions.assertNull(trace.get("deadlineTaskC"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.gobrs.async.test.fanin;
+
+import com.gobrs.async.core.GobrsAsync;
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.core.common.enums.ResultState;
+import com.gobrs.async.test.GobrsAsyncTestApplication;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.HashMap;
+
+/**
+ * The type Case fan in.
+ * 宽扇入场景 16 个父任务同时释放同一个聚合任务的依赖
+ *
+ * @program: gobrs -async
+ * @ClassName CaseFanIn
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@SpringBootTest(classes = GobrsAsyncTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CaseFanIn {
+
+    private static final int WARM_UP = 2000;
+
+    private static final int ROUNDS = 20000;
+
+    @Resource
+    private GobrsAsync gobrsAsync;
+
+    /**
+     * 聚合任务只执行一次 且所有父任务执行完成后才执行
+     */
+    @Test
+    public void fanInOnce() {
+        for (int i = 0; i < 100; i++) {
+            AsyncResult result = gobrsAsync.go("fanIn", HashMap::new);
+            Assertions.assertEquals(17, result.getResultMap().size());
+            Assertions.assertEquals(ResultState.SUCCESS, result.getResultMap().get("fanInAggregate").getResultState());
+        }
+    }
+
+    /**
+     * Fan in benchmark.
+     */
+    @Test
+    public void fanInBenchmark() {
+        for (int i = 0; i < WARM_UP; i++) {
+            gobrsAsync.go("fanIn", HashMap::new);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            gobrsAsync.go("fanIn", HashMap::new);
+        }
+        long cost = System.nanoTime() - start;
+        System.out.printf("fanIn %d flows, avg %.2f us/flow, %.0f flows/s%n", ROUNDS, cost / 1000.0 / ROUNDS, ROUNDS * 1e9 / cost);
+    }
+}
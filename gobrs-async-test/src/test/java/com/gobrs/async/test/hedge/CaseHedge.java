@@ -0,0 +1,87 @@
+package com.gobrs.async.test.hedge;
+
+import com.gobrs.async.core.GobrsAsync;
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.core.common.enums.ExpState;
+import com.gobrs.async.test.GobrsAsyncTestApplication;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Case hedge.
+ * 对冲执行 首次执行过慢时再发起一次 先完成的结果生效 慢的一次被取消
+ *
+ * @program: gobrs -async
+ * @ClassName CaseHedge
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@SpringBootTest(classes = GobrsAsyncTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CaseHedge {
+
+    @Resource
+    private GobrsAsync gobrsAsync;
+
+    /**
+     * 50ms 后对冲 第二次执行的结果生效
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test
+    public void hedgeFixed() throws InterruptedException {
+        Map<String, Object> context = context(true);
+        long begin = System.currentTimeMillis();
+        AsyncResult result = gobrsAsync.go("hedgeFixedRule", () -> context, 3000);
+        Assertions.assertTrue(System.currentTimeMillis() - begin < 500);
+        Assertions.assertEquals("fast", result.getResultMap().get("hedgeFixed").getResult());
+        Thread.sleep(100);
+        Assertions.assertEquals(2, ((AtomicInteger) context.get("attempts")).get());
+        Assertions.assertEquals(1, ((AtomicInteger) context.get("cancelled")).get());
+    }
+
+    /**
+     * 积累足够的耗时样本后 按 p95 对冲
+     */
+    @Test
+    public void hedgeP95() {
+        for (int i = 0; i < 32; i++) {
+            AsyncResult result = gobrsAsync.go("hedgeP95Rule", () -> context(false), 3000);
+            Assertions.assertEquals("fast", result.getResultMap().get("hedgeP95").getResult());
+        }
+        Map<String, Object> context = context(true);
+        long begin = System.currentTimeMillis();
+        AsyncResult result = gobrsAsync.go("hedgeP95Rule", () -> context, 3000);
+        Assertions.assertTrue(System.currentTimeMillis() - begin < 500);
+        Assertions.assertEquals("fast", result.getResultMap().get("hedgeP95").getResult());
+    }
+
+    /**
+     * 线程池只有一个线程 对冲排队等待 首次执行完成即返回 不会饿死
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void hedgeNarrowPool() throws Exception {
+        Map<String, Object> context = context(true);
+        AsyncResult result = gobrsAsync.goAsync("hedgeNarrowRule", () -> context, 3000).get(3, TimeUnit.SECONDS);
+        Assertions.assertEquals(ExpState.SUCCESS.getCode(), result.getExecuteCode());
+        Assertions.assertEquals("slow", result.getResultMap().get("hedgeFixed").getResult());
+    }
+
+    private Map<String, Object> context(boolean slow) {
+        Map<String, Object> context = new ConcurrentHashMap<>();
+        context.put("attempts", new AtomicInteger());
+        context.put("cancelled", new AtomicInteger());
+        context.put("slow", new AtomicBoolean(slow));
+        return context;
+    }
+}
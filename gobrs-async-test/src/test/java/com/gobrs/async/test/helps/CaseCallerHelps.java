@@ -0,0 +1,52 @@
+package com.gobrs.async.test.helps;
+
+import com.gobrs.async.core.GobrsAsync;
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.test.GobrsAsyncTestApplication;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The type Case caller helps.
+ * 调用线程等待流程结束期间 执行本流程就绪的任务
+ *
+ * @program: gobrs -async
+ * @ClassName CaseCallerHelps
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@SpringBootTest(classes = GobrsAsyncTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CaseCallerHelps {
+
+    @Resource
+    private GobrsAsync gobrsAsync;
+
+    /**
+     * 调用线程空闲时 callerHelpsTaskB 由调用线程执行
+     */
+    @Test
+    public void callerHelps() {
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        AsyncResult result = gobrsAsync.go("callerHelps", () -> threads, 3000);
+        Assertions.assertTrue(result.isStatus());
+        Assertions.assertEquals(3, result.getResultMap().size());
+        Assertions.assertSame(Thread.currentThread(), threads.get(0));
+    }
+
+    /**
+     * 未开启时 调用线程只等待
+     */
+    @Test
+    public void callerWaits() {
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        AsyncResult result = gobrsAsync.go("callerWaits", () -> threads, 3000);
+        Assertions.assertTrue(result.isStatus());
+        Assertions.assertNotSame(Thread.currentThread(), threads.get(0));
+    }
+}
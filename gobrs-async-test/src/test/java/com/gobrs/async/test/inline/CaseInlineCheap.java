@@ -0,0 +1,49 @@
+package com.gobrs.async.test.inline;
+
+import com.gobrs.async.core.GobrsAsync;
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.test.GobrsAsyncTestApplication;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The type Case inline cheap.
+ * 耗时低于阈值的子任务 预热后直接在父任务线程上执行
+ *
+ * @program: gobrs -async
+ * @ClassName CaseInlineCheap
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@SpringBootTest(classes = GobrsAsyncTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CaseInlineCheap {
+
+    @Resource
+    private GobrsAsync gobrsAsync;
+
+    /**
+     * 预热之后 inlineTaskB inlineTaskC 与 inlineTaskA 在同一线程执行
+     * 偶发的慢执行(GC 等)会暂时抬高移动平均耗时 因此只要求大多数流程内联执行
+     */
+    @Test
+    public void inlineCheap() {
+        Map<String, Thread> threads = new ConcurrentHashMap<>();
+        int inlined = 0;
+        for (int i = 0; i < 64; i++) {
+            threads.clear();
+            AsyncResult result = gobrsAsync.go("inlineCheap", () -> threads, 3000);
+            Assertions.assertTrue(result.isStatus());
+            Thread parent = threads.get("inlineTaskA");
+            if (parent == threads.get("inlineTaskB") && parent == threads.get("inlineTaskC")) {
+                inlined++;
+            }
+        }
+        Assertions.assertTrue(inlined >= 32, "inlined " + inlined);
+    }
+}
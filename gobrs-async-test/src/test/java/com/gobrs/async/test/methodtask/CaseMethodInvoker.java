@@ -0,0 +1,112 @@
+package com.gobrs.async.test.methodtask;
+
+import com.gobrs.async.core.TaskSupport;
+import com.gobrs.async.core.common.exception.InvokeMethodTaskException;
+import com.gobrs.async.core.common.exception.MethodTaskArgumentException;
+import com.gobrs.async.core.common.util.ParamsTool;
+import com.gobrs.async.core.task.MethodInvoker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * The type Case method invoker.
+ *
+ * @program: gobrs -async
+ * @ClassName CaseMethodInvoker
+ * @description: 方法任务预编译调用器的参数绑定
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+public class CaseMethodInvoker {
+
+    private final Target target = new Target();
+
+    /**
+     * 列表参数按位置绑定 TaskSupport 参数位注入 support
+     */
+    @Test
+    public void bindByPosition() {
+        MethodInvoker invoker = compile("concat", String.class, Integer.class, TaskSupport.class);
+        Assertions.assertEquals("a1null", invoker.invoke(ParamsTool.asParams("a", 1), null));
+    }
+
+    /**
+     * 非列表参数绑定到第一个参数位 类型不匹配的参数为 null
+     */
+    @Test
+    public void bindSingleParameter() {
+        MethodInvoker invoker = compile("concat", String.class, Integer.class, TaskSupport.class);
+        Assertions.assertEquals("anullnull", invoker.invoke("a", null));
+        Assertions.assertEquals("nullnullnull", invoker.invoke(1L, null));
+    }
+
+    /**
+     * 无参方法忽略参数 基本类型参数缺失时报参数异常
+     */
+    @Test
+    public void arityAndPrimitives() {
+        Assertions.assertEquals("none", compile("none").invoke("ignored", null));
+        MethodInvoker primitive = compile("twice", int.class);
+        Assertions.assertEquals(4, primitive.invoke(2, null));
+        Assertions.assertThrows(MethodTaskArgumentException.class, () -> primitive.invoke(null, null));
+    }
+
+    /**
+     * 方法异常包装为 InvokeMethodTaskException
+     */
+    @Test
+    public void wrapException() {
+        InvokeMethodTaskException exception = Assertions.assertThrows(InvokeMethodTaskException.class,
+                () -> compile("fail").invoke(null, null));
+        Assertions.assertTrue(exception.getCause() instanceof IllegalStateException);
+    }
+
+    private MethodInvoker compile(String name, Class<?>... types) {
+        return MethodInvoker.compile(name, ReflectionUtils.findMethod(Target.class, name, types), target);
+    }
+
+    /**
+     * The type Target.
+     */
+    public static class Target {
+
+        /**
+         * Concat string.
+         *
+         * @param s       the s
+         * @param i       the
+         * @param support the support
+         * @return the string
+         */
+        public String concat(String s, Integer i, TaskSupport support) {
+            return s + i + support;
+        }
+
+        /**
+         * None string.
+         *
+         * @return the string
+         */
+        public String none() {
+            return "none";
+        }
+
+        /**
+         * Twice int.
+         *
+         * @param i the
+         * @return the int
+         */
+        public int twice(int i) {
+            return i * 2;
+        }
+
+        /**
+         * Fail.
+         */
+        public void fail() {
+            throw new IllegalStateException("fail");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.gobrs.async.test.partial;
+
+import com.gobrs.async.core.GobrsAsync;
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.core.common.enums.ExpState;
+import com.gobrs.async.core.common.enums.ResultState;
+import com.gobrs.async.test.GobrsAsyncTestApplication;
+import com.gobrs.async.test.task.partial.CasePartialTask;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Case partial.
+ * 流程超时 返回已完成任务的结果 未完成的任务状态为 TIMEOUT
+ *
+ * @program: gobrs -async
+ * @ClassName CasePartial
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@SpringBootTest(classes = GobrsAsyncTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CasePartial {
+
+    @Resource
+    private GobrsAsync gobrsAsync;
+
+    /**
+     * 同步执行 超时不抛异常
+     */
+    @Test
+    public void sync() {
+        long begin = System.currentTimeMillis();
+        AsyncResult result = gobrsAsync.go("partialRule", HashMap::new, 200);
+        Assertions.assertTrue(System.currentTimeMillis() - begin < 900);
+        assertPartial(result);
+    }
+
+    /**
+     * 异步执行 future 正常完成
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void async() throws Exception {
+        AsyncResult result = gobrsAsync.goAsync("partialRule", HashMap::new, 200).get(900, TimeUnit.MILLISECONDS);
+        assertPartial(result);
+    }
+
+    /**
+     * interruptionImmediate 默认开启 超时后未完成的任务被中断 中断产生的异常结果不影响部分结果
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void interrupted() throws Exception {
+        int before = CasePartialTask.INTERRUPTED.get();
+        AsyncResult result = gobrsAsync.go("partialRule", HashMap::new, 200);
+        long deadline = System.currentTimeMillis() + 500;
+        while (CasePartialTask.INTERRUPTED.get() == before && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertTrue(CasePartialTask.INTERRUPTED.get() > before);
+        assertPartial(result);
+    }
+
+    private void assertPartial(AsyncResult result) {
+        Assertions.assertEquals(ExpState.TIMEOUT.getCode(), result.getExecuteCode());
+        Assertions.assertFalse(result.isStatus());
+        Assertions.assertEquals(ResultState.SUCCESS, result.getResultMap().get("partialFast").getResultState());
+        Assertions.assertEquals("fast", result.getResultMap().get("partialFast").getResult());
+        Assertions.assertEquals(ResultState.TIMEOUT, result.getResultMap().get("partialSlow").getResultState());
+        Assertions.assertNull(result.getResultMap().get("partialSlow").getResult());
+        Assertions.assertEquals(ResultState.TIMEOUT, result.getResultMap().get("partialEnd").getResultState());
+    }
+}
@@ -0,0 +1,63 @@
+package com.gobrs.async.test.purge;
+
+import com.gobrs.async.core.GobrsAsync;
+import com.gobrs.async.core.RuleMetrics;
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.test.GobrsAsyncTestApplication;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.gobrs.async.core.common.def.DefaultConfig.PURGE_TOMBSTONES;
+
+/**
+ * The type Case purge.
+ * 超时流程中尚未开始的任务从线程池队列中清理 不再占用队列
+ *
+ * @program: gobrs -async
+ * @ClassName CasePurge
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@SpringBootTest(classes = GobrsAsyncTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CasePurge {
+
+    @Resource
+    private GobrsAsync gobrsAsync;
+
+    /**
+     * 第一个流程占用唯一的线程 之后每个流程的首个任务都在队列中排队 流程超时后被取消
+     * 第 16 个取消的任务达到清理阈值 队列中的 15 个排队任务被统一清理
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test
+    public void purge() throws InterruptedException {
+        RuleMetrics metrics = gobrsAsync.getMetrics("purgeRule");
+        long purged = metrics.getPurged();
+        long wasted = metrics.getWasted();
+
+        Map<String, Object> context = new ConcurrentHashMap<>();
+        CountDownLatch release = new CountDownLatch(1);
+        context.put("release", release);
+        context.put("queued", new AtomicInteger());
+        for (int i = 0; i < 20; i++) {
+            CompletableFuture<AsyncResult> future = gobrsAsync.goAsync("purgeRule", () -> context, 20);
+            Assertions.assertThrows(ExecutionException.class, future::get);
+        }
+        Assertions.assertEquals(PURGE_TOMBSTONES - 1, metrics.getPurged() - purged);
+
+        release.countDown();
+        Thread.sleep(200);
+        Assertions.assertEquals(1, metrics.getWasted() - wasted);
+    }
+}
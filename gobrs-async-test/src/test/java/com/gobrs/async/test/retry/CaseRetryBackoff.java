@@ -0,0 +1,62 @@
+package com.gobrs.async.test.retry;
+
+import com.gobrs.async.core.GobrsAsync;
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.core.common.enums.ExpState;
+import com.gobrs.async.core.common.enums.ResultState;
+import com.gobrs.async.test.GobrsAsyncTestApplication;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Case retry backoff.
+ *
+ * @program: gobrs -async
+ * @ClassName CaseRetryBackoff
+ * @description: 重试按退避策略由定时器调度
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@SpringBootTest(classes = GobrsAsyncTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CaseRetryBackoff {
+
+    private static final String TASK = "caseRetryBackoffTask";
+
+    @Resource
+    private GobrsAsync gobrsAsync;
+
+    /**
+     * 第一次重试间隔 50ms 第二次重试间隔 100ms
+     */
+    @Test
+    public void exponentialBackoff() {
+        List<Long> attempts = new CopyOnWriteArrayList<>();
+        AsyncResult result = gobrsAsync.go("retryBackoff", () -> attempts, 5000);
+        Assertions.assertEquals(ResultState.SUCCESS, result.getResultMap().get(TASK).getResultState());
+        Assertions.assertEquals(3, attempts.size());
+        Assertions.assertTrue(gap(attempts, 1) >= 50);
+        Assertions.assertTrue(gap(attempts, 2) >= 100);
+    }
+
+    /**
+     * 流程剩余时间不足以等到下一次重试 放弃重试
+     */
+    @Test
+    public void cappedByFlowDeadline() {
+        List<Long> attempts = new CopyOnWriteArrayList<>();
+        AsyncResult result = gobrsAsync.go("retryBackoff", () -> attempts, 120);
+        Assertions.assertEquals(ExpState.ERROR.getCode(), result.getExecuteCode());
+        Assertions.assertEquals(ResultState.EXCEPTION, result.getResultMap().get(TASK).getResultState());
+        Assertions.assertEquals(2, attempts.size());
+    }
+
+    private long gap(List<Long> attempts, int i) {
+        return TimeUnit.NANOSECONDS.toMillis(attempts.get(i) - attempts.get(i - 1));
+    }
+}
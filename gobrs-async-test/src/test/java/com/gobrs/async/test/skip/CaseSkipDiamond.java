@@ -0,0 +1,44 @@
+package com.gobrs.async.test.skip;
+
+import com.gobrs.async.core.GobrsAsync;
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.core.common.domain.TaskResult;
+import com.gobrs.async.core.common.enums.ResultState;
+import com.gobrs.async.test.GobrsAsyncTestApplication;
+import com.gobrs.async.test.task.skip.CaseSkipTask;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The type Case skip diamond.
+ * 任务失败后跳过菱形子图 每个后代任务只标记一次 终止节点只释放一次
+ *
+ * @program: gobrs -async
+ * @ClassName CaseSkipDiamond
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@SpringBootTest(classes = GobrsAsyncTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CaseSkipDiamond {
+
+    @Resource
+    private GobrsAsync gobrsAsync;
+
+    /**
+     * 菱形子图被跳过后 流程仍然等待独立任务链执行完成
+     */
+    @Test
+    public void skipDiamond() {
+        AsyncResult result = gobrsAsync.go("skipDiamond", HashMap::new, 5000);
+        Map<String, TaskResult> resultMap = result.getResultMap();
+        Assertions.assertEquals(ResultState.EXCEPTION, resultMap.get("skipTaskA").getResultState());
+        Assertions.assertEquals(CaseSkipTask.E_RESULT, resultMap.get("skipTaskE").getResult());
+        Assertions.assertEquals(2, resultMap.size());
+    }
+}
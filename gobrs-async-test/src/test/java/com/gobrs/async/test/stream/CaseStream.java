@@ -0,0 +1,96 @@
+package com.gobrs.async.test.stream;
+
+import com.gobrs.async.core.GobrsAsync;
+import com.gobrs.async.core.ResultListener;
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.core.common.domain.TaskResult;
+import com.gobrs.async.core.common.enums.ExpState;
+import com.gobrs.async.core.common.exception.AsyncTaskTimeoutException;
+import com.gobrs.async.test.GobrsAsyncTestApplication;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The type Case stream.
+ * 流程执行期间逐个推送任务结果 结束时推送完成通知
+ *
+ * @program: gobrs -async
+ * @ClassName CaseStream
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@SpringBootTest(classes = GobrsAsyncTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CaseStream {
+
+    @Resource
+    private GobrsAsync gobrsAsync;
+
+    /**
+     * 页头结果在流程结束前送达
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void earlyResults() throws Exception {
+        List<String> events = new CopyOnWriteArrayList<>();
+        CountDownLatch header = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+        long begin = System.currentTimeMillis();
+        gobrsAsync.goAsync("streamRule", HashMap::new, 3000, new ResultListener() {
+            @Override
+            public void onResult(String taskName, TaskResult result) {
+                events.add(taskName + "=" + result.getResult());
+                header.countDown();
+            }
+
+            @Override
+            public void onComplete(int code, AsyncResult result) {
+                events.add("complete=" + code);
+                completed.countDown();
+            }
+        });
+        Assertions.assertTrue(header.await(3, TimeUnit.SECONDS));
+        Assertions.assertTrue(System.currentTimeMillis() - begin < 200);
+        Assertions.assertTrue(completed.await(3, TimeUnit.SECONDS));
+        Assertions.assertEquals(Arrays.asList("streamHeader=header", "streamBody=body", "complete=" + ExpState.SUCCESS.getCode()), events);
+    }
+
+    /**
+     * 流程超时 监听器收到异常通知
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void timeout() throws Exception {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        CompletableFuture<AsyncResult> future = gobrsAsync.goAsync("streamRule", HashMap::new, 100, new ResultListener() {
+            @Override
+            public void onResult(String taskName, TaskResult result) {
+            }
+
+            @Override
+            public void onError(Throwable ex) {
+                error.set(ex);
+                completed.countDown();
+            }
+        });
+        ExecutionException thrown = Assertions.assertThrows(ExecutionException.class, future::get);
+        Assertions.assertTrue(thrown.getCause() instanceof AsyncTaskTimeoutException);
+        Assertions.assertTrue(completed.await(3, TimeUnit.SECONDS));
+        Assertions.assertTrue(error.get() instanceof AsyncTaskTimeoutException);
+    }
+}
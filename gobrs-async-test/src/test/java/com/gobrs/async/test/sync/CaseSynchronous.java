@@ -0,0 +1,87 @@
+package com.gobrs.async.test.sync;
+
+import com.gobrs.async.core.GobrsAsync;
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.test.GobrsAsyncTestApplication;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The type Case synchronous.
+ * 小规则整个流程在调用线程上同步执行
+ *
+ * @program: gobrs -async
+ * @ClassName CaseSynchronous
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@SpringBootTest(classes = GobrsAsyncTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CaseSynchronous {
+
+    @Resource
+    private GobrsAsync gobrsAsync;
+
+    /**
+     * 配置同步执行 所有任务都在调用线程上执行
+     */
+    @Test
+    public void synchronous() {
+        Map<String, Thread> threads = new ConcurrentHashMap<>();
+        warmUp("synchronousRule", threads);
+        AsyncResult result = gobrsAsync.go("synchronousRule", () -> threads, 3000);
+        Assertions.assertTrue(result.isStatus());
+        Assertions.assertEquals(4, result.getResultMap().size());
+        Assertions.assertEquals("syncTaskD", result.getResultMap().get("syncTaskD").getResult());
+        Assertions.assertEquals(4, threads.size());
+        threads.values().forEach(thread -> Assertions.assertSame(Thread.currentThread(), thread));
+    }
+
+    /**
+     * syncSlowTask 耗时超出预期(默认 1000 微秒) 之后就绪的 syncTaskB 提交线程池 最后一个子任务 syncTaskC 仍复用当前线程
+     */
+    @Test
+    public void fallback() {
+        Map<String, Thread> threads = new ConcurrentHashMap<>();
+        warmUp("synchronousFallback", threads);
+        AsyncResult result = gobrsAsync.go("synchronousFallback", () -> threads, 3000);
+        Assertions.assertTrue(result.isStatus());
+        Assertions.assertEquals(4, result.getResultMap().size());
+        Assertions.assertNotSame(Thread.currentThread(), threads.get("syncTaskB"));
+        Assertions.assertSame(Thread.currentThread(), threads.get("syncTaskC"));
+    }
+
+    /**
+     * 规则很小且每个任务耗时都低于阈值 预热后自动选择同步执行
+     */
+    @Test
+    public void profiled() {
+        Map<String, Thread> threads = new ConcurrentHashMap<>();
+        int synchronous = 0;
+        for (int i = 0; i < 64; i++) {
+            threads.clear();
+            AsyncResult result = gobrsAsync.go("synchronousProfiled", () -> threads, 3000);
+            Assertions.assertTrue(result.isStatus());
+            Assertions.assertEquals(3, threads.size());
+            if (threads.values().stream().allMatch(thread -> thread == Thread.currentThread())) {
+                synchronous++;
+            }
+        }
+        Assertions.assertTrue(synchronous >= 32, "synchronous " + synchronous);
+    }
+
+    /**
+     * 冷启动时首次执行的任务较慢 会使同步流程退回并行执行
+     */
+    private void warmUp(String ruleName, Map<String, Thread> threads) {
+        for (int i = 0; i < 16; i++) {
+            gobrsAsync.go(ruleName, () -> threads, 3000);
+        }
+        threads.clear();
+    }
+}
@@ -0,0 +1,56 @@
+package com.gobrs.async.test.timeout;
+
+import com.gobrs.async.core.timer.GobrsTimer;
+import com.gobrs.async.core.timer.TaskWatchdog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Case task watchdog.
+ *
+ * @program: gobrs -async
+ * @ClassName CaseTaskWatchdog
+ * @description: 任务超时看门狗 看守任务所在线程
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+public class CaseTaskWatchdog {
+
+    /**
+     * 任务按时完成 看门狗不做任何事
+     */
+    @Test
+    public void finishInTime() throws InterruptedException {
+        AtomicInteger timeouts = new AtomicInteger();
+        TaskWatchdog watchdog = new TaskWatchdog(50, false, timeouts::incrementAndGet);
+        GobrsTimer.getInstance(null).addTimerListener(watchdog);
+        Assertions.assertTrue(watchdog.finish());
+        Thread.sleep(100);
+        Assertions.assertEquals(0, timeouts.get());
+        Assertions.assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    /**
+     * 任务超时 看门狗中断任务线程并接管后续流程 任务线程的结果被丢弃
+     */
+    @Test
+    public void timeoutInterrupt() throws InterruptedException {
+        CountDownLatch timedOut = new CountDownLatch(1);
+        TaskWatchdog watchdog = new TaskWatchdog(50, false, timedOut::countDown);
+        GobrsTimer.getInstance(null).addTimerListener(watchdog);
+        boolean interrupted = false;
+        try {
+            Thread.sleep(5000);
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+        Assertions.assertTrue(interrupted);
+        Assertions.assertFalse(watchdog.finish());
+        Assertions.assertTrue(timedOut.await(1, TimeUnit.SECONDS));
+        Assertions.assertFalse(Thread.currentThread().isInterrupted());
+    }
+}
@@ -0,0 +1,79 @@
+package com.gobrs.async.test.timeout;
+
+import com.gobrs.async.core.timer.HashedWheelTimer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Case wheel timer.
+ *
+ * @program: gobrs -async
+ * @ClassName CaseWheelTimer
+ * @description: 时间轮定时器
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+public class CaseWheelTimer {
+
+    /**
+     * 取消的任务不会执行 其余任务到期后只执行一次
+     */
+    @Test
+    public void expireAndCancel() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        HashedWheelTimer timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 64, executor);
+        try {
+            int count = 10000;
+            AtomicInteger fired = new AtomicInteger();
+            CountDownLatch latch = new CountDownLatch(count / 2);
+            List<HashedWheelTimer.Timeout> timeouts = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                timeouts.add(timer.newTimeout(() -> {
+                    fired.incrementAndGet();
+                    latch.countDown();
+                }, 50 + i % 200, TimeUnit.MILLISECONDS));
+            }
+            for (int i = 0; i < count; i += 2) {
+                Assertions.assertTrue(timeouts.get(i).cancel());
+            }
+            Assertions.assertEquals(count / 2, timer.pendingTimeouts());
+
+            Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            Assertions.assertEquals(count / 2, fired.get());
+            Assertions.assertEquals(0, timer.pendingTimeouts());
+            Assertions.assertEquals(count / 2, timer.expiredTimeouts());
+            Assertions.assertEquals(count / 2, timer.cancelledTimeouts());
+        } finally {
+            timer.stop();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 超过一圈的任务按轮次到期
+     */
+    @Test
+    public void longerThanOneRound() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        HashedWheelTimer timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 16, executor);
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            long start = System.nanoTime();
+            timer.newTimeout(latch::countDown, 100, TimeUnit.MILLISECONDS);
+            Assertions.assertTrue(latch.await(2, TimeUnit.SECONDS));
+            Assertions.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+        } finally {
+            timer.stop();
+            executor.shutdownNow();
+        }
+    }
+}
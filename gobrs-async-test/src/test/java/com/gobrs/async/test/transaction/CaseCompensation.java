@@ -0,0 +1,54 @@
+package com.gobrs.async.test.transaction;
+
+import com.gobrs.async.core.GobrsAsync;
+import com.gobrs.async.core.common.domain.AsyncResult;
+import com.gobrs.async.core.common.domain.RollbackResult;
+import com.gobrs.async.test.GobrsAsyncTestApplication;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Case compensation.
+ * 事务补偿 逆拓扑序并行回滚 每个祖先只回滚一次 单个补偿超时后继续回滚父任务
+ *
+ * @program: gobrs -async
+ * @ClassName CaseCompensation
+ * @description:
+ * @author: sizegang
+ * @create: 2026 -10-17
+ */
+@SpringBootTest(classes = GobrsAsyncTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CaseCompensation {
+
+    @Resource
+    private GobrsAsync gobrsAsync;
+
+    /**
+     * Compensation.
+     */
+    @Test
+    public void compensation() throws Exception {
+        List<String> rollbacks = new CopyOnWriteArrayList<>();
+        AsyncResult result = gobrsAsync.go("compensationRule", () -> rollbacks, 5000);
+        Assertions.assertNotNull(result.getRollback());
+
+        RollbackResult rollback = result.getRollback().get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(Arrays.asList("compensationTaskC", "compensationTaskA"), rollbacks);
+        Assertions.assertEquals(Collections.singleton("compensationTaskB"), rollback.getTimeouts().keySet());
+        Assertions.assertTrue(rollback.getRolledBack().containsKey("compensationTaskA"));
+        Assertions.assertTrue(rollback.getFailures().isEmpty());
+        Assertions.assertFalse(rollback.isSuccess());
+        /**
+         * B C 并行补偿 B 超时后立即补偿 A
+         */
+        Assertions.assertTrue(rollback.getCost() < 1500, "cost " + rollback.getCost());
+    }
+}